@@ -9,7 +9,9 @@ CREATE TABLE IF NOT EXISTS projects (
     id SERIAL PRIMARY KEY,
     name VARCHAR(255) UNIQUE NOT NULL,
     sheet_id VARCHAR(255) UNIQUE NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    status VARCHAR(16) NOT NULL DEFAULT 'ACTIVE',
+    closed_at TIMESTAMP
 );
 
 CREATE TABLE IF NOT EXISTS tasks (
@@ -22,14 +24,20 @@ CREATE TABLE IF NOT EXISTS tasks (
     deadline DATE,
     estimated_completion_date DATE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Optimistic lock, see db/postgresql/06_row_versions.sql
+    version BIGINT NOT NULL DEFAULT 0,
     UNIQUE(project_id, task_code)
 );
 
+-- Range-partitioned by month on "date"; unique keys must therefore include "date".
+-- Monthly partitions are created on application startup and by DailyProgressPartitionService.
 CREATE TABLE IF NOT EXISTS daily_progress (
-    id SERIAL PRIMARY KEY,
+    id SERIAL,
     talent_id INTEGER REFERENCES talents(id),
     task_id INTEGER REFERENCES tasks(id),
     date DATE NOT NULL,
+    -- Last day of a compacted run of identical days, see db/postgresql/04_progress_compaction.sql
+    date_to DATE,
     previous_effort INTEGER,
     additional_effort INTEGER,
     total_effort_spent INTEGER,
@@ -43,9 +51,112 @@ CREATE TABLE IF NOT EXISTS daily_progress (
     progress_from INTEGER,
     progress_to INTEGER,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Optimistic lock, see db/postgresql/06_row_versions.sql
+    version BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, date),
     UNIQUE(talent_id, task_id, date)
+) PARTITION BY RANGE (date);
+
+CREATE TABLE IF NOT EXISTS daily_progress_default PARTITION OF daily_progress DEFAULT;
+
+-- Ids come from pooled sequences (allocationSize = 50 on the entities), see db/postgresql/03_id_sequences.sql
+ALTER SEQUENCE talents_id_seq INCREMENT BY 50;
+ALTER SEQUENCE projects_id_seq INCREMENT BY 50;
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
+ALTER SEQUENCE daily_progress_id_seq INCREMENT BY 50;
+
+-- Latest progress snapshot per task, maintained by triggers on daily_progress.
+-- Trigger functions live in src/main/resources/db/postgresql and are applied on application startup.
+CREATE TABLE IF NOT EXISTS task_latest_status (
+    task_id INTEGER PRIMARY KEY REFERENCES tasks(id) ON DELETE CASCADE,
+    talent_id INTEGER,
+    latest_date DATE NOT NULL,
+    progress INTEGER,
+    schedule_status VARCHAR(50),
+    total_effort_spent INTEGER,
+    final_estimate INTEGER,
+    progress_from INTEGER,
+    progress_to INTEGER,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_daily_progress_task_date ON daily_progress (task_id, date DESC);
+
+-- Effort rollups per talent/project/day and per talent/week, maintained by triggers on daily_progress
+CREATE TABLE IF NOT EXISTS talent_project_day (
+    talent_id INTEGER NOT NULL,
+    project_id INTEGER NOT NULL,
+    date DATE NOT NULL,
+    row_count INTEGER NOT NULL DEFAULT 0,
+    additional_effort INTEGER NOT NULL DEFAULT 0,
+    total_effort_spent INTEGER NOT NULL DEFAULT 0,
+    progress_sum INTEGER NOT NULL DEFAULT 0,
+    progress_count INTEGER NOT NULL DEFAULT 0,
+    delayed_count INTEGER NOT NULL DEFAULT 0,
+    completed_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (talent_id, project_id, date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_talent_project_day_project ON talent_project_day (project_id, date);
+
+CREATE TABLE IF NOT EXISTS talent_week (
+    talent_id INTEGER NOT NULL,
+    week_start DATE NOT NULL,
+    row_count INTEGER NOT NULL DEFAULT 0,
+    additional_effort INTEGER NOT NULL DEFAULT 0,
+    total_effort_spent INTEGER NOT NULL DEFAULT 0,
+    delayed_count INTEGER NOT NULL DEFAULT 0,
+    completed_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (talent_id, week_start)
 );
 
+-- Closed projects: metrics frozen at closing, progress history moved out of daily_progress
+CREATE TABLE IF NOT EXISTS project_summaries (
+    project_id INTEGER PRIMARY KEY,
+    project_name VARCHAR(255) NOT NULL,
+    closed_at TIMESTAMP NOT NULL,
+    total_tasks INTEGER,
+    tasks_done INTEGER,
+    progress DOUBLE PRECISION,
+    tasks_ahead INTEGER,
+    tasks_on_track INTEGER,
+    tasks_delayed INTEGER,
+    due_date DATE,
+    schedule_status VARCHAR(255),
+    total_effort_spent BIGINT,
+    active_days BIGINT,
+    start_date DATE,
+    end_date DATE,
+    archived_progress_rows INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS daily_progress_archive (
+    id INTEGER PRIMARY KEY,
+    talent_id INTEGER NOT NULL,
+    task_id INTEGER,
+    date DATE NOT NULL,
+    date_to DATE,
+    previous_effort INTEGER,
+    additional_effort INTEGER,
+    total_effort_spent INTEGER,
+    base_estimate INTEGER,
+    effort_adjustment INTEGER,
+    final_estimate INTEGER,
+    progress INTEGER,
+    schedule_status VARCHAR(50),
+    delay_reason TEXT,
+    estimated_completion_date DATE,
+    progress_from INTEGER,
+    progress_to INTEGER,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_daily_progress_archive_task ON daily_progress_archive (task_id);
+
 -- Add unique constraint to talents table
 ALTER TABLE talents ADD CONSTRAINT talents_name_unique UNIQUE (name);
 
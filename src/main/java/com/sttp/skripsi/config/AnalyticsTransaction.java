@@ -0,0 +1,26 @@
+package com.sttp.skripsi.config;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Read-only transaction for analytics reads that build DTOs from large amounts of data.
+ * Entities are loaded read-only (no dirty-checking snapshots), the session is never
+ * flushed, and on the open-in-view EntityManager the persistence context is cleared
+ * afterwards, so nothing loaded stays reachable while the response is written
+ * (see AnalyticsTransactionAspect). Methods returning entities must not use it.
+ * Connections come from the analytics pool.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true, label = AnalyticsTransaction.LABEL)
+@WorkloadPool(Workload.ANALYTICS)
+public @interface AnalyticsTransaction {
+    String LABEL = "analytics";
+}
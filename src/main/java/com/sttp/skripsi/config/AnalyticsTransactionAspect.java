@@ -0,0 +1,61 @@
+package com.sttp.skripsi.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.stat.SessionStatistics;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-only persistence context for {@link AnalyticsTransaction} methods that run on the
+ * request's open-in-view EntityManager. Spring only makes the session read-only when the
+ * transaction opens its own EntityManager; on the shared one every loaded entity keeps a
+ * dirty-checking snapshot and stays managed until the response has been written.
+ * Runs outside the transaction interceptor, so the session is prepared before the
+ * transaction begins and released after it ends.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AnalyticsTransactionAspect {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Around("@within(com.sttp.skripsi.config.AnalyticsTransaction) || @annotation(com.sttp.skripsi.config.AnalyticsTransaction)")
+    public Object readOnlySession(ProceedingJoinPoint joinPoint) throws Throwable {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+        if (holder == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Own EntityManager (already read-only), or part of a caller's transaction
+            return joinPoint.proceed();
+        }
+
+        Session session = holder.getEntityManager().unwrap(Session.class);
+        SessionStatistics statistics = session.getStatistics();
+        boolean startedEmpty = statistics.getEntityCount() == 0 && statistics.getCollectionCount() == 0;
+        boolean previousDefaultReadOnly = session.isDefaultReadOnly();
+        FlushMode previousFlushMode = session.getHibernateFlushMode();
+
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            // Everything loaded was only needed to build the result; entities the caller
+            // loaded before are left alone
+            if (startedEmpty && session.isOpen()) {
+                session.clear();
+            }
+            session.setDefaultReadOnly(previousDefaultReadOnly);
+            session.setHibernateFlushMode(previousFlushMode);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.sttp.skripsi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Separate Hikari pools per {@link Workload} against the primary database. Every pool
+ * starts from spring.datasource.hikari and is then sized by app.connection-pools.<workload>
+ * (any Hikari property). Pools register their MBeans under their names (com.zaxxer.hikari:type=Pool (...)),
+ * which expose active, idle and waiting connection counts.
+ */
+@Configuration
+public class ConnectionPoolConfig {
+
+    @Bean
+    public WorkloadRoutingDataSource workloadRoutingDataSource(DataSourceProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            binder.bind("app.connection-pools." + workload.poolName(), Bindable.ofInstance(pool));
+            pool.setPoolName(workload.poolName());
+            pool.setRegisterMbeans(true);
+            pools.put(workload, pool);
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    // Under open-in-view Hibernate would otherwise keep the first transaction's connection
+    // for the whole request, so later work would stay on that pool (or replica)
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
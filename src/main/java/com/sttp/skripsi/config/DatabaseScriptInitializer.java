@@ -0,0 +1,71 @@
+package com.sttp.skripsi.config;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Applies the PostgreSQL scripts under db/postgresql (triggers, derived tables)
+ * once Hibernate has created the base schema. Daily progress is written by the
+ * sheet processor directly into the database, so anything derived from it has to
+ * live in the database as well. Scripts must be idempotent; they run on every start.
+ * ${...} placeholders in a script are resolved against the application properties.
+ */
+@Component
+@RequiredArgsConstructor
+public class DatabaseScriptInitializer implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseScriptInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Environment environment;
+
+    @Value("${app.db-scripts.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.db-scripts.location:classpath:db/postgresql/*.sql}")
+    private String location;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!enabled) {
+            logger.info("Database scripts are disabled");
+            return;
+        }
+
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equalsIgnoreCase(product)) {
+            logger.info("Skipping database scripts, not supported on {}", product);
+            return;
+        }
+
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(location);
+        Arrays.sort(scripts, Comparator.comparing(Resource::getFilename));
+
+        for (Resource script : scripts) {
+            String sql = environment.resolvePlaceholders(
+                    StreamUtils.copyToString(script.getInputStream(), StandardCharsets.UTF_8));
+            try {
+                // The PostgreSQL driver splits multi-statement scripts itself (dollar quoting included)
+                jdbcTemplate.execute(sql);
+                logger.info("Applied database script {}", script.getFilename());
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to apply database script " + script.getFilename(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.sttp.skripsi.config;
+
+import com.sttp.skripsi.constant.ErrorMessage;
+import com.sttp.skripsi.exception.AppException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own transaction and runs it again when a versioned row
+ * (Task, DailyProgress) was changed by someone else in the meantime. Writers therefore
+ * proceed without row locks and only the one that lost a race repeats its work. The
+ * work must load what it modifies: each attempt starts from freshly read rows.
+ */
+@Component
+public class OptimisticRetry {
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetry.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticRetry(PlatformTransactionManager transactionManager,
+                           @Value("${app.optimistic-retry.max-attempts:5}") int maxAttempts,
+                           @Value("${app.optimistic-retry.backoff:20ms}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        // Inside an outer transaction a conflict marks it rollback-only, so there is nothing to retry
+        Assert.state(!TransactionSynchronizationManager.isActualTransactionActive(),
+                "OptimisticRetry must be called outside a transaction");
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    logger.warn("Giving up after {} conflicting attempts: {}", attempt, e.getMessage());
+                    throw AppException.conflict(ErrorMessage.CONCURRENT_UPDATE);
+                }
+                logger.debug("Concurrent update on attempt {} of {}, retrying: {}", attempt, maxAttempts, e.getMessage());
+                pause(attempt);
+            }
+        }
+    }
+
+    public void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // Randomized, so writers that collided once do not collide again in lockstep
+    private void pause(int attempt) {
+        long millis = backoff.toMillis() * attempt;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(millis / 2, millis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw AppException.conflict(ErrorMessage.CONCURRENT_UPDATE);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.sttp.skripsi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replica routing, enabled with app.read-replica.enabled. The primary side stays the
+ * per-workload pools of ConnectionPoolConfig; replicas share their driver and, unless set,
+ * their credentials.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.read-replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${app.read-replica.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${app.read-replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${app.read-replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${app.read-replica.max-lag:5s}")
+    private Duration maxLag;
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(DataSourceProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(replicaUrls.get(i).trim())
+                    .username(replicaUsername)
+                    .password(replicaPassword)
+                    .build();
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(replicas, maxLag, ReplicaHealthMonitor.POSTGRES_LAG_QUERY);
+        monitor.checkReplicas();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource primaryDataSource, ReplicaHealthMonitor replicaHealthMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primaryDataSource, replicaHealthMonitor, readYourWritesTracker));
+    }
+}
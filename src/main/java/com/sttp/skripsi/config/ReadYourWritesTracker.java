@@ -0,0 +1,73 @@
+package com.sttp.skripsi.config;
+
+import com.sttp.skripsi.event.SheetIngestionCompletedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides when reads must stay on the primary so users see data that was just written.
+ * A user who starts a sheet job is pinned to the primary for the read-your-writes window,
+ * which covers the job itself. When any job completes, everyone reads from the primary
+ * for as long as a replica may lag behind.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final Duration readYourWritesWindow;
+    private final Duration maxLag;
+    private final Map<String, Instant> pinnedUntil = new ConcurrentHashMap<>();
+    private volatile Instant allPinnedUntil = Instant.MIN;
+
+    public ReadYourWritesTracker(@Value("${app.read-replica.read-your-writes-window:2m}") Duration readYourWritesWindow,
+                                 @Value("${app.read-replica.max-lag:5s}") Duration maxLag) {
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.maxLag = maxLag;
+    }
+
+    // Called when the current user starts a write that lands asynchronously
+    public void pinCurrentUser() {
+        String user = currentUser();
+        if (user != null) {
+            pinnedUntil.put(user, Instant.now().plus(readYourWritesWindow));
+        }
+    }
+
+    @EventListener
+    public void onSheetIngestionCompleted(SheetIngestionCompletedEvent event) {
+        allPinnedUntil = Instant.now().plus(maxLag);
+    }
+
+    public boolean requiresPrimary() {
+        Instant now = Instant.now();
+        if (now.isBefore(allPinnedUntil)) {
+            return true;
+        }
+
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Instant until = pinnedUntil.get(user);
+        if (until == null) {
+            return false;
+        }
+        if (now.isBefore(until)) {
+            return true;
+        }
+        pinnedUntil.remove(user, until);
+        return false;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
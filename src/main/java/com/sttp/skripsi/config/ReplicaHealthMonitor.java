@@ -0,0 +1,85 @@
+package com.sttp.skripsi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which read replicas may serve reads. A replica is taken out when it cannot be
+ * reached or lags the primary by more than the allowed lag, and put back on the next
+ * check that finds it healthy. Owns the replica pools and closes them on shutdown.
+ */
+public class ReplicaHealthMonitor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    // Seconds behind the primary; 0 when all received WAL is replayed or the server is not a standby
+    public static final String POSTGRES_LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final Map<String, Boolean> healthy = new ConcurrentHashMap<>();
+
+    public ReplicaHealthMonitor(Map<String, DataSource> replicas, Duration maxLag, String lagQuery) {
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+    }
+
+    @Scheduled(fixedDelayString = "${app.read-replica.health-check-interval:10000}")
+    public void checkReplicas() {
+        replicas.forEach((name, dataSource) -> {
+            try {
+                Double lagSeconds = new JdbcTemplate(dataSource).queryForObject(lagQuery, Double.class);
+                if (lagSeconds != null && lagSeconds * 1000 > maxLag.toMillis()) {
+                    markUnhealthy(name, String.format("lagging %.1fs behind the primary", lagSeconds));
+                } else if (!Boolean.TRUE.equals(healthy.put(name, true))) {
+                    logger.info("Read replica {} is serving reads", name);
+                }
+            } catch (Exception e) {
+                markUnhealthy(name, e.getMessage());
+            }
+        });
+    }
+
+    public void markUnhealthy(String name, String reason) {
+        if (!Boolean.FALSE.equals(healthy.put(name, false))) {
+            logger.warn("Read replica {} taken out of rotation: {}", name, reason);
+        }
+    }
+
+    public List<String> healthyReplicas() {
+        return replicas.keySet().stream().filter(name -> healthy.getOrDefault(name, false)).toList();
+    }
+
+    public DataSource replica(String name) {
+        return replicas.get(name);
+    }
+
+    // Each pool is closed on its own so one failing replica does not leave the others open
+    @Override
+    public void destroy() {
+        replicas.forEach((name, dataSource) -> {
+            if (dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Could not close read replica {}: {}", name, e.getMessage());
+                }
+            }
+        });
+    }
+}
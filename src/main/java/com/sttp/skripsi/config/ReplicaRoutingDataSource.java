@@ -0,0 +1,64 @@
+package com.sttp.skripsi.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a healthy read replica (round robin) and everything
+ * else to the primary. Falls back to the primary when no replica is healthy, a replica
+ * refuses the connection, or the current user has to read their own writes.
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the connection is only fetched
+ * once the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaHealthMonitor healthMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaHealthMonitor healthMonitor,
+                                    ReadYourWritesTracker readYourWritesTracker) {
+        this.primary = primary;
+        this.healthMonitor = healthMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String replica = selectReplica();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return healthMonitor.replica(replica).getConnection();
+        } catch (SQLException e) {
+            healthMonitor.markUnhealthy(replica, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private String selectReplica() {
+        // Logins stay on the primary: a user who has just registered may not be on a replica yet
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || WorkloadContext.current() == Workload.AUTH
+                || readYourWritesTracker.requiresPrimary()) {
+            return null;
+        }
+        List<String> healthy = healthMonitor.healthyReplicas();
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        return healthy.get(Math.floorMod(nextReplica.getAndIncrement(), healthy.size()));
+    }
+}
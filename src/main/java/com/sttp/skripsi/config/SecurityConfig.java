@@ -4,10 +4,12 @@ import com.sttp.skripsi.security.JwtAuthenticationFilter;
 import com.sttp.skripsi.security.CustomUserDetailsService;
 import com.sttp.skripsi.security.JwtService;
 import com.sttp.skripsi.repository.UserRepository;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -16,6 +18,8 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -52,6 +56,8 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .authorizeHttpRequests(auth -> auth
+                // Completion of a streamed response; the request was authorized when it started
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(
                     "/",
                     "/error",
@@ -69,6 +75,9 @@ public class SecurityConfig {
                     "/webjars/**",
                     "/favicon.ico"
                 ).permitAll()
+                // Purge and reset delete imported data for everyone, so only configured admins may call them
+                .requestMatchers("/api/data/**").access((authentication, context) ->
+                    new AuthorizationDecision(isAdmin(authentication.get())))
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
@@ -81,6 +90,13 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private boolean isAdmin(Authentication authentication) {
+        return authentication != null
+            && authentication.isAuthenticated()
+            && !(authentication instanceof AnonymousAuthenticationToken)
+            && adminUsernames.contains(authentication.getName());
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -104,6 +120,9 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
+    @Value("${app.admin.usernames:}")
+    private List<String> adminUsernames;
+
     @Value("${app.cors.allowed-origins}")
     private List<String> allowedOrigins;
 
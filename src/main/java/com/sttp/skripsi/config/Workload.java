@@ -0,0 +1,20 @@
+package com.sttp.skripsi.config;
+
+/**
+ * Traffic classes that get their own connection pool, so one class running out of
+ * connections cannot starve the others. Pools are sized under app.connection-pools.
+ */
+public enum Workload {
+    // Everything not classified below
+    DEFAULT,
+    // User lookups on login and on every JWT-authenticated request
+    AUTH,
+    // Sheet processing results and status polling
+    INGESTION,
+    // Multi-second dashboard and allocation reads
+    ANALYTICS;
+
+    public String poolName() {
+        return name().toLowerCase();
+    }
+}
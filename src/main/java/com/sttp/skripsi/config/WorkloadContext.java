@@ -0,0 +1,33 @@
+package com.sttp.skripsi.config;
+
+/**
+ * The workload the current thread is running, read by WorkloadRoutingDataSource when
+ * a connection is taken.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.DEFAULT;
+    }
+
+    // Returns the previous workload, to be passed to restore()
+    static Workload enter(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    static void restore(Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
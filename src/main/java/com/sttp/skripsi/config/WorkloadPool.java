@@ -0,0 +1,20 @@
+package com.sttp.skripsi.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method, or every method of the annotated class, on the connection
+ * pool of the given workload. Also works as a meta-annotation (see AnalyticsTransaction).
+ * The pool is chosen when a connection is first taken, so a method joining a caller's
+ * transaction keeps using the caller's connection.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface WorkloadPool {
+    Workload value();
+}
@@ -0,0 +1,51 @@
+package com.sttp.skripsi.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Sets the workload for {@link WorkloadPool} methods, including those annotated through
+ * {@link AnalyticsTransaction}. Runs outside the transaction interceptor so the workload
+ * is known before the transaction takes a connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadPoolAspect {
+
+    @Around("@within(com.sttp.skripsi.config.WorkloadPool) || @annotation(com.sttp.skripsi.config.WorkloadPool)"
+            + " || @within(com.sttp.skripsi.config.AnalyticsTransaction) || @annotation(com.sttp.skripsi.config.AnalyticsTransaction)")
+    public Object useWorkloadPool(ProceedingJoinPoint joinPoint) throws Throwable {
+        WorkloadPool workloadPool = findWorkloadPool(joinPoint);
+        if (workloadPool == null) {
+            return joinPoint.proceed();
+        }
+
+        Workload previous = WorkloadContext.enter(workloadPool.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    // The method's own annotation wins over the class's
+    private static WorkloadPool findWorkloadPool(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = joinPoint.getTarget() != null
+                ? AopUtils.getTargetClass(joinPoint.getTarget())
+                : joinPoint.getSignature().getDeclaringType();
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+
+        WorkloadPool workloadPool = AnnotatedElementUtils.findMergedAnnotation(method, WorkloadPool.class);
+        return workloadPool != null ? workloadPool : AnnotatedElementUtils.findMergedAnnotation(targetClass, WorkloadPool.class);
+    }
+}
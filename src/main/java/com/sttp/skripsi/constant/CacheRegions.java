@@ -0,0 +1,9 @@
+package com.sttp.skripsi.constant;
+
+// Hibernate second-level cache regions, sized in src/main/resources/application.conf
+public class CacheRegions {
+    public static final String PROJECTS = "projects";
+    public static final String TASKS = "tasks";
+    public static final String TALENTS = "talents";
+    public static final String REFERENCE_QUERIES = "reference-queries";
+}
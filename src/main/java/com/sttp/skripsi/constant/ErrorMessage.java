@@ -44,6 +44,12 @@ public class ErrorMessage {
     public static final String INVALID_EMAIL_FORMAT = "Format email tidak valid";
     public static final String INVALID_DATE_FORMAT = "Format tanggal tidak valid";
     public static final String INVALID_NUMBER_FORMAT = "Format angka tidak valid";
+    public static final String INVALID_FIELDS = "Parameter fields berisi bagian yang tidak dikenal";
+    public static final String INVALID_CURSOR = "Cursor halaman tidak valid";
+    public static final String INVALID_PAGE_LIMIT = "Limit halaman harus lebih dari 0";
+    public static final String BATCH_TOO_LARGE = "Jumlah project dalam satu permintaan melebihi batas";
+    public static final String INVALID_POINT_COUNT = "Jumlah titik grafik minimal 3";
+    public static final String INVALID_FORECAST_WEEKS = "Jumlah minggu prakiraan harus antara 1 dan 52";
 
     // File Processing Errors
     public static final String FILE_UPLOAD_FAILED = "Gagal mengunggah file";
@@ -62,6 +68,9 @@ public class ErrorMessage {
     public static final String PROJECT_CREATION_FAILED = "Gagal membuat project baru";
     public static final String PROJECT_UPDATE_FAILED = "Gagal memperbarui data project";
     public static final String PROJECT_DELETE_FAILED = "Gagal menghapus project";
+    public static final String PROJECT_ALREADY_CLOSED = "Project sudah ditutup";
+    public static final String PROJECT_NOT_CLOSED = "Project belum ditutup";
+    public static final String PROJECT_CLOSED = "Project sudah ditutup dan tidak dapat diperbarui";
 
     // Task Errors
     public static final String TASK_NOT_FOUND = "Task tidak ditemukan";
@@ -77,4 +86,5 @@ public class ErrorMessage {
     public static final String INVALID_REQUEST = "Permintaan tidak valid";
     public static final String RESOURCE_NOT_FOUND = "Resource tidak ditemukan";
     public static final String METHOD_NOT_ALLOWED = "Metode tidak diizinkan";
+    public static final String CONCURRENT_UPDATE = "Data sedang diperbarui oleh proses lain, silakan coba lagi";
 } 
\ No newline at end of file
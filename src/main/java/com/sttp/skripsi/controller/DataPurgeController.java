@@ -0,0 +1,73 @@
+package com.sttp.skripsi.controller;
+
+import com.sttp.skripsi.dto.PurgeReportDTO;
+import com.sttp.skripsi.service.DataPurgeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/data")
+@RequiredArgsConstructor
+@Tag(name = "Data Purge", description = "Bulk removal of imported data, restricted to the accounts in app.admin.usernames")
+public class DataPurgeController {
+    private final DataPurgeService dataPurgeService;
+
+    @Operation(
+        summary = "Purge a project's data",
+        description = "Deletes the project's tasks, daily progress (live and archived) and frozen summary so the project can be imported again. "
+            + "The project itself is kept and set back to active. Runs as a dry run unless dryRun=false."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Rows per table that were deleted, or would be on a dry run",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = PurgeReportDTO.class)
+            )
+        ),
+        @ApiResponse(responseCode = "403", description = "Caller is not listed in app.admin.usernames", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Project not found", content = @Content)
+    })
+    @PostMapping("/projects/{projectId}/purge")
+    public ResponseEntity<PurgeReportDTO> purgeProject(
+        @Parameter(description = "ID of the project to purge")
+        @PathVariable Long projectId,
+        @Parameter(description = "Only count the rows that would be deleted")
+        @RequestParam(defaultValue = "true") boolean dryRun
+    ) {
+        return ResponseEntity.ok(dataPurgeService.purgeProject(projectId, dryRun));
+    }
+
+    @Operation(
+        summary = "Reset all imported data",
+        description = "Deletes every project, task, talent and progress row, including archives and rollups. User accounts are kept. "
+            + "Runs as a dry run unless dryRun=false."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Rows per table that were deleted, or would be on a dry run",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = PurgeReportDTO.class)
+            )
+        ),
+        @ApiResponse(responseCode = "403", description = "Caller is not listed in app.admin.usernames", content = @Content)
+    })
+    @PostMapping("/reset")
+    public ResponseEntity<PurgeReportDTO> resetAll(
+        @Parameter(description = "Only count the rows that would be deleted")
+        @RequestParam(defaultValue = "true") boolean dryRun
+    ) {
+        return ResponseEntity.ok(dataPurgeService.resetAll(dryRun));
+    }
+}
@@ -1,7 +1,9 @@
 package com.sttp.skripsi.controller;
 
 import com.sttp.skripsi.dto.ProjectComparisonDTO;
+import com.sttp.skripsi.dto.ProjectTimeSeriesDTO;
 import com.sttp.skripsi.service.ProjectComparisonService;
+import com.sttp.skripsi.service.ProjectTimeSeriesService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,6 +24,7 @@ import java.util.List;
 @Tag(name = "Project Comparison", description = "APIs for comparing multiple projects")
 public class ProjectComparisonController {
     private final ProjectComparisonService projectComparisonService;
+    private final ProjectTimeSeriesService projectTimeSeriesService;
 
     @Operation(
         summary = "Compare projects",
@@ -98,4 +101,54 @@ public class ProjectComparisonController {
         ProjectComparisonDTO comparison = projectComparisonService.compareProjects(projectIds);
         return ResponseEntity.ok(comparison);
     }
-} 
\ No newline at end of file
+
+    @Operation(
+        summary = "Compare project progress over time",
+        description = "Returns per-day curves of average progress, cumulative effort and delayed tasks for each project, downsampled with Largest-Triangle-Three-Buckets to at most the requested number of points per curve. "
+            + "Closed projects return empty series, because their rollup rows are removed when their history is archived"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved the time series",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ProjectTimeSeriesDTO.class),
+                examples = @ExampleObject(
+                    value = "{\n" +
+                            "  \"projects\": [\n" +
+                            "    {\n" +
+                            "      \"projectId\": 1,\n" +
+                            "      \"projectName\": \"E-Commerce Platform\",\n" +
+                            "      \"totalDays\": 420,\n" +
+                            "      \"averageProgress\": [{\"date\": \"2024-01-01\", \"value\": 12.5}],\n" +
+                            "      \"cumulativeEffort\": [{\"date\": \"2024-01-01\", \"value\": 16.0}],\n" +
+                            "      \"delayedTasks\": [{\"date\": \"2024-01-01\", \"value\": 2.0}]\n" +
+                            "    }\n" +
+                            "  ]\n" +
+                            "}"
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Fewer than 3 points requested",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "None of the projects exists",
+            content = @Content
+        )
+    })
+    @GetMapping("/compare/timeseries")
+    public ResponseEntity<ProjectTimeSeriesDTO> compareProjectTimeSeries(
+        @Parameter(description = "List of project IDs to compare", example = "1,2,3")
+        @RequestParam List<Long> projectIds,
+        @Parameter(description = "Maximum number of points per curve")
+        @RequestParam(defaultValue = "300") int points
+    ) {
+        ProjectTimeSeriesDTO timeSeries = projectTimeSeriesService.getProjectTimeSeries(projectIds, points);
+        return ResponseEntity.ok(timeSeries);
+    }
+}
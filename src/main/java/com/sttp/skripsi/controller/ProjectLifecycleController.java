@@ -0,0 +1,83 @@
+package com.sttp.skripsi.controller;
+
+import com.sttp.skripsi.dto.ProjectSummaryDTO;
+import com.sttp.skripsi.model.ProjectSummary;
+import com.sttp.skripsi.service.ProjectLifecycleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/projects")
+@RequiredArgsConstructor
+@Tag(name = "Project Lifecycle", description = "Closing, reopening and archived projects")
+public class ProjectLifecycleController {
+    private final ProjectLifecycleService projectLifecycleService;
+
+    @Operation(
+        summary = "Close a project",
+        description = "Freezes the project's metrics into a summary and moves its daily progress to the archive. Closed projects are left out of live analytics."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Project closed",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ProjectSummary.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Project is already closed", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Project not found", content = @Content)
+    })
+    @PostMapping("/{projectId}/close")
+    public ResponseEntity<ProjectSummary> closeProject(
+        @Parameter(description = "ID of the project to close")
+        @PathVariable Long projectId
+    ) {
+        return ResponseEntity.ok(projectLifecycleService.closeProject(projectId));
+    }
+
+    @Operation(
+        summary = "Reopen a closed project",
+        description = "Moves the project's daily progress back from the archive and drops its frozen summary"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Project reopened",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ProjectSummaryDTO.ProjectDetail.class)
+            )
+        ),
+        @ApiResponse(responseCode = "400", description = "Project is not closed", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Project not found", content = @Content)
+    })
+    @PostMapping("/{projectId}/reopen")
+    public ResponseEntity<ProjectSummaryDTO.ProjectDetail> reopenProject(
+        @Parameter(description = "ID of the project to reopen")
+        @PathVariable Long projectId
+    ) {
+        return ResponseEntity.ok(projectLifecycleService.reopenProject(projectId));
+    }
+
+    @Operation(
+        summary = "Get closed projects",
+        description = "Retrieves the metrics frozen for each closed project, most recently closed first"
+    )
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved closed projects")
+    @GetMapping("/closed")
+    public ResponseEntity<List<ProjectSummary>> getClosedProjects() {
+        return ResponseEntity.ok(projectLifecycleService.getClosedProjects());
+    }
+}
@@ -1,9 +1,15 @@
 package com.sttp.skripsi.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sttp.skripsi.dto.CursorPage;
+import com.sttp.skripsi.dto.FieldSelection;
+import com.sttp.skripsi.dto.ProjectBatchDTO;
 import com.sttp.skripsi.dto.ProjectProgressDTO;
 import com.sttp.skripsi.dto.ProjectSummaryDTO;
 import com.sttp.skripsi.dto.ProjectDetailDTO;
+import com.sttp.skripsi.service.ProjectBatchService;
 import com.sttp.skripsi.service.ProjectProgressService;
+import com.sttp.skripsi.service.ProjectStatusIndex;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,8 +18,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 // Add these imports if missing
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +34,9 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Project Progress", description = "Project Progress Management APIs")
 public class ProjectProgressController {
     private final ProjectProgressService projectProgressService;
+    private final ProjectStatusIndex projectStatusIndex;
+    private final ProjectBatchService projectBatchService;
+    private final ObjectMapper objectMapper;
 
     @Operation(
         summary = "Get project progress statistics",
@@ -38,6 +51,11 @@ public class ProjectProgressController {
                 schema = @Schema(implementation = ProjectProgressDTO.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unknown field, invalid cursor or limit",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Project not found",
@@ -47,14 +65,21 @@ public class ProjectProgressController {
     @GetMapping("/{projectId}/progress")
     public ResponseEntity<ProjectProgressDTO> getProjectProgress(
         @Parameter(description = "ID of the project to get progress for")
-        @PathVariable Long projectId
+        @PathVariable Long projectId,
+        @Parameter(description = "Comma-separated sections to include (delayedTasksCount, talentProgresses); all when omitted")
+        @RequestParam(required = false) String fields,
+        @Parameter(description = "Cursor from taskDetailsNextCursor of the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of talent task rows per page; all when omitted")
+        @RequestParam(required = false) Integer limit
     ) {
-        ProjectProgressDTO progress = projectProgressService.getProjectProgress(projectId);
+        ProjectProgressDTO progress = projectProgressService.getProjectProgress(projectId,
+                FieldSelection.parse(fields, ProjectProgressDTO.SECTIONS), new CursorPage.Request(cursor, limit));
         return ResponseEntity.ok(progress);
     }
     @Operation(
         summary = "Get summary of all projects",
-        description = "Retrieves a summary of all projects including progress statistics, schedule status, and completion estimates"
+        description = "Retrieves a summary of all active projects including progress statistics, schedule status, and completion estimates"
     )
     @ApiResponses({
         @ApiResponse(
@@ -67,8 +92,11 @@ public class ProjectProgressController {
         )
     })
     @GetMapping("/all/progress")
-    public ResponseEntity<ProjectSummaryDTO> getAllProjectsSummary() {
-        ProjectSummaryDTO summary = projectProgressService.getAllProjectsSummary();
+    public ResponseEntity<ProjectSummaryDTO> getAllProjectsSummary(
+        @Parameter(description = "Also list closed projects, from the metrics frozen when they were closed")
+        @RequestParam(defaultValue = "false") boolean includeClosed
+    ) {
+        ProjectSummaryDTO summary = projectStatusIndex.getAllProjectsSummary(includeClosed);
         return ResponseEntity.ok(summary);
     }
     @Operation(
@@ -97,11 +125,11 @@ public class ProjectProgressController {
     ) {
         switch(status.toUpperCase()) {
             case "DELAYED":
-                return ResponseEntity.ok(projectProgressService.getDelayedProjects());
+                return ResponseEntity.ok(projectStatusIndex.getDelayedProjects());
             case "ON_TRACK":
-                return ResponseEntity.ok(projectProgressService.getOnScheduleProjects());
+                return ResponseEntity.ok(projectStatusIndex.getOnScheduleProjects());
             case "AHEAD":
-                return ResponseEntity.ok(projectProgressService.getAheadProjects());
+                return ResponseEntity.ok(projectStatusIndex.getAheadProjects());
             default:
                 return ResponseEntity.badRequest().build();
         }
@@ -119,6 +147,11 @@ public class ProjectProgressController {
                 schema = @Schema(implementation = ProjectDetailDTO.class)
             )
         ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unknown field, invalid cursor or limit",
+            content = @Content
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Project not found",
@@ -128,11 +161,77 @@ public class ProjectProgressController {
     @GetMapping("/{projectId}/detail")
     public ResponseEntity<ProjectDetailDTO> getProjectDetail(
         @Parameter(description = "ID of the project to get details for")
-        @PathVariable Long projectId
+        @PathVariable Long projectId,
+        @Parameter(description = "Comma-separated sections to include (scheduleStatus, taskStatus, effortTracking, currentWorkload, teamMembers, taskList); all when omitted")
+        @RequestParam(required = false) String fields,
+        @Parameter(description = "Cursor from taskListNextCursor of the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of tasks in taskList per page; all when omitted")
+        @RequestParam(required = false) Integer limit
     ) {
-        ProjectDetailDTO detail = projectProgressService.getProjectDetail(projectId);
+        ProjectDetailDTO detail = projectProgressService.getProjectDetail(projectId,
+                FieldSelection.parse(fields, ProjectDetailDTO.SECTIONS), new CursorPage.Request(cursor, limit));
         return ResponseEntity.ok(detail);
     }
+
+    @Operation(
+        summary = "Get progress and dashboard of several projects",
+        description = "Retrieves the progress and dashboard of every requested project in one call, computed from shared queries in one transaction. Results follow the order of the ids; unknown projects are reported with an error. Send Accept: application/x-ndjson to receive one JSON object per line as soon as it is ready"
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved the projects",
+            content = {
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ProjectBatchDTO.class)
+                ),
+                @Content(
+                    mediaType = "application/x-ndjson",
+                    schema = @Schema(implementation = ProjectBatchDTO.class)
+                )
+            }
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "No ids, too many ids or an unknown field",
+            content = @Content
+        )
+    })
+    @GetMapping(value = "/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ProjectBatchDTO>> getProjectBatch(
+        @Parameter(description = "Comma-separated IDs of the projects", example = "1,2,3")
+        @RequestParam List<Long> ids,
+        @Parameter(description = "Comma-separated parts to include (progress, dashboard); both when omitted")
+        @RequestParam(required = false) String fields
+    ) {
+        List<ProjectBatchDTO> projects = projectBatchService.getProjects(ids,
+                FieldSelection.parse(fields, ProjectBatchDTO.SECTIONS));
+        return ResponseEntity.ok(projects);
+    }
+
+    @Operation(hidden = true)
+    @GetMapping(value = "/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamProjectBatch(
+        @RequestParam List<Long> ids,
+        @RequestParam(required = false) String fields
+    ) {
+        // Checked here, while a bad request can still be answered with 400
+        List<Long> projectIds = projectBatchService.checkProjectIds(ids);
+        FieldSelection selection = FieldSelection.parse(fields, ProjectBatchDTO.SECTIONS);
+
+        StreamingResponseBody body = out -> projectBatchService.streamProjects(projectIds, selection, project -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(project));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
     @Operation(
         summary = "Get all task categories",
         description = "Retrieves a list of all unique task categories across projects"
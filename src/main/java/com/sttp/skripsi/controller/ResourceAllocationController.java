@@ -1,6 +1,8 @@
 package com.sttp.skripsi.controller;
 
+import com.sttp.skripsi.dto.CapacityForecastDTO;
 import com.sttp.skripsi.dto.ResourceAllocationDTO;
+import com.sttp.skripsi.service.CapacityForecastService;
 import com.sttp.skripsi.service.ResourceAllocationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -23,6 +25,7 @@ import java.util.Map;
 @Tag(name = "Resource Allocation", description = "APIs for managing resource allocation and workload")
 public class ResourceAllocationController {
     private final ResourceAllocationService resourceAllocationService;
+    private final CapacityForecastService capacityForecastService;
 
     @Operation(
         summary = "Get resource allocation",
@@ -78,4 +81,30 @@ public class ResourceAllocationController {
         List<Map<String, Object>> projects = resourceAllocationService.getAvailableProjects();
         return ResponseEntity.ok(projects);
     }
-} 
\ No newline at end of file
+
+    @Operation(
+        summary = "Get capacity forecast",
+        description = "Forecasts the effort each talent is committed to per week, starting with the current week. Remaining effort of unfinished tasks in active projects is spread evenly up to the task deadline, overdue effort falls in the current week, and tasks without a deadline are worked off at the talent's average weekly effort of the last 4 weeks."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved capacity forecast",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = CapacityForecastDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Number of weeks is not between 1 and 52"
+        )
+    })
+    @GetMapping("/forecast")
+    public ResponseEntity<CapacityForecastDTO> getCapacityForecast(
+        @Parameter(description = "Number of weeks to forecast, from 1 to 52", example = "8")
+        @RequestParam(defaultValue = "8") int weeks
+    ) {
+        return ResponseEntity.ok(capacityForecastService.getCapacityForecast(weeks));
+    }
+}
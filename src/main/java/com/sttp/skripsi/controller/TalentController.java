@@ -1,5 +1,7 @@
 package com.sttp.skripsi.controller;
 
+import com.sttp.skripsi.dto.CursorPage;
+import com.sttp.skripsi.dto.FieldSelection;
 import com.sttp.skripsi.dto.TalentDetailDTO;
 import com.sttp.skripsi.dto.TalentRequest;
 import com.sttp.skripsi.model.Talent;
@@ -57,14 +59,22 @@ public class TalentController {
     @ApiResponse(responseCode = "200", description = "Successfully retrieved the talent details",
             content = @Content(mediaType = "application/json",
                     schema = @Schema(implementation = TalentDetailDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Unknown field, invalid cursor or limit")
     @ApiResponse(responseCode = "404", description = "Talent not found")
     public ResponseEntity<TalentDetailDTO> getTalentById(
             @Parameter(description = "ID of the talent") @PathVariable Long id,
             @Parameter(description = "Filter tasks by category (e.g., 'Coding', 'Testing')") 
             @RequestParam(required = false) String category,
             @Parameter(description = "Filter tasks by status (completed, inprogress, notstarted)") 
-            @RequestParam(required = false) String status) {
-        return ResponseEntity.ok(talentService.getTalentDetail(id, category, status));
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Comma-separated sections to include (performanceOverview, taskHistory, projectPerformance, workloadAlerts); all when omitted")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Cursor from taskHistoryNextCursor of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of taskHistory entries per page; all when omitted")
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(talentService.getTalentDetail(id, category, status,
+                FieldSelection.parse(fields, TalentDetailDTO.SECTIONS), new CursorPage.Request(cursor, limit)));
     }
 
     @GetMapping("/user")
@@ -90,6 +100,17 @@ public class TalentController {
         return ResponseEntity.ok(talent);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create talents in bulk", description = "Creates several talents in one transaction, each optionally linked to a user. Fails as a whole if any name is already taken or a user does not exist")
+    @ApiResponse(responseCode = "200", description = "Successfully created the talents",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = Talent.class)))
+    @ApiResponse(responseCode = "400", description = "Duplicate talent name")
+    @ApiResponse(responseCode = "404", description = "User not found")
+    public ResponseEntity<List<Talent>> createTalents(@RequestBody List<TalentRequest> requests) {
+        return ResponseEntity.ok(talentService.createTalents(requests));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a talent", description = "Updates an existing talent's information")
     @ApiResponse(responseCode = "200", description = "Successfully updated the talent",
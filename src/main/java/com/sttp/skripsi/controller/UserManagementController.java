@@ -42,6 +42,11 @@ public class UserManagementController {
         return ResponseEntity.ok(user);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<User>> createUsers(@RequestBody List<CreateUserRequest> requests) {
+        return ResponseEntity.ok(userService.createUsers(requests));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<User> updateUser(
             @PathVariable Long id,
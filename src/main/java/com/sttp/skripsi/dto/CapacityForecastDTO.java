@@ -0,0 +1,41 @@
+package com.sttp.skripsi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class CapacityForecastDTO {
+    // Monday of the current week, the first forecast week
+    private LocalDate firstWeek;
+    private int weeks;
+    private List<TalentForecast> talents;
+
+    @Data
+    @Builder
+    public static class TalentForecast {
+        private Long talentId;
+        private String talentName;
+        private int openTasks;
+        private double remainingEffort;
+        // Effort of tasks past their deadline, all committed to the current week
+        private double overdueEffort;
+        // Average effort per week over the last weeks, the pace for tasks without a deadline
+        private double weeklyVelocity;
+        // Effort of tasks without a deadline left over at the end of the forecast at the recent velocity
+        private double unscheduledEffort;
+        private int overbookedWeeks;
+        private List<WeekForecast> weeklyForecast;
+    }
+
+    @Data
+    @Builder
+    public static class WeekForecast {
+        private LocalDate weekStart;
+        private double committedEffort;
+        private double availableCapacity;
+    }
+}
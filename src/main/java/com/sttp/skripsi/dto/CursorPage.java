@@ -0,0 +1,76 @@
+package com.sttp.skripsi.dto;
+
+import com.sttp.skripsi.constant.ErrorMessage;
+import com.sttp.skripsi.exception.AppException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a nested list in a detail response. Pages are keyset based: the cursor
+ * is the sort key of the last element of the previous page, so a page stays correct
+ * when rows are added in between. Cursors are opaque to clients.
+ *
+ * @param items      elements of this page
+ * @param nextCursor cursor of the following page, or null on the last one
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Requested page; without a limit the whole list is returned, as before pagination.
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit  maximum number of elements, or null for all
+     */
+    public record Request(String cursor, Integer limit) {
+        public static final Request ALL = new Request(null, null);
+
+        public Request {
+            if (limit != null && limit < 1) {
+                throw AppException.badRequest(ErrorMessage.INVALID_PAGE_LIMIT);
+            }
+        }
+
+        // items must be sorted ascending by key
+        public <T> CursorPage<T> apply(List<T> items, Function<T, long[]> key) {
+            List<T> remaining = items;
+            if (cursor != null) {
+                long[] after = decode(cursor);
+                remaining = items.stream()
+                        .filter(item -> compare(key.apply(item), after) > 0)
+                        .toList();
+            }
+            if (limit == null || remaining.size() <= limit) {
+                return new CursorPage<>(remaining, null);
+            }
+            List<T> page = remaining.subList(0, limit);
+            return new CursorPage<>(page, encode(key.apply(page.get(limit - 1))));
+        }
+
+        private static int compare(long[] key, long[] after) {
+            if (key.length != after.length) {
+                throw AppException.badRequest(ErrorMessage.INVALID_CURSOR);
+            }
+            return Arrays.compare(key, after);
+        }
+    }
+
+    static String encode(long[] key) {
+        String plain = Arrays.stream(key).mapToObj(Long::toString).collect(Collectors.joining(":"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long[] decode(String cursor) {
+        try {
+            String plain = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Arrays.stream(plain.split(":")).mapToLong(Long::parseLong).toArray();
+        } catch (IllegalArgumentException e) {
+            // Also covers NumberFormatException
+            throw AppException.badRequest(ErrorMessage.INVALID_CURSOR);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.sttp.skripsi.dto;
+
+import com.sttp.skripsi.constant.ErrorMessage;
+import com.sttp.skripsi.exception.AppException;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sections of a detail response requested through the fields= parameter, e.g.
+ * fields=taskList,teamMembers. Without the parameter every section is returned.
+ * Services skip the work behind a section that is not requested and leave it null,
+ * and null sections are left out of the JSON. Scalar fields are always returned.
+ */
+public final class FieldSelection {
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    // null when every section is requested
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection parse(String fields, Set<String> sections) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        if (!sections.containsAll(requested)) {
+            throw AppException.badRequest(ErrorMessage.INVALID_FIELDS);
+        }
+        return new FieldSelection(requested);
+    }
+
+    public boolean includes(String section) {
+        return fields == null || fields.contains(section);
+    }
+}
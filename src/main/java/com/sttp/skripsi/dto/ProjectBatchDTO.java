@@ -0,0 +1,23 @@
+package com.sttp.skripsi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Progress and dashboard of one project in a batch response. A project that does not
+ * exist is reported with an error instead of failing the whole batch.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProjectBatchDTO {
+    public static final Set<String> SECTIONS = Set.of("progress", "dashboard");
+
+    private Long projectId;
+    private ProjectProgressDTO progress;
+    private ProjectDashboardDTO dashboard;
+    private String error;
+}
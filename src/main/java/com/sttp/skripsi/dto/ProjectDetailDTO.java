@@ -1,27 +1,42 @@
 package com.sttp.skripsi.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Data
 @Builder
 public class ProjectDetailDTO {
+    // Sections that can be picked with fields=; left out ones are null and not serialized
+    public static final Set<String> SECTIONS = Set.of(
+            "scheduleStatus", "taskStatus", "effortTracking", "currentWorkload", "teamMembers", "taskList");
+
     private String projectName;
     private String projectStatus;
     private Long projectId;
     private LocalDate createdDate;
     private Integer totalTasks;
     private Double progress;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private ScheduleStatus scheduleStatus;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private TaskStatus taskStatus;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private EffortTracking effortTracking;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private CurrentWorkload currentWorkload;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private TeamMembers teamMembers;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<TaskDetail> taskList;
+    // Cursor for the next page of taskList, when it was requested with a limit
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String taskListNextCursor;
 
     @Data
     @Builder
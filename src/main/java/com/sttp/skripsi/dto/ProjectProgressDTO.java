@@ -1,24 +1,35 @@
 package com.sttp.skripsi.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.Builder;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Data
 @Builder
 public class ProjectProgressDTO {
+    // Sections that can be picked with fields=; left out ones are null and not serialized
+    public static final Set<String> SECTIONS = Set.of("delayedTasksCount", "talentProgresses");
+
     private String projectName;
     private String sheetId;
     
     // Overall project metrics
     private int totalTasks;
     private double overallProjectProgress;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Map<String, Integer> delayedTasksCount;
     
     // Talent-specific metrics
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<TalentProgress> talentProgresses;
+    // Cursor for the next page of task details, when they were requested with a limit.
+    // Pages run over all talents' tasks in talent order; every page lists all talents
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String taskDetailsNextCursor;
     
     @Data
     @Builder
@@ -26,6 +26,8 @@ public class ProjectSummaryDTO {
         private ScheduleStatus scheduleStatus;
         private LocalDate dueDate;
         private String projectStatus;
+        // ACTIVE, or CLOSED for frozen summaries of closed projects
+        private String lifecycleStatus;
     }
 
     @Data
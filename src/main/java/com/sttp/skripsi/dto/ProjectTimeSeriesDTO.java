@@ -0,0 +1,32 @@
+package com.sttp.skripsi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+public class ProjectTimeSeriesDTO {
+    private List<ProjectSeries> projects;
+
+    @Data
+    @Builder
+    public static class ProjectSeries {
+        private Long projectId;
+        private String projectName;
+        // Days with progress before downsampling
+        private int totalDays;
+        private List<Point> averageProgress;
+        private List<Point> cumulativeEffort;
+        private List<Point> delayedTasks;
+    }
+
+    @Data
+    @Builder
+    public static class Point {
+        private LocalDate date;
+        private double value;
+    }
+}
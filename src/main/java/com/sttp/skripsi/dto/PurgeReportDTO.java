@@ -0,0 +1,18 @@
+package com.sttp.skripsi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class PurgeReportDTO {
+    // Null for a full reset
+    private Long projectId;
+    private String projectName;
+    private boolean dryRun;
+    // Rows per table that were deleted, or would be on a dry run
+    private Map<String, Long> rows;
+    private long durationMs;
+}
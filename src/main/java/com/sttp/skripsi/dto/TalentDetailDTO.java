@@ -1,15 +1,21 @@
 package com.sttp.skripsi.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.Builder;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Data
 @Builder
 public class TalentDetailDTO {
+    // Sections that can be picked with fields=; left out ones are null and not serialized
+    public static final Set<String> SECTIONS = Set.of(
+            "performanceOverview", "taskHistory", "projectPerformance", "workloadAlerts");
+
     private Long id;
     private String fullName;
     private boolean overloaded;
@@ -20,10 +26,17 @@ public class TalentDetailDTO {
     private List<String> projects;
     private List<Long> projectIds;
     
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private PerformanceOverview performanceOverview;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<TaskHistory> taskHistory;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<ProjectPerformance> projectPerformance;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<WorkloadAlert> workloadAlerts;
+    // Cursor for the next page of taskHistory, when it was requested with a limit
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String taskHistoryNextCursor;
     
     @Data
     @Builder
@@ -5,4 +5,6 @@ import lombok.Data;
 @Data
 public class TalentRequest {
     private String name;
+    // Only read by bulk creation; a single create links the current user
+    private Long userId;
 } 
\ No newline at end of file
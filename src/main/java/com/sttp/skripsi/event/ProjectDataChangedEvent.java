@@ -0,0 +1,11 @@
+package com.sttp.skripsi.event;
+
+/**
+ * Published by the Java side when it changed a project's data itself: closing,
+ * reopening or purging a project, or resetting everything. Listeners that keep
+ * derived state per project refresh it once the change is committed.
+ *
+ * @param projectId project that changed, or null when all projects did
+ */
+public record ProjectDataChangedEvent(Long projectId) {
+}
@@ -0,0 +1,12 @@
+package com.sttp.skripsi.event;
+
+/**
+ * Published when the sheet processor reports a finished job. The processor writes
+ * projects, tasks and daily progress straight into the database, so anything cached
+ * on the Java side for that data is stale from this point on.
+ *
+ * @param processId id of the sheet job
+ * @param projectId project the job wrote to, or null when the result does not say
+ */
+public record SheetIngestionCompletedEvent(String processId, Long projectId) {
+}
@@ -30,6 +30,10 @@ public class AppException extends RuntimeException {
         return new AppException(message, HttpStatus.FORBIDDEN);
     }
 
+    public static AppException conflict(String message) {
+        return new AppException(message, HttpStatus.CONFLICT);
+    }
+
     public static AppException internalServerError(String message) {
         return new AppException(message, HttpStatus.INTERNAL_SERVER_ERROR);
     }
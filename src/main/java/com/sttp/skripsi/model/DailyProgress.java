@@ -3,34 +3,56 @@ package com.sttp.skripsi.model;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 @Entity
 @Table(name = "daily_progress")
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = DailyProgress.WITH_TALENT, attributeNodes = @NamedAttributeNode("talent")),
+    @NamedEntityGraph(name = DailyProgress.WITH_TASK_AND_PROJECT,
+        attributeNodes = @NamedAttributeNode(value = "task", subgraph = "task"),
+        subgraphs = @NamedSubgraph(name = "task", attributeNodes = @NamedAttributeNode("project")))
+})
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class DailyProgress {
+    public static final String WITH_TALENT = "DailyProgress.withTalent";
+    public static final String WITH_TASK_AND_PROJECT = "DailyProgress.withTaskAndProject";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_progress_id_seq")
+    @SequenceGenerator(name = "daily_progress_id_seq", sequenceName = "daily_progress_id_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "talent_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Talent talent;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Task task;
 
     @Column(nullable = false)
     private LocalDate date;
 
+    // Set on rows compacted by compact_daily_progress(): the row stands for every day from date to dateTo
+    @Column(name = "date_to")
+    private LocalDate dateTo;
+
     @Column(name = "previous_effort")
     private Integer previousEffort;
 
@@ -72,6 +94,12 @@ public class DailyProgress {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; bumped by a trigger when the sheet processor updates the row (see db/postgresql)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -82,4 +110,25 @@ public class DailyProgress {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    /**
+     * The days this row stands for, one detached copy per day for a compacted row.
+     */
+    public Stream<DailyProgress> days() {
+        if (dateTo == null || !dateTo.isAfter(date)) {
+            return Stream.of(this);
+        }
+        return date.datesUntil(dateTo.plusDays(1))
+                .map(day -> toBuilder().date(day).dateTo(null).build());
+    }
+
+    /**
+     * The last day this row stands for, a detached copy for a compacted row.
+     */
+    public DailyProgress lastDay() {
+        if (dateTo == null || !dateTo.isAfter(date)) {
+            return this;
+        }
+        return toBuilder().date(dateTo).dateTo(null).build();
+    }
 } 
\ No newline at end of file
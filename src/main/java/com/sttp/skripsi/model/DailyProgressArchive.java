@@ -0,0 +1,80 @@
+package com.sttp.skripsi.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * daily_progress rows of closed projects, moved here by DailyProgressRepository so the
+ * live table (and every scan of it) only holds active projects. Same columns plus
+ * archived_at; rows keep their original ids and are moved back if the project is reopened.
+ */
+@Entity
+@Immutable
+@Table(name = "daily_progress_archive", indexes = @Index(name = "idx_daily_progress_archive_task", columnList = "task_id"))
+@Getter
+@NoArgsConstructor
+public class DailyProgressArchive {
+    @Id
+    private Long id;
+
+    @Column(name = "talent_id", nullable = false)
+    private Long talentId;
+
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(name = "date_to")
+    private LocalDate dateTo;
+
+    @Column(name = "previous_effort")
+    private Integer previousEffort;
+
+    @Column(name = "additional_effort")
+    private Integer additionalEffort;
+
+    @Column(name = "total_effort_spent")
+    private Integer totalEffortSpent;
+
+    @Column(name = "base_estimate")
+    private Integer baseEstimate;
+
+    @Column(name = "effort_adjustment")
+    private Integer effortAdjustment;
+
+    @Column(name = "final_estimate")
+    private Integer finalEstimate;
+
+    private Integer progress;
+
+    @Column(name = "schedule_status")
+    private String scheduleStatus;
+
+    @Column(name = "delay_reason")
+    private String delayReason;
+
+    @Column(name = "estimated_completion_date")
+    private LocalDate estimatedCompletionDate;
+
+    @Column(name = "progress_from")
+    private Integer progressFrom;
+
+    @Column(name = "progress_to")
+    private Integer progressTo;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -1,16 +1,25 @@
 package com.sttp.skripsi.model;
 
+import com.sttp.skripsi.constant.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROJECTS)
 @Table(name = "projects")
 public class Project {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_id_seq")
+    @SequenceGenerator(name = "projects_id_seq", sequenceName = "projects_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -22,7 +31,18 @@ public class Project {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // The sheet processor inserts projects itself, so new rows rely on the column default
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'ACTIVE'")
+    @Column(nullable = false, length = 16)
+    private ProjectStatus status = ProjectStatus.ACTIVE;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private List<Task> tasks;
 
     @PrePersist
@@ -0,0 +1,7 @@
+package com.sttp.skripsi.model;
+
+public enum ProjectStatus {
+    ACTIVE,
+    // Metrics frozen into project_summaries, progress history moved to daily_progress_archive
+    CLOSED
+}
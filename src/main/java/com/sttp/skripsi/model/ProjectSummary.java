@@ -0,0 +1,73 @@
+package com.sttp.skripsi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Metrics of a closed project, computed once when it was closed. Its progress history
+ * lives in daily_progress_archive from then on, so these are the numbers historical
+ * views show for it.
+ */
+@Entity
+@Table(name = "project_summaries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectSummary {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "project_name", nullable = false)
+    private String projectName;
+
+    @Column(name = "closed_at", nullable = false)
+    private LocalDateTime closedAt;
+
+    // Same meaning as in ProjectSummaryDTO.ProjectDetail
+    @Column(name = "total_tasks")
+    private Integer totalTasks;
+
+    @Column(name = "tasks_done")
+    private Integer tasksDone;
+
+    private Double progress;
+
+    @Column(name = "tasks_ahead")
+    private Integer tasksAhead;
+
+    @Column(name = "tasks_on_track")
+    private Integer tasksOnTrack;
+
+    @Column(name = "tasks_delayed")
+    private Integer tasksDelayed;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(name = "schedule_status")
+    private String scheduleStatus;
+
+    // Same meaning as the project workload on the dashboard
+    @Column(name = "total_effort_spent")
+    private Long totalEffortSpent;
+
+    @Column(name = "active_days")
+    private Long activeDays;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "archived_progress_rows")
+    private Integer archivedProgressRows;
+}
@@ -1,23 +1,36 @@
 package com.sttp.skripsi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
+import com.sttp.skripsi.constant.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.TALENTS)
 @Table(name = "talents")
+@NamedEntityGraph(name = Talent.WITH_USER, attributeNodes = @NamedAttributeNode("user"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Talent {
+    public static final String WITH_USER = "Talent.withUser";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "talents_id_seq")
+    @SequenceGenerator(name = "talents_id_seq", sequenceName = "talents_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -26,8 +39,11 @@ public class Talent {
     @Column(name = "is_active")
     private Boolean isActive;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @JsonIgnoreProperties({"talent", "hibernateLazyInitializer", "handler"})
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private User user;
 
     @Column(name = "created_at")
@@ -37,6 +53,9 @@ public class Talent {
     private LocalDateTime updatedAt;
 
     @OneToMany(mappedBy = "talent", cascade = CascadeType.ALL)
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private List<DailyProgress> dailyProgresses;
 
     @PrePersist
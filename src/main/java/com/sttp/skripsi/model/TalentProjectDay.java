@@ -0,0 +1,75 @@
+package com.sttp.skripsi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily effort rollup of one talent on one project. Rows are maintained by
+ * database triggers on daily_progress (see db/postgresql), so this entity is
+ * read-only on the Java side.
+ */
+@Entity
+@Immutable
+@IdClass(TalentProjectDay.Key.class)
+@Table(name = "talent_project_day")
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TalentProjectDay {
+    @Id
+    @Column(name = "talent_id")
+    private Long talentId;
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Id
+    @Column(name = "date")
+    private LocalDate date;
+
+    @Column(name = "row_count", nullable = false)
+    private Integer rowCount;
+
+    @Column(name = "additional_effort", nullable = false)
+    private Integer additionalEffort;
+
+    @Column(name = "total_effort_spent", nullable = false)
+    private Integer totalEffortSpent;
+
+    @Column(name = "progress_sum", nullable = false)
+    private Integer progressSum;
+
+    @Column(name = "progress_count", nullable = false)
+    private Integer progressCount;
+
+    @Column(name = "delayed_count", nullable = false)
+    private Integer delayedCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private Integer completedCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long talentId;
+        private Long projectId;
+        private LocalDate date;
+    }
+}
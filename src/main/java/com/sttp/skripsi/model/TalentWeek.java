@@ -0,0 +1,61 @@
+package com.sttp.skripsi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Weekly effort rollup of one talent across all projects; weekStart is the Monday of
+ * the ISO week. Rows are maintained by database triggers on daily_progress (see
+ * db/postgresql), so this entity is read-only on the Java side.
+ */
+@Entity
+@Immutable
+@IdClass(TalentWeek.Key.class)
+@Table(name = "talent_week")
+@Getter
+@NoArgsConstructor
+public class TalentWeek {
+    @Id
+    @Column(name = "talent_id")
+    private Long talentId;
+
+    @Id
+    @Column(name = "week_start")
+    private LocalDate weekStart;
+
+    @Column(name = "row_count", nullable = false)
+    private Integer rowCount;
+
+    @Column(name = "additional_effort", nullable = false)
+    private Integer additionalEffort;
+
+    @Column(name = "total_effort_spent", nullable = false)
+    private Integer totalEffortSpent;
+
+    @Column(name = "delayed_count", nullable = false)
+    private Integer delayedCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private Integer completedCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long talentId;
+        private LocalDate weekStart;
+    }
+}
@@ -0,0 +1,58 @@
+package com.sttp.skripsi.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of the most recent daily_progress row of every task.
+ * Rows are written by database triggers on daily_progress (see db/postgresql),
+ * so this entity is read-only on the Java side.
+ */
+@Entity
+@Immutable
+@Table(name = "task_latest_status")
+@Getter
+@NoArgsConstructor
+public class TaskLatestStatus {
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task task;
+
+    @Column(name = "talent_id")
+    private Long talentId;
+
+    @Column(name = "latest_date", nullable = false)
+    private LocalDate latestDate;
+
+    private Integer progress;
+
+    @Column(name = "schedule_status", length = 50)
+    private String scheduleStatus;
+
+    @Column(name = "total_effort_spent")
+    private Integer totalEffortSpent;
+
+    @Column(name = "final_estimate")
+    private Integer finalEstimate;
+
+    @Column(name = "progress_from")
+    private Integer progressFrom;
+
+    @Column(name = "progress_to")
+    private Integer progressTo;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,60 @@
+package com.sttp.skripsi.repository;
+
+import com.sttp.skripsi.model.DailyProgressArchive;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+/**
+ * Moves the progress history of one project between daily_progress and
+ * daily_progress_archive. Each move is a copy followed by a delete and must run in
+ * one transaction. On PostgreSQL the daily_progress triggers keep task_latest_status
+ * and the rollups in step with both directions.
+ */
+@Repository
+public interface DailyProgressArchiveRepository extends org.springframework.data.repository.Repository<DailyProgressArchive, Long> {
+    String COLUMNS = "id, talent_id, task_id, date, date_to, previous_effort, additional_effort, total_effort_spent, "
+            + "base_estimate, effort_adjustment, final_estimate, progress, schedule_status, delay_reason, "
+            + "estimated_completion_date, progress_from, progress_to, created_at, updated_at";
+    String PROJECT_TASKS = "task_id IN (SELECT t.id FROM tasks t WHERE t.project_id = :projectId)";
+    // The archived row shares a day with live progress of the same talent and task, written by a
+    // sheet job that was in flight when the project closed
+    String OVERLAPS_LIVE = "EXISTS (SELECT 1 FROM daily_progress dp WHERE dp.talent_id = a.talent_id "
+            + "AND dp.task_id = a.task_id AND dp.date <= COALESCE(a.date_to, a.date) "
+            + "AND COALESCE(dp.date_to, dp.date) >= a.date)";
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_progress_archive (" + COLUMNS + ", archived_at) "
+            + "SELECT " + COLUMNS + ", CURRENT_TIMESTAMP FROM daily_progress WHERE " + PROJECT_TASKS, nativeQuery = true)
+    int copyToArchive(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_progress WHERE " + PROJECT_TASKS, nativeQuery = true)
+    int deleteLive(@Param("projectId") Long projectId);
+
+    // Rows overlapping live progress are left to findOverlappingLive, whose days are restored around it
+    @Modifying
+    @Query(value = "INSERT INTO daily_progress (" + COLUMNS + ") "
+            + "SELECT " + COLUMNS + " FROM daily_progress_archive a WHERE " + PROJECT_TASKS + " "
+            + "AND NOT " + OVERLAPS_LIVE, nativeQuery = true)
+    int copyToLive(@Param("projectId") Long projectId);
+
+    @Query(value = "SELECT a.* FROM daily_progress_archive a WHERE " + PROJECT_TASKS + " AND " + OVERLAPS_LIVE,
+            nativeQuery = true)
+    List<DailyProgressArchive> findOverlappingLive(@Param("projectId") Long projectId);
+
+    long count();
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_progress_archive", nativeQuery = true)
+    int deleteAllArchived();
+
+    @Query(value = "SELECT COUNT(*) FROM daily_progress_archive WHERE " + PROJECT_TASKS, nativeQuery = true)
+    long countArchived(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_progress_archive WHERE " + PROJECT_TASKS, nativeQuery = true)
+    int deleteArchived(@Param("projectId") Long projectId);
+}
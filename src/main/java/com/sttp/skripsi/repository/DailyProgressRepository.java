@@ -3,21 +3,193 @@ package com.sttp.skripsi.repository;
 import com.sttp.skripsi.model.DailyProgress;
 import com.sttp.skripsi.model.Task;
 import com.sttp.skripsi.model.Talent;
+import com.sttp.skripsi.repository.projection.CategoryCount;
+import com.sttp.skripsi.repository.projection.ProgressRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Rows compacted by compact_daily_progress() stand for a run of identical days (date to
+ * dateTo, see db/postgresql/04_progress_compaction.sql). The *Runs* queries return the stored
+ * rows; the finders used by the services expand them again, so callers keep seeing one row
+ * per day whether or not the history has been compacted.
+ */
 @Repository
 public interface DailyProgressRepository extends JpaRepository<DailyProgress, Long> {
-    List<DailyProgress> findByTalent(Talent talent);
-    List<DailyProgress> findByTask(Task task);
-    List<DailyProgress> findByDate(LocalDate date);
-    List<DailyProgress> findByTalentAndDateBetween(Talent talent, LocalDate startDate, LocalDate endDate);
-    Optional<DailyProgress> findByTalentAndTaskAndDate(Talent talent, Task task, LocalDate date);
-    boolean existsByTalentAndTaskAndDate(Talent talent, Task task, LocalDate date);
-    List<DailyProgress> findByTalentAndTask(Talent talent, Task task);
-    List<DailyProgress> findByTaskIn(List<Task> tasks);
-    Optional<DailyProgress> findFirstByTaskIdOrderByDateDesc(Long taskId);
-} 
\ No newline at end of file
+    String PROGRESS_ROW = "SELECT new com.sttp.skripsi.repository.projection.ProgressRow("
+            + "dp.id, dp.talent.id, t.id, t.project.id, dp.date, dp.dateTo, dp.additionalEffort, dp.totalEffortSpent, "
+            + "dp.progress, dp.scheduleStatus) "
+            + "FROM DailyProgress dp LEFT JOIN dp.task t ";
+    // Stored rows with at least one day in [startDate, endDate]. Runs never cross a month boundary,
+    // so none of them starts before startMonth (the first day of startDate's month); that bound
+    // lets PostgreSQL prune the monthly partitions on date.
+    String COVERS_RANGE = "dp.date >= :startMonth AND dp.date <= :endDate AND COALESCE(dp.dateTo, dp.date) >= :startDate";
+    String COVERS_DATE = "dp.date >= :dateMonth AND dp.date <= :date AND COALESCE(dp.dateTo, dp.date) >= :date";
+    // Days stored in a row: 1, or the length of a compacted run
+    String DAYS = "((COALESCE(dp.dateTo, dp.date) - dp.date) by day + 1)";
+
+    List<DailyProgress> findRunsByTalent(Talent talent);
+    @EntityGraph(DailyProgress.WITH_TALENT)
+    List<DailyProgress> findRunsByTask(Task task);
+    List<DailyProgress> findRunsByTalentAndTask(Talent talent, Task task);
+    @EntityGraph(DailyProgress.WITH_TALENT)
+    List<DailyProgress> findRunsByTaskIn(List<Task> tasks);
+
+    // Runs of different talents on one task may overlap, so order by each run's last day, not its start
+    @Query("SELECT dp FROM DailyProgress dp WHERE dp.task.id = :taskId "
+            + "ORDER BY COALESCE(dp.dateTo, dp.date) DESC, dp.id DESC")
+    List<DailyProgress> findRunsByTaskIdOrderByLastDayDesc(@Param("taskId") Long taskId, Limit limit);
+
+    @Query("SELECT dp FROM DailyProgress dp WHERE " + COVERS_DATE)
+    List<DailyProgress> findRunsCoveringDate(@Param("date") LocalDate date, @Param("dateMonth") LocalDate dateMonth);
+
+    @Query("SELECT dp FROM DailyProgress dp WHERE dp.talent = :talent AND " + COVERS_RANGE)
+    List<DailyProgress> findRunsByTalentCoveringRange(@Param("talent") Talent talent,
+                                                      @Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate,
+                                                      @Param("startMonth") LocalDate startMonth);
+
+    @Query("SELECT dp FROM DailyProgress dp WHERE dp.talent = :talent AND dp.task = :task AND " + COVERS_DATE)
+    Optional<DailyProgress> findRunByTalentAndTaskCoveringDate(@Param("talent") Talent talent,
+                                                               @Param("task") Task task,
+                                                               @Param("date") LocalDate date,
+                                                               @Param("dateMonth") LocalDate dateMonth);
+
+    // Runs do not overlap, so the run starting last per (talent, task) holds the latest day
+    @Query("SELECT dp FROM DailyProgress dp JOIN FETCH dp.talent tl JOIN FETCH dp.task t "
+            + "WHERE t.project.id = :projectId AND dp.date = (SELECT MAX(d.date) FROM DailyProgress d "
+            + "WHERE d.talent = dp.talent AND d.task = dp.task) ORDER BY tl.id, t.id")
+    List<DailyProgress> findLatestRunsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT dp FROM DailyProgress dp JOIN FETCH dp.talent tl JOIN FETCH dp.task t "
+            + "WHERE t.project.id IN :projectIds AND dp.date = (SELECT MAX(d.date) FROM DailyProgress d "
+            + "WHERE d.talent = dp.talent AND d.task = dp.task) ORDER BY t.project.id, tl.id, t.id")
+    List<DailyProgress> findLatestRunsByProjectIdIn(@Param("projectIds") Collection<Long> projectIds);
+
+    @Query("SELECT COUNT(dp) > 0 FROM DailyProgress dp WHERE dp.talent = :talent AND dp.task = :task AND " + COVERS_DATE)
+    boolean existsRunByTalentAndTaskCoveringDate(@Param("talent") Talent talent,
+                                                 @Param("task") Task task,
+                                                 @Param("date") LocalDate date,
+                                                 @Param("dateMonth") LocalDate dateMonth);
+
+    default List<DailyProgress> findByTalent(Talent talent) {
+        return days(findRunsByTalent(talent));
+    }
+
+    default List<DailyProgress> findByTask(Task task) {
+        return days(findRunsByTask(task));
+    }
+
+    default List<DailyProgress> findByDate(LocalDate date) {
+        return days(findRunsCoveringDate(date, date.withDayOfMonth(1)), date, date);
+    }
+
+    default List<DailyProgress> findByTalentAndDateBetween(Talent talent, LocalDate startDate, LocalDate endDate) {
+        return days(findRunsByTalentCoveringRange(talent, startDate, endDate, startDate.withDayOfMonth(1)),
+                startDate, endDate);
+    }
+
+    default Optional<DailyProgress> findByTalentAndTaskAndDate(Talent talent, Task task, LocalDate date) {
+        return findRunByTalentAndTaskCoveringDate(talent, task, date, date.withDayOfMonth(1))
+                .flatMap(run -> run.days().filter(day -> day.getDate().equals(date)).findFirst());
+    }
+
+    default boolean existsByTalentAndTaskAndDate(Talent talent, Task task, LocalDate date) {
+        return existsRunByTalentAndTaskCoveringDate(talent, task, date, date.withDayOfMonth(1));
+    }
+
+    default List<DailyProgress> findByTalentAndTask(Talent talent, Task task) {
+        return days(findRunsByTalentAndTask(talent, task));
+    }
+
+    default List<DailyProgress> findByTaskIn(List<Task> tasks) {
+        return days(findRunsByTaskIn(tasks));
+    }
+
+    default Optional<DailyProgress> findFirstByTaskIdOrderByDateDesc(Long taskId) {
+        return findRunsByTaskIdOrderByLastDayDesc(taskId, Limit.of(1)).stream()
+                .findFirst()
+                .map(DailyProgress::lastDay);
+    }
+
+    // Latest day of every (talent, task) pair of a project, ordered by talent and task
+    default List<DailyProgress> findLatestByProjectId(Long projectId) {
+        return findLatestRunsByProjectId(projectId).stream()
+                .map(DailyProgress::lastDay)
+                .toList();
+    }
+
+    // As findLatestByProjectId for several projects, ordered by project, talent and task
+    default List<DailyProgress> findLatestByProjectIdIn(Collection<Long> projectIds) {
+        return findLatestRunsByProjectIdIn(projectIds).stream()
+                .map(DailyProgress::lastDay)
+                .toList();
+    }
+
+    // Full-history scan, fetched from a cursor in chunks; must be consumed inside a transaction
+    @Query(PROGRESS_ROW)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ProgressRow> streamAllProgressRuns();
+
+    @Query(PROGRESS_ROW + "WHERE dp.talent.id = :talentId")
+    List<ProgressRow> findProgressRunsByTalentId(@Param("talentId") Long talentId);
+
+    @Query(PROGRESS_ROW + "WHERE dp.talent.id = :talentId AND " + COVERS_RANGE)
+    List<ProgressRow> findProgressRunsByTalentIdCoveringRange(@Param("talentId") Long talentId,
+                                                              @Param("startDate") LocalDate startDate,
+                                                              @Param("endDate") LocalDate endDate,
+                                                              @Param("startMonth") LocalDate startMonth);
+
+    default Stream<ProgressRow> streamAllProgressRows() {
+        return streamAllProgressRuns().flatMap(ProgressRow::days);
+    }
+
+    default List<ProgressRow> findProgressRowsByTalentId(Long talentId) {
+        return findProgressRunsByTalentId(talentId).stream().flatMap(ProgressRow::days).toList();
+    }
+
+    default List<ProgressRow> findProgressRowsByTalentIdAndDateBetween(Long talentId, LocalDate startDate, LocalDate endDate) {
+        return findProgressRunsByTalentIdCoveringRange(talentId, startDate, endDate, startDate.withDayOfMonth(1)).stream()
+                .flatMap(ProgressRow::days)
+                .filter(row -> !row.date().isBefore(startDate) && !row.date().isAfter(endDate))
+                .toList();
+    }
+
+    @Query("SELECT new com.sttp.skripsi.repository.projection.CategoryCount(t.taskCategory, SUM(" + DAYS + ")) "
+            + "FROM DailyProgress dp JOIN dp.task t GROUP BY t.taskCategory")
+    List<CategoryCount> countByTaskCategory();
+
+    @Query("SELECT new com.sttp.skripsi.repository.projection.CategoryCount(t.taskCategory, SUM(" + DAYS + ")) "
+            + "FROM DailyProgress dp JOIN dp.task t WHERE t.project.id = :projectId GROUP BY t.taskCategory")
+    List<CategoryCount> countByTaskCategoryForProject(@Param("projectId") Long projectId);
+
+    // Stored rows, so compacted runs count once
+    @Query("SELECT COUNT(dp) FROM DailyProgress dp WHERE dp.task.project.id = :projectId")
+    long countByProjectId(@Param("projectId") Long projectId);
+
+    private static List<DailyProgress> days(List<DailyProgress> runs) {
+        return runs.stream().flatMap(DailyProgress::days).toList();
+    }
+
+    private static List<DailyProgress> days(List<DailyProgress> runs, LocalDate startDate, LocalDate endDate) {
+        return runs.stream()
+                .flatMap(DailyProgress::days)
+                .filter(day -> !day.getDate().isBefore(startDate) && !day.getDate().isAfter(endDate))
+                .toList();
+    }
+}
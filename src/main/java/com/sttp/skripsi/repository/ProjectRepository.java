@@ -1,14 +1,60 @@
 package com.sttp.skripsi.repository;
 
+import com.sttp.skripsi.constant.CacheRegions;
 import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.ProjectStatus;
+import com.sttp.skripsi.repository.projection.ProjectScheduleRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+    // One row per project with tasks. The latest status of each task comes from task_latest_status;
+    // first date and ever-ahead are aggregated over the progress of the selected projects' tasks only,
+    // since PostgreSQL does not push the outer project filter into a grouped subquery.
+    String SCHEDULE_ROLLUP = "SELECT t.project_id AS projectId, p.name AS projectName, COUNT(*) AS totalTasks, "
+            + "COUNT(*) FILTER (WHERE l.progress >= 100) AS tasksDone, "
+            + "COUNT(*) FILTER (WHERE a.ever_ahead) AS tasksAhead, "
+            + "COUNT(*) FILTER (WHERE l.task_id IS NULL OR l.schedule_status IS NULL OR UPPER(l.schedule_status) = 'ON_TRACK') AS tasksOnTrack, "
+            + "COUNT(*) FILTER (WHERE UPPER(l.schedule_status) = 'DELAYED') AS tasksDelayed, "
+            + "MIN(a.first_date) AS firstDate "
+            + "FROM tasks t JOIN projects p ON p.id = t.project_id "
+            + "LEFT JOIN task_latest_status l ON l.task_id = t.id "
+            + "LEFT JOIN (SELECT task_id, MIN(date) AS first_date, bool_or(schedule_status ILIKE 'ahead') AS ever_ahead "
+            + "FROM daily_progress WHERE task_id IN ";
+    String PROGRESS_BY_TASK = "GROUP BY task_id) a ON a.task_id = t.id ";
+
+    // Reference lookups, cached until the next sheet job completes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
     Optional<Project> findByName(String name);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
     Optional<Project> findBySheetId(String sheetId);
+
+    // Live analytics only look at ACTIVE projects; closed ones are read from project_summaries
+    List<Project> findByStatus(ProjectStatus status);
+
+    @Query(value = SCHEDULE_ROLLUP + "(SELECT at.id FROM tasks at JOIN projects ap ON ap.id = at.project_id WHERE ap.status = 'ACTIVE') "
+            + PROGRESS_BY_TASK + "WHERE p.status = 'ACTIVE' GROUP BY t.project_id, p.name ORDER BY t.project_id", nativeQuery = true)
+    List<ProjectScheduleRollup> findActiveScheduleRollups();
+
+    @Query(value = SCHEDULE_ROLLUP + "(SELECT pt.id FROM tasks pt WHERE pt.project_id = :projectId) "
+            + PROGRESS_BY_TASK + "WHERE t.project_id = :projectId GROUP BY t.project_id, p.name", nativeQuery = true)
+    Optional<ProjectScheduleRollup> findScheduleRollup(@Param("projectId") Long projectId);
+
     boolean existsByName(String name);
     boolean existsBySheetId(String sheetId);
 } 
\ No newline at end of file
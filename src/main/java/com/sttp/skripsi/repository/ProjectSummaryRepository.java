@@ -0,0 +1,12 @@
+package com.sttp.skripsi.repository;
+
+import com.sttp.skripsi.model.ProjectSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProjectSummaryRepository extends JpaRepository<ProjectSummary, Long> {
+    List<ProjectSummary> findAllByOrderByClosedAtDesc();
+}
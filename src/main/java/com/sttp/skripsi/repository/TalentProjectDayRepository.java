@@ -0,0 +1,47 @@
+package com.sttp.skripsi.repository;
+
+import com.sttp.skripsi.model.TalentProjectDay;
+import com.sttp.skripsi.repository.projection.ProjectDayTotals;
+import com.sttp.skripsi.repository.projection.ProjectWorkloadTotals;
+import com.sttp.skripsi.repository.projection.TalentProjectWorkload;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Read-only: talent_project_day is maintained by triggers on daily_progress.
+@Repository
+public interface TalentProjectDayRepository extends org.springframework.data.repository.Repository<TalentProjectDay, TalentProjectDay.Key> {
+    String TALENT_PROJECT_WORKLOAD = "SELECT new com.sttp.skripsi.repository.projection.TalentProjectWorkload("
+            + "r.talentId, r.projectId, SUM(r.rowCount), SUM(r.additionalEffort), SUM(r.totalEffortSpent), "
+            + "SUM(r.progressSum), SUM(r.progressCount), SUM(r.delayedCount), COUNT(r), MIN(r.date), MAX(r.date)) "
+            + "FROM TalentProjectDay r ";
+
+    @Query(TALENT_PROJECT_WORKLOAD + "GROUP BY r.talentId, r.projectId")
+    List<TalentProjectWorkload> findTalentProjectWorkloads();
+
+    @Query(TALENT_PROJECT_WORKLOAD + "WHERE r.projectId = :projectId GROUP BY r.talentId, r.projectId")
+    List<TalentProjectWorkload> findTalentProjectWorkloadsByProjectId(@Param("projectId") Long projectId);
+
+    @Query(TALENT_PROJECT_WORKLOAD + "WHERE r.talentId = :talentId GROUP BY r.talentId, r.projectId")
+    List<TalentProjectWorkload> findTalentProjectWorkloadsByTalentId(@Param("talentId") Long talentId);
+
+    @Query("SELECT new com.sttp.skripsi.repository.projection.ProjectWorkloadTotals("
+            + "r.projectId, SUM(r.totalEffortSpent), COUNT(DISTINCT r.date), MIN(r.date), "
+            + "MAX(CASE WHEN r.completedCount > 0 THEN r.date END)) "
+            + "FROM TalentProjectDay r GROUP BY r.projectId")
+    List<ProjectWorkloadTotals> findProjectWorkloadTotals();
+
+    @Query("SELECT new com.sttp.skripsi.repository.projection.ProjectWorkloadTotals("
+            + "r.projectId, SUM(r.totalEffortSpent), COUNT(DISTINCT r.date), MIN(r.date), "
+            + "MAX(CASE WHEN r.completedCount > 0 THEN r.date END)) "
+            + "FROM TalentProjectDay r WHERE r.projectId = :projectId GROUP BY r.projectId")
+    Optional<ProjectWorkloadTotals> findProjectWorkloadTotalsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT new com.sttp.skripsi.repository.projection.ProjectDayTotals("
+            + "r.projectId, r.date, SUM(r.progressSum), SUM(r.progressCount), SUM(r.additionalEffort), SUM(r.delayedCount)) "
+            + "FROM TalentProjectDay r WHERE r.projectId IN :projectIds GROUP BY r.projectId, r.date ORDER BY r.projectId, r.date")
+    List<ProjectDayTotals> findProjectDayTotalsByProjectIdIn(@Param("projectIds") Collection<Long> projectIds);
+}
@@ -1,15 +1,41 @@
 package com.sttp.skripsi.repository;
 
+import com.sttp.skripsi.constant.CacheRegions;
 import com.sttp.skripsi.model.Talent;
 import com.sttp.skripsi.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TalentRepository extends JpaRepository<Talent, Long> {
+    // Reference lookup, cached until the next sheet job completes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
     Optional<Talent> findByName(String name);
+
     boolean existsByName(String name);
+
+    // Duplicate check for bulk creation, one query per batch
+    @Query("SELECT t.name FROM Talent t WHERE t.name IN :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
     Optional<Talent> findByUser(User user);
     Optional<Talent> findByUserId(Long userId);
+
+    // Fetch plans for reads that need the linked user
+    @EntityGraph(Talent.WITH_USER)
+    List<Talent> findWithUserBy();
+
+    @EntityGraph(Talent.WITH_USER)
+    Optional<Talent> findWithUserById(Long id);
 } 
\ No newline at end of file
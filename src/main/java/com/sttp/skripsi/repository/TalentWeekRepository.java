@@ -0,0 +1,18 @@
+package com.sttp.skripsi.repository;
+
+import com.sttp.skripsi.model.TalentWeek;
+import com.sttp.skripsi.repository.projection.TalentEffort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+// Read-only: talent_week is maintained by triggers on daily_progress.
+@Repository
+public interface TalentWeekRepository extends org.springframework.data.repository.Repository<TalentWeek, TalentWeek.Key> {
+    // from and until are week starts; until is exclusive
+    @Query("SELECT new com.sttp.skripsi.repository.projection.TalentEffort(w.talentId, SUM(w.additionalEffort)) "
+            + "FROM TalentWeek w WHERE w.weekStart >= :from AND w.weekStart < :until GROUP BY w.talentId")
+    List<TalentEffort> findEffortByTalentBetween(@Param("from") LocalDate from, @Param("until") LocalDate until);
+}
@@ -0,0 +1,54 @@
+package com.sttp.skripsi.repository;
+
+import com.sttp.skripsi.model.TaskLatestStatus;
+import com.sttp.skripsi.repository.projection.OpenTaskEffort;
+import com.sttp.skripsi.repository.projection.ProjectComparisonTotals;
+import com.sttp.skripsi.repository.projection.ProjectGroupCount;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Read-only: task_latest_status is maintained by triggers on daily_progress.
+@Repository
+public interface TaskLatestStatusRepository extends org.springframework.data.repository.Repository<TaskLatestStatus, Long> {
+    Optional<TaskLatestStatus> findById(Long taskId);
+    List<TaskLatestStatus> findAll();
+    List<TaskLatestStatus> findByTaskIdIn(Collection<Long> taskIds);
+
+    @Query("SELECT s FROM TaskLatestStatus s WHERE s.task.project.id = :projectId")
+    List<TaskLatestStatus> findByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT s FROM TaskLatestStatus s WHERE s.task.project.id IN :projectIds")
+    List<TaskLatestStatus> findByProjectIdIn(@Param("projectIds") Collection<Long> projectIds);
+
+    // Grouped per project for comparisons; tasks without progress only count towards totalTasks
+    @Query("SELECT new com.sttp.skripsi.repository.projection.ProjectComparisonTotals("
+            + "t.project.id, COUNT(t), COUNT(DISTINCT s.talentId), SUM(s.progress), SUM(s.totalEffortSpent), "
+            + "SUM(CASE WHEN s.progress >= 100 THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN s.progress < 100 AND s.scheduleStatus = 'DELAYED' THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN s.progressFrom IS NOT NULL AND s.progressTo IS NOT NULL THEN s.progressTo - s.progressFrom ELSE 0 END), "
+            + "SUM(CASE WHEN s.progressFrom IS NOT NULL AND s.progressTo IS NOT NULL THEN 1 ELSE 0 END)) "
+            + "FROM Task t LEFT JOIN TaskLatestStatus s ON s.taskId = t.id "
+            + "WHERE t.project.id IN :projectIds GROUP BY t.project.id")
+    List<ProjectComparisonTotals> findComparisonTotalsByProjectIdIn(@Param("projectIds") Collection<Long> projectIds);
+
+    @Query("SELECT new com.sttp.skripsi.repository.projection.ProjectGroupCount(t.project.id, t.taskCategory, COUNT(s)) "
+            + "FROM TaskLatestStatus s JOIN s.task t WHERE t.project.id IN :projectIds GROUP BY t.project.id, t.taskCategory")
+    List<ProjectGroupCount> countByProjectIdInGroupByCategory(@Param("projectIds") Collection<Long> projectIds);
+
+    @Query("SELECT new com.sttp.skripsi.repository.projection.ProjectGroupCount(t.project.id, s.scheduleStatus, COUNT(s)) "
+            + "FROM TaskLatestStatus s JOIN s.task t WHERE t.project.id IN :projectIds GROUP BY t.project.id, s.scheduleStatus")
+    List<ProjectGroupCount> countByProjectIdInGroupByScheduleStatus(@Param("projectIds") Collection<Long> projectIds);
+
+    // Unfinished tasks of active projects with effort left, grouped per talent and deadline
+    @Query("SELECT new com.sttp.skripsi.repository.projection.OpenTaskEffort("
+            + "s.talentId, t.deadline, SUM(s.finalEstimate - COALESCE(s.totalEffortSpent, 0)), COUNT(s)) "
+            + "FROM TaskLatestStatus s JOIN s.task t JOIN t.project p "
+            + "WHERE p.status = com.sttp.skripsi.model.ProjectStatus.ACTIVE AND s.talentId IS NOT NULL "
+            + "AND (s.progress IS NULL OR s.progress < 100) AND s.finalEstimate > COALESCE(s.totalEffortSpent, 0) "
+            + "GROUP BY s.talentId, t.deadline")
+    List<OpenTaskEffort> findOpenTaskEffortByTalentAndDeadline();
+}
@@ -1,20 +1,49 @@
 package com.sttp.skripsi.repository;
 
+import com.sttp.skripsi.constant.CacheRegions;
 import com.sttp.skripsi.model.Task;
 import com.sttp.skripsi.model.Project;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
+    // Reference lookup, cached until the next sheet job completes
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.REFERENCE_QUERIES)
+    })
     List<Task> findByProject(Project project);
+
     Optional<Task> findByProjectAndTaskCode(Project project, String taskCode);
     boolean existsByProjectAndTaskCode(Project project, String taskCode);
     List<Task> findByPicName(String picName);
+    List<Task> findByProjectIdIn(Collection<Long> projectIds);
+
+    // Fetch plans for reads that need the task's project
+    @EntityGraph(Task.WITH_PROJECT)
+    List<Task> findWithProjectByIdIn(Collection<Long> ids);
+
+    @EntityGraph(Task.WITH_PROJECT)
+    Optional<Task> findWithProjectById(Long id);
 
     @Query("SELECT DISTINCT t.taskCategory FROM Task t WHERE t.taskCategory IS NOT NULL")
     List<String> findDistinctTaskCategories();
+
+    long countByProjectId(Long projectId);
+
+    // One bulk DELETE; the persistence context is not updated
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.project.id = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
 }
\ No newline at end of file
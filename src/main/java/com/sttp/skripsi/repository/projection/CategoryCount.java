@@ -0,0 +1,4 @@
+package com.sttp.skripsi.repository.projection;
+
+public record CategoryCount(String category, Long count) {
+}
@@ -0,0 +1,14 @@
+package com.sttp.skripsi.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Effort still estimated for a talent's unfinished tasks that share one deadline
+ * (null for tasks without a deadline): final estimate minus effort spent so far.
+ */
+public record OpenTaskEffort(
+        Long talentId,
+        LocalDate deadline,
+        Long remainingEffort,
+        Long openTasks) {
+}
@@ -0,0 +1,39 @@
+package com.sttp.skripsi.repository.projection;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Flat read projection of one daily_progress row for analytics. Carries ids instead
+ * of entities, so grouping is done on ids and nothing lazy is touched.
+ */
+public record ProgressRow(
+        Long id,
+        Long talentId,
+        Long taskId,
+        Long projectId,
+        LocalDate date,
+        LocalDate dateTo,
+        Integer additionalEffort,
+        Integer totalEffortSpent,
+        Integer progress,
+        String scheduleStatus) {
+
+    // One row per day of a compacted run (dateTo set), the row itself otherwise
+    public Stream<ProgressRow> days() {
+        if (dateTo == null || !dateTo.isAfter(date)) {
+            return Stream.of(this);
+        }
+        return date.datesUntil(dateTo.plusDays(1))
+                .map(day -> new ProgressRow(id, talentId, taskId, projectId, day, null,
+                        additionalEffort, totalEffortSpent, progress, scheduleStatus));
+    }
+
+    public int additionalEffortOrZero() {
+        return additionalEffort != null ? additionalEffort : 0;
+    }
+
+    public int totalEffortSpentOrZero() {
+        return totalEffortSpent != null ? totalEffortSpent : 0;
+    }
+}
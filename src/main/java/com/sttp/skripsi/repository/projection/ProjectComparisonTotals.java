@@ -0,0 +1,17 @@
+package com.sttp.skripsi.repository.projection;
+
+/**
+ * Latest-status totals of one project's tasks. Sums are over the tasks that have
+ * progress and are null when none has; totalTasks counts every task of the project.
+ */
+public record ProjectComparisonTotals(
+        Long projectId,
+        Long totalTasks,
+        Long totalTalents,
+        Long progressSum,
+        Long effortSum,
+        Long completedTasks,
+        Long delayedTasks,
+        Long progressChangeSum,
+        Long progressChangeCount) {
+}
@@ -0,0 +1,16 @@
+package com.sttp.skripsi.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Progress rows of one project on one day, summed over its talents from the
+ * talent_project_day rollup. progressCount counts the rows that had a progress value.
+ */
+public record ProjectDayTotals(
+        Long projectId,
+        LocalDate date,
+        Long progressSum,
+        Long progressCount,
+        Long additionalEffort,
+        Long delayedCount) {
+}
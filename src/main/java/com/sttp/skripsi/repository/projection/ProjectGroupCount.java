@@ -0,0 +1,4 @@
+package com.sttp.skripsi.repository.projection;
+
+public record ProjectGroupCount(Long projectId, String group, Long count) {
+}
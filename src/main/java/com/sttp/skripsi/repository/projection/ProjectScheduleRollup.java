@@ -0,0 +1,27 @@
+package com.sttp.skripsi.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Task counts of one project by the state of each task's latest progress (task_latest_status).
+ * A task counts as ahead when any of its rows ever was, and as on track when it has
+ * no progress or its latest row has no status. firstDate is the earliest progress
+ * date of any task. An interface because it is read by a native query.
+ */
+public interface ProjectScheduleRollup {
+    Long getProjectId();
+
+    String getProjectName();
+
+    Integer getTotalTasks();
+
+    Integer getTasksDone();
+
+    Integer getTasksAhead();
+
+    Integer getTasksOnTrack();
+
+    Integer getTasksDelayed();
+
+    LocalDate getFirstDate();
+}
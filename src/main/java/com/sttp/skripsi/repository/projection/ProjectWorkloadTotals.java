@@ -0,0 +1,15 @@
+package com.sttp.skripsi.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Effort totals of one project across all talents. lastCompletedDate is the
+ * latest day on which a task reached 100% progress.
+ */
+public record ProjectWorkloadTotals(
+        Long projectId,
+        Long totalEffortSpent,
+        Long activeDays,
+        LocalDate firstDate,
+        LocalDate lastCompletedDate) {
+}
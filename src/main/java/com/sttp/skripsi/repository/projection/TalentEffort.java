@@ -0,0 +1,4 @@
+package com.sttp.skripsi.repository.projection;
+
+public record TalentEffort(Long talentId, Long effort) {
+}
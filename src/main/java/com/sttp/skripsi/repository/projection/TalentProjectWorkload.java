@@ -0,0 +1,38 @@
+package com.sttp.skripsi.repository.projection;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Workload of one talent on one project, aggregated over its talent_project_day rows.
+ * activeDays is the number of days with progress.
+ */
+public record TalentProjectWorkload(
+        Long talentId,
+        Long projectId,
+        Long progressCount,
+        Long additionalEffort,
+        Long totalEffortSpent,
+        Long progressSum,
+        Long progressSamples,
+        Long delayedCount,
+        Long activeDays,
+        LocalDate firstDate,
+        LocalDate lastDate) {
+
+    public double avgDailyEffort() {
+        return activeDays > 0 ? (double) additionalEffort / activeDays : 0.0;
+    }
+
+    public double avgTasksPerDay() {
+        return activeDays > 0 ? (double) progressCount / activeDays : 0.0;
+    }
+
+    public double avgProgress() {
+        return progressSamples > 0 ? (double) progressSum / progressSamples : 0.0;
+    }
+
+    public long durationDays() {
+        return firstDate != null ? ChronoUnit.DAYS.between(firstDate, lastDate) + 1 : 1L;
+    }
+}
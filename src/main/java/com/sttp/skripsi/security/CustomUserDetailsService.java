@@ -1,5 +1,7 @@
 package com.sttp.skripsi.security;
 
+import com.sttp.skripsi.config.Workload;
+import com.sttp.skripsi.config.WorkloadPool;
 import com.sttp.skripsi.constant.ErrorMessage;
 import com.sttp.skripsi.exception.AppException;
 import com.sttp.skripsi.model.User;
@@ -22,6 +24,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     private final PasswordEncoder passwordEncoder;
 
     @Override
+    @WorkloadPool(Workload.AUTH)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         logger.debug("Attempting to load user by username: {}", username);
         try {
@@ -0,0 +1,138 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.config.AnalyticsTransaction;
+import com.sttp.skripsi.constant.ErrorMessage;
+import com.sttp.skripsi.dto.CapacityForecastDTO;
+import com.sttp.skripsi.exception.AppException;
+import com.sttp.skripsi.model.Talent;
+import com.sttp.skripsi.repository.TalentRepository;
+import com.sttp.skripsi.repository.TalentWeekRepository;
+import com.sttp.skripsi.repository.TaskLatestStatusRepository;
+import com.sttp.skripsi.repository.projection.OpenTaskEffort;
+import com.sttp.skripsi.repository.projection.TalentEffort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Effort each talent is committed to in the coming weeks, from the effort still estimated
+ * for their unfinished tasks and their recent velocity. Both are read as grouped rows from
+ * the trigger-maintained task_latest_status and talent_week rollups, so the cost follows
+ * the number of talents and deadlines rather than the length of the history.
+ */
+@Service
+@RequiredArgsConstructor
+public class CapacityForecastService {
+    private static final int MAX_FORECAST_WEEKS = 52;
+    private static final int VELOCITY_WEEKS = 4; // Complete weeks the velocity is averaged over
+
+    private final TalentRepository talentRepository;
+    private final TaskLatestStatusRepository taskLatestStatusRepository;
+    private final TalentWeekRepository talentWeekRepository;
+
+    @AnalyticsTransaction
+    public CapacityForecastDTO getCapacityForecast(int weeks) {
+        if (weeks < 1 || weeks > MAX_FORECAST_WEEKS) {
+            throw AppException.badRequest(ErrorMessage.INVALID_FORECAST_WEEKS);
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate firstWeek = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        Map<Long, Double> velocityByTalent = talentWeekRepository
+            .findEffortByTalentBetween(firstWeek.minusWeeks(VELOCITY_WEEKS), firstWeek).stream()
+            .filter(effort -> effort.effort() != null)
+            .collect(Collectors.toMap(TalentEffort::talentId, effort -> effort.effort() / (double) VELOCITY_WEEKS));
+        Map<Long, List<OpenTaskEffort>> openByTalent = taskLatestStatusRepository
+            .findOpenTaskEffortByTalentAndDeadline().stream()
+            .collect(Collectors.groupingBy(OpenTaskEffort::talentId));
+
+        List<CapacityForecastDTO.TalentForecast> talents = talentRepository.findAll().stream()
+            .map(talent -> toTalentForecast(talent,
+                openByTalent.getOrDefault(talent.getId(), Collections.emptyList()),
+                velocityByTalent.getOrDefault(talent.getId(), 0.0), today, firstWeek, weeks))
+            .sorted(Comparator.comparing(CapacityForecastDTO.TalentForecast::getTalentName,
+                Comparator.nullsLast(Comparator.naturalOrder())))
+            .toList();
+
+        return CapacityForecastDTO.builder()
+            .firstWeek(firstWeek)
+            .weeks(weeks)
+            .talents(talents)
+            .build();
+    }
+
+    static CapacityForecastDTO.TalentForecast toTalentForecast(Talent talent, List<OpenTaskEffort> openEffort,
+                                                               double velocity, LocalDate today,
+                                                               LocalDate firstWeek, int weeks) {
+        double[] committed = new double[weeks];
+        double remainingEffort = 0;
+        double overdueEffort = 0;
+        double withoutDeadline = 0;
+        int openTasks = 0;
+        for (OpenTaskEffort open : openEffort) {
+            double effort = open.remainingEffort();
+            remainingEffort += effort;
+            openTasks += open.openTasks().intValue();
+            if (open.deadline() == null) {
+                withoutDeadline += effort;
+            } else if (open.deadline().isBefore(today)) {
+                overdueEffort += effort;
+                committed[0] += effort;
+            } else {
+                // Spread evenly over the weeks up to the deadline's week; weeks past the horizon are not shown
+                int deadlineWeek = (int) ChronoUnit.WEEKS.between(firstWeek, open.deadline());
+                double perWeek = effort / (deadlineWeek + 1);
+                for (int week = 0; week <= Math.min(deadlineWeek, weeks - 1); week++) {
+                    committed[week] += perWeek;
+                }
+            }
+        }
+
+        // Tasks without a deadline are worked off at the talent's recent pace
+        double pending = withoutDeadline;
+        for (int week = 0; week < weeks && pending > 0 && velocity > 0; week++) {
+            double effort = Math.min(pending, velocity);
+            committed[week] += effort;
+            pending -= effort;
+        }
+
+        List<CapacityForecastDTO.WeekForecast> weeklyForecast = new ArrayList<>(weeks);
+        int overbookedWeeks = 0;
+        for (int week = 0; week < weeks; week++) {
+            if (committed[week] > ResourceAllocationService.MAX_WEEKLY_EFFORT) {
+                overbookedWeeks++;
+            }
+            weeklyForecast.add(CapacityForecastDTO.WeekForecast.builder()
+                .weekStart(firstWeek.plusWeeks(week))
+                .committedEffort(round(committed[week]))
+                .availableCapacity(round(ResourceAllocationService.MAX_WEEKLY_EFFORT - committed[week]))
+                .build());
+        }
+
+        return CapacityForecastDTO.TalentForecast.builder()
+            .talentId(talent.getId())
+            .talentName(talent.getName())
+            .openTasks(openTasks)
+            .remainingEffort(round(remainingEffort))
+            .overdueEffort(round(overdueEffort))
+            .weeklyVelocity(round(velocity))
+            .unscheduledEffort(round(pending))
+            .overbookedWeeks(overbookedWeeks)
+            .weeklyForecast(weeklyForecast)
+            .build();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+}
@@ -0,0 +1,49 @@
+package com.sttp.skripsi.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Collapses runs of consecutive daily_progress days with identical values into one row
+ * covering the whole run. Recent days are left alone since the sheet processor still
+ * rewrites them. The compaction function is installed by
+ * db/postgresql/04_progress_compaction.sql; DailyProgressRepository expands runs on read.
+ */
+@Service
+@RequiredArgsConstructor
+public class DailyProgressCompactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyProgressCompactionService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.compaction.enabled:false}")
+    private boolean compactionEnabled;
+
+    @Value("${app.compaction.min-age-days:14}")
+    private int minAgeDays;
+
+    @Scheduled(cron = "${app.compaction.cron:0 30 1 * * *}")
+    public void compactOldProgress() {
+        if (!compactionEnabled) {
+            return;
+        }
+
+        LocalDate before = LocalDate.now().minusDays(minAgeDays);
+        try {
+            Integer removed = jdbcTemplate.queryForObject("SELECT compact_daily_progress(?)", Integer.class, before);
+            logger.info("Compacted daily_progress before {}, {} rows merged into runs", before, removed);
+        } catch (DataAccessException e) {
+            // Not PostgreSQL, or the database scripts have not been applied
+            logger.error("Failed to compact daily_progress", e);
+        }
+    }
+}
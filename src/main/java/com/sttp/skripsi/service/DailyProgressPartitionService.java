@@ -0,0 +1,55 @@
+package com.sttp.skripsi.service;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps monthly partitions of daily_progress created ahead of time so new progress
+ * never lands in the default partition. The partition functions are installed by
+ * db/postgresql/00_daily_progress_partitioning.sql.
+ */
+@Service
+@RequiredArgsConstructor
+public class DailyProgressPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyProgressPartitionService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.partitioning.enabled:true}")
+    private boolean partitioningEnabled;
+
+    @Value("${app.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Scheduled(cron = "${app.partitioning.cron:0 0 1 * * *}")
+    public void ensureFuturePartitions() {
+        if (!partitioningEnabled || !isPartitioned()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.queryForRowSet("SELECT ensure_daily_progress_partitions(?)", monthsAhead);
+            logger.info("Ensured daily_progress partitions for the next {} months", monthsAhead);
+        } catch (DataAccessException e) {
+            logger.error("Failed to create daily_progress partitions", e);
+        }
+    }
+
+    public boolean isPartitioned() {
+        try {
+            Boolean partitioned = jdbcTemplate.queryForObject(
+                    "SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass('daily_progress')", Boolean.class);
+            return Boolean.TRUE.equals(partitioned);
+        } catch (DataAccessException e) {
+            // Not PostgreSQL, or daily_progress does not exist yet
+            return false;
+        }
+    }
+}
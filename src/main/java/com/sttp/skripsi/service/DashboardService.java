@@ -1,13 +1,16 @@
 package com.sttp.skripsi.service;
 
+import com.sttp.skripsi.config.AnalyticsTransaction;
 import com.sttp.skripsi.dto.DashboardSummaryDTO;
 import com.sttp.skripsi.dto.ProjectTimelineDTO;
 import com.sttp.skripsi.dto.ResourceAllocationDTO;
 import com.sttp.skripsi.model.*;
 import com.sttp.skripsi.repository.*;
+import com.sttp.skripsi.repository.projection.ProjectWorkloadTotals;
+import com.sttp.skripsi.service.aggregation.ProgressAggregator;
+import com.sttp.skripsi.service.aggregation.TalentProjectStats;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
@@ -25,20 +28,25 @@ public class DashboardService {
     private final TaskRepository taskRepository;
     private final DailyProgressRepository dailyProgressRepository;
     private final TalentRepository talentRepository;
+    private final TaskLatestStatusRepository taskLatestStatusRepository;
+    private final TalentProjectDayRepository talentProjectDayRepository;
     private final ResourceAllocationService resourceAllocationService;
     
-    @Transactional(readOnly = true)
+    @AnalyticsTransaction
     public DashboardSummaryDTO getDashboardSummary() {
-        List<Project> projects = projectRepository.findAll();
+        List<Project> projects = projectRepository.findByStatus(ProjectStatus.ACTIVE);
         List<Task> tasks = taskRepository.findAll();
-        List<DailyProgress> progress = dailyProgressRepository.findAll();
+        // Streamed and folded per (talent, project); the rows themselves are never held
+        ProgressAggregator progress = ProgressAggregator.aggregate(dailyProgressRepository.streamAllProgressRows());
         List<Talent> talents = talentRepository.findAll();
+        Map<Long, String> projectNames = projects.stream()
+            .collect(Collectors.toMap(Project::getId, Project::getName));
 
         // Calculate project statuses
         Map<String, Integer> statusCounts = calculateProjectStatuses(projects, tasks);
         
         // Calculate project workload
-        Map<String, Map<String, Object>> projectWorkload = calculateProjectWorkload(projects, progress);
+        Map<String, Map<String, Object>> projectWorkload = calculateProjectWorkload(projects);
         
         // Calculate projects with workload (projects that have any effort spent)
         int projectsWithWorkload = (int) projectWorkload.values().stream()
@@ -46,10 +54,10 @@ public class DashboardService {
             .count();
 
         // Get top 5 overloaded talents
-        List<DashboardSummaryDTO.TopOverloadedTalent> topOverloadedTalents = getTopOverloadedTalents(talents, progress);
+        List<DashboardSummaryDTO.TopOverloadedTalent> topOverloadedTalents = getTopOverloadedTalents(talents, progress, projectNames);
         
         // Get top 5 talents with delayed tasks
-        List<DashboardSummaryDTO.TopDelayedTalent> topDelayedTalents = getTopDelayedTalents(talents, tasks, progress);
+        List<DashboardSummaryDTO.TopDelayedTalent> topDelayedTalents = getTopDelayedTalents(talents, progress, projectNames);
 
         return DashboardSummaryDTO.builder()
             .totalProjects(projects.size())
@@ -73,10 +81,14 @@ public class DashboardService {
         statusCounts.put("delayed", 0);
         statusCounts.put("ahead", 0);
 
+        Map<Long, TaskLatestStatus> latestByTask = taskLatestStatusRepository.findAll().stream()
+            .collect(Collectors.toMap(TaskLatestStatus::getTaskId, status -> status));
+
+        Map<Long, List<Task>> tasksByProject = tasks.stream()
+            .collect(Collectors.groupingBy(task -> task.getProject().getId()));
+
         for (Project project : projects) {
-            List<Task> projectTasks = tasks.stream()
-                .filter(task -> task.getProject().getId().equals(project.getId()))
-                .collect(Collectors.toList());
+            List<Task> projectTasks = tasksByProject.getOrDefault(project.getId(), Collections.emptyList());
 
             if (projectTasks.isEmpty()) {
                 continue;
@@ -87,11 +99,9 @@ public class DashboardService {
             int tasksDelayed = 0;
 
             for (Task task : projectTasks) {
-                Optional<DailyProgress> latestProgressOpt = dailyProgressRepository.findByTask(task).stream()
-                    .max(Comparator.comparing(DailyProgress::getDate));
+                TaskLatestStatus latestProgress = latestByTask.get(task.getId());
 
-                if (latestProgressOpt.isPresent()) {
-                    DailyProgress latestProgress = latestProgressOpt.get();
+                if (latestProgress != null) {
                     String scheduleStatus = latestProgress.getScheduleStatus();
 
                     if (scheduleStatus != null) {
@@ -123,38 +133,24 @@ public class DashboardService {
         return statusCounts;
     }
     
-    private Map<String, Map<String, Object>> calculateProjectWorkload(List<Project> projects, List<DailyProgress> progress) {
+    private Map<String, Map<String, Object>> calculateProjectWorkload(List<Project> projects) {
         // List untuk menampung hasil sementara
         List<Map.Entry<String, Map<String, Object>>> workloadList = new ArrayList<>();
+
+        // One aggregated row per project from the talent_project_day rollup
+        Map<Long, ProjectWorkloadTotals> totalsByProject = talentProjectDayRepository.findProjectWorkloadTotals().stream()
+            .collect(Collectors.toMap(ProjectWorkloadTotals::projectId, totals -> totals));
     
         for (Project project : projects) {
-            List<DailyProgress> projectProgress = progress.stream()
-                .filter(p -> p.getTask().getProject().getId().equals(project.getId()))
-                .collect(Collectors.toList());
-    
-            double totalEffortSpent = projectProgress.stream()
-                .mapToDouble(p -> p.getTotalEffortSpent() != null ? p.getTotalEffortSpent() : 0.0)
-                .sum();
-    
-            int uniqueDays = (int) projectProgress.stream()
-                .map(DailyProgress::getDate)
-                .distinct()
-                .count();
+            ProjectWorkloadTotals totals = totalsByProject.get(project.getId());
     
+            double totalEffortSpent = totals != null ? totals.totalEffortSpent() : 0.0;
+            int uniqueDays = totals != null ? totals.activeDays().intValue() : 0;
             double avgDailyEffort = uniqueDays > 0 ? totalEffortSpent / uniqueDays : 0.0;
     
-            // Calculate Start Project (earliest progress date)
-            LocalDate startProject = projectProgress.stream()
-                .map(DailyProgress::getDate)
-                .min(LocalDate::compareTo)
-                .orElse(null);
-    
-            // Calculate End Project (latest date when task is completed - progress = 100)
-            LocalDate endProject = projectProgress.stream()
-                .filter(p -> p.getProgress() != null && p.getProgress() >= 100)
-                .map(DailyProgress::getDate)
-                .max(LocalDate::compareTo)
-                .orElse(null);
+            // Start Project: earliest progress date; End Project: latest date a task reached 100%
+            LocalDate startProject = totals != null ? totals.firstDate() : null;
+            LocalDate endProject = totals != null ? totals.lastCompletedDate() : null;
     
             Map<String, Object> workloadDetails = new HashMap<>();
             workloadDetails.put("id", project.getId());
@@ -206,50 +202,28 @@ public class DashboardService {
             .sum();
     }
     
-    private List<DashboardSummaryDTO.TopOverloadedTalent> getTopOverloadedTalents(List<Talent> talents, List<DailyProgress> progress) {
+    private List<DashboardSummaryDTO.TopOverloadedTalent> getTopOverloadedTalents(List<Talent> talents, ProgressAggregator progress,
+                                                                                  Map<Long, String> projectNames) {
         return talents.stream()
             .map(talent -> {
-                // Group progress by project for this talent
-                Map<Project, List<DailyProgress>> projectProgressMap = progress.stream()
-                    .filter(p -> p.getTalent().getId().equals(talent.getId()))
-                    .collect(Collectors.groupingBy(p -> p.getTask().getProject()));
-
                 // Find the project with the highest average daily effort
-                Project maxProject = null;
-                double maxAvgEffort = 0.0;
-                int maxTotalEffort = 0;
-                int maxTotalTasks = 0;
-                for (Map.Entry<Project, List<DailyProgress>> entry : projectProgressMap.entrySet()) {
-                    List<DailyProgress> projectProgress = entry.getValue();
-                    double totalEffort = projectProgress.stream()
-                        .mapToDouble(p -> p.getTotalEffortSpent() != null ? p.getTotalEffortSpent() : 0.0)
-                        .sum();
-                    long uniqueDays = projectProgress.stream()
-                        .map(DailyProgress::getDate)
-                        .distinct()
-                        .count();
-                    double avgDailyEffort = uniqueDays > 0 ? totalEffort / uniqueDays : 0.0;
-                    int totalTasks = (int) projectProgress.stream()
-                        .map(p -> p.getTask().getId())
-                        .distinct()
-                        .count();
-                    if (avgDailyEffort > maxAvgEffort) {
-                        maxAvgEffort = avgDailyEffort;
-                        maxProject = entry.getKey();
-                        maxTotalEffort = (int) totalEffort;
-                        maxTotalTasks = totalTasks;
+                TalentProjectStats max = null;
+                for (TalentProjectStats stats : progress.forTalent(talent.getId()).values()) {
+                    if (stats.getAvgDailyEffort() > (max != null ? max.getAvgDailyEffort() : 0.0)) {
+                        max = stats;
                     }
                 }
-                if (maxProject == null) {
+                if (max == null) {
                     return null; // No project for this talent
                 }
+                double maxAvgEffort = max.getAvgDailyEffort();
                 int availableCapacity = (int) (40 - maxAvgEffort); // 40 hours per week
                 double workloadPercentage = (maxAvgEffort / 8.0) * 100; // Based on 8-hour workday
                 return DashboardSummaryDTO.TopOverloadedTalent.builder()
                     .talentId(talent.getId())
-                    .talentName(talent.getName() + " (" + maxProject.getName() + ")")
-                    .totalTasks(maxTotalTasks)
-                    .totalEffortSpent(maxTotalEffort)
+                    .talentName(talent.getName() + " (" + projectNames.get(max.getProjectId()) + ")")
+                    .totalTasks(max.getTaskCount())
+                    .totalEffortSpent((int) max.getTotalEffortSpent())
                     .availableCapacity(availableCapacity)
                     .workloadPercentage(workloadPercentage)
                     .build();
@@ -260,21 +234,17 @@ public class DashboardService {
             .collect(Collectors.toList());
     }
     
-    private List<DashboardSummaryDTO.TopDelayedTalent> getTopDelayedTalents(List<Talent> talents, List<Task> tasks, List<DailyProgress> progress) {
+    private List<DashboardSummaryDTO.TopDelayedTalent> getTopDelayedTalents(List<Talent> talents, ProgressAggregator progress,
+                                                                            Map<Long, String> projectNames) {
         return talents.stream()
             .map(talent -> {
-                // Find all tasks for this talent that have any progress with schedule_status='DELAYED'
-                Set<Long> delayedTaskIds = progress.stream()
-                    .filter(p -> p.getTalent().getId().equals(talent.getId()) && "DELAYED".equalsIgnoreCase(p.getScheduleStatus()))
-                    .map(p -> p.getTask().getId())
-                    .collect(Collectors.toSet());
-
-                // Group delayed tasks by project name
-                Map<String, Integer> delayedTasksByProject = tasks.stream()
-                    .filter(task -> delayedTaskIds.contains(task.getId()))
-                    .collect(Collectors.groupingBy(
-                        task -> task.getProject().getName(),
-                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)
+                // Tasks with any progress where schedule_status='DELAYED', grouped by project name
+                Map<String, Integer> delayedTasksByProject = progress.forTalent(talent.getId()).values().stream()
+                    .filter(stats -> stats.getDelayedTaskCount() > 0)
+                    .collect(Collectors.toMap(
+                        stats -> projectNames.get(stats.getProjectId()),
+                        TalentProjectStats::getDelayedTaskCount,
+                        Integer::sum
                     ));
 
                 int totalDelayedTasks = delayedTasksByProject.values().stream()
@@ -314,10 +284,10 @@ public class DashboardService {
         return Math.min(100.0, (double) daysElapsed / totalDays * 100);
     }
     
-    @Transactional(readOnly = true)
+    @AnalyticsTransaction
     public ProjectTimelineDTO getNewestProjects() {
         // Get all projects sorted by creation date (descending)
-        List<Project> newestProjects = projectRepository.findAll().stream()
+        List<Project> newestProjects = projectRepository.findByStatus(ProjectStatus.ACTIVE).stream()
             .sorted(Comparator.comparing(Project::getCreatedAt).reversed())
             .limit(5)
             .collect(Collectors.toList());
@@ -325,12 +295,12 @@ public class DashboardService {
         // Calculate progress for each project
         List<ProjectTimelineDTO.ProjectTimeline> projectTimelines = newestProjects.stream()
             .map(project -> {
-                // Calculate overall project progress
-                List<Task> tasks = taskRepository.findByProject(project);
+                // Calculate overall project progress from the latest status snapshot of each task
+                List<TaskLatestStatus> latestStatuses = taskLatestStatusRepository.findByProjectId(project.getId());
                 double progress = 0.0;
                 String status = "on_track"; // Default status
                 
-                if (!tasks.isEmpty()) {
+                if (!latestStatuses.isEmpty()) {
                     double totalProgress = 0.0;
                     int taskCount = 0;
                     
@@ -339,35 +309,25 @@ public class DashboardService {
                     int delayedCount = 0;
                     int onTrackCount = 0;
                     
-                    for (Task task : tasks) {
-                        List<DailyProgress> progressList = dailyProgressRepository.findByTask(task);
-                        if (!progressList.isEmpty()) {
-                            // Get the latest progress for this task
-                            DailyProgress latestProgress = progressList.stream()
-                                .max(Comparator.comparing(DailyProgress::getDate))
-                                .orElse(null);
-                            
-                            if (latestProgress != null) {
-                                // Add to progress calculation
-                                if (latestProgress.getProgress() != null) {
-                                    totalProgress += latestProgress.getProgress();
-                                    taskCount++;
-                                }
-                                
-                                // Count schedule statuses
-                                String scheduleStatus = latestProgress.getScheduleStatus();
-                                if (scheduleStatus != null) {
-                                    if (scheduleStatus.equalsIgnoreCase("ahead")) {
-                                        aheadCount++;
-                                    } else if (scheduleStatus.equalsIgnoreCase("DELAYED")) {
-                                        delayedCount++;
-                                    } else {
-                                        onTrackCount++;
-                                    }
-                                } else {
-                                    onTrackCount++; // Default to on track if null
-                                }
+                    for (TaskLatestStatus latestProgress : latestStatuses) {
+                        // Add to progress calculation
+                        if (latestProgress.getProgress() != null) {
+                            totalProgress += latestProgress.getProgress();
+                            taskCount++;
+                        }
+                        
+                        // Count schedule statuses
+                        String scheduleStatus = latestProgress.getScheduleStatus();
+                        if (scheduleStatus != null) {
+                            if (scheduleStatus.equalsIgnoreCase("ahead")) {
+                                aheadCount++;
+                            } else if (scheduleStatus.equalsIgnoreCase("DELAYED")) {
+                                delayedCount++;
+                            } else {
+                                onTrackCount++;
                             }
+                        } else {
+                            onTrackCount++; // Default to on track if null
                         }
                     }
                     
@@ -0,0 +1,153 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.config.ReadYourWritesTracker;
+import com.sttp.skripsi.config.Workload;
+import com.sttp.skripsi.config.WorkloadPool;
+import com.sttp.skripsi.constant.ErrorMessage;
+import com.sttp.skripsi.dto.PurgeReportDTO;
+import com.sttp.skripsi.event.ProjectDataChangedEvent;
+import com.sttp.skripsi.exception.AppException;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.ProjectStatus;
+import com.sttp.skripsi.repository.DailyProgressArchiveRepository;
+import com.sttp.skripsi.repository.DailyProgressRepository;
+import com.sttp.skripsi.repository.ProjectRepository;
+import com.sttp.skripsi.repository.ProjectSummaryRepository;
+import com.sttp.skripsi.repository.TalentRepository;
+import com.sttp.skripsi.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Removes imported data with set-based statements instead of loading and deleting
+ * entities one by one. A project purge empties a project ahead of a re-import and
+ * keeps the project itself; a full reset empties every imported table. Users are
+ * never touched. Both report the affected rows per table and can run as a dry run.
+ */
+@Service
+@RequiredArgsConstructor
+@WorkloadPool(Workload.INGESTION)
+public class DataPurgeService {
+    private static final Logger logger = LoggerFactory.getLogger(DataPurgeService.class);
+
+    // Imported tables and the rollups derived from daily_progress, children first
+    private static final String TRUNCATE_ALL = "TRUNCATE TABLE daily_progress, daily_progress_archive, "
+            + "task_latest_status, talent_project_day, talent_week, project_summaries, tasks, talents, projects";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TalentRepository talentRepository;
+    private final DailyProgressRepository dailyProgressRepository;
+    private final DailyProgressArchiveRepository dailyProgressArchiveRepository;
+    private final ProjectSummaryRepository projectSummaryRepository;
+    private final ReferenceCacheService referenceCacheService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public PurgeReportDTO purgeProject(Long projectId, boolean dryRun) {
+        long started = System.currentTimeMillis();
+        Project project = projectRepository.findById(projectId)
+            .orElseThrow(() -> AppException.notFound(ErrorMessage.PROJECT_NOT_FOUND));
+
+        Map<String, Long> rows = new LinkedHashMap<>();
+        rows.put("daily_progress", dailyProgressRepository.countByProjectId(projectId));
+        rows.put("daily_progress_archive", dailyProgressArchiveRepository.countArchived(projectId));
+        rows.put("project_summaries", projectSummaryRepository.existsById(projectId) ? 1L : 0L);
+        rows.put("tasks", taskRepository.countByProjectId(projectId));
+
+        if (!dryRun) {
+            if (isPostgres()) {
+                // Also takes the project out of task_latest_status and the rollups in one pass
+                jdbcTemplate.queryForObject("SELECT purge_project_progress(?)", Integer.class, projectId);
+            } else {
+                dailyProgressArchiveRepository.deleteLive(projectId);
+            }
+            dailyProgressArchiveRepository.deleteArchived(projectId);
+            if (rows.get("project_summaries") > 0) {
+                projectSummaryRepository.deleteById(projectId);
+            }
+            taskRepository.deleteByProjectId(projectId);
+
+            // An emptied project is ready to be imported again
+            project.setStatus(ProjectStatus.ACTIVE);
+            project.setClosedAt(null);
+            projectRepository.save(project);
+            afterPurge(projectId);
+            logger.info("Purged project {} ({}): {}", project.getName(), projectId, rows);
+        }
+
+        return PurgeReportDTO.builder()
+            .projectId(projectId)
+            .projectName(project.getName())
+            .dryRun(dryRun)
+            .rows(rows)
+            .durationMs(System.currentTimeMillis() - started)
+            .build();
+    }
+
+    @Transactional
+    public PurgeReportDTO resetAll(boolean dryRun) {
+        long started = System.currentTimeMillis();
+
+        Map<String, Long> rows = new LinkedHashMap<>();
+        rows.put("daily_progress", dailyProgressRepository.count());
+        rows.put("daily_progress_archive", dailyProgressArchiveRepository.count());
+        rows.put("project_summaries", projectSummaryRepository.count());
+        rows.put("tasks", taskRepository.count());
+        rows.put("talents", talentRepository.count());
+        rows.put("projects", projectRepository.count());
+
+        if (!dryRun) {
+            if (isPostgres()) {
+                jdbcTemplate.execute(TRUNCATE_ALL);
+            } else {
+                // Foreign keys dictate the order
+                dailyProgressRepository.deleteAllInBatch();
+                dailyProgressArchiveRepository.deleteAllArchived();
+                projectSummaryRepository.deleteAllInBatch();
+                taskRepository.deleteAllInBatch();
+                talentRepository.deleteAllInBatch();
+                projectRepository.deleteAllInBatch();
+            }
+            afterPurge(null);
+            logger.info("Reset all imported data: {}", rows);
+        }
+
+        return PurgeReportDTO.builder()
+            .dryRun(dryRun)
+            .rows(rows)
+            .durationMs(System.currentTimeMillis() - started)
+            .build();
+    }
+
+    private void afterPurge(Long projectId) {
+        readYourWritesTracker.pinCurrentUser();
+        // Evicted once the deletes are visible, so no reader caches the old rows again
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                referenceCacheService.evictAll();
+            }
+        });
+        // Registered after the eviction above, so listeners see the emptied caches
+        eventPublisher.publishEvent(new ProjectDataChangedEvent(projectId));
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+}
@@ -26,9 +26,16 @@ import com.sttp.skripsi.dto.GoogleSheetsRequest;
 import com.sttp.skripsi.dto.GoogleSheetsResponse;
 import com.sttp.skripsi.exception.AppException;
 import com.sttp.skripsi.constant.ErrorMessage;
+import com.sttp.skripsi.config.ReadYourWritesTracker;
+import com.sttp.skripsi.config.Workload;
+import com.sttp.skripsi.config.WorkloadPool;
+import com.sttp.skripsi.event.SheetIngestionCompletedEvent;
+import com.sttp.skripsi.model.ProjectStatus;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 @Service
+@WorkloadPool(Workload.INGESTION)
 public class GoogleSheetsService {
     private static final Logger logger = LoggerFactory.getLogger(GoogleSheetsService.class);
     private final Map<String, GoogleSheetsResponse> processResults = new ConcurrentHashMap<>();
@@ -39,6 +46,12 @@ public class GoogleSheetsService {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
     @Autowired
     public GoogleSheetsService(RabbitMqService rabbitMqService) {
         this.rabbitMqService = rabbitMqService;
@@ -51,7 +64,10 @@ public class GoogleSheetsService {
         if (request.getSheetUrl() == null || request.getSheetUrl().trim().isEmpty()) {
             throw AppException.badRequest("Sheet URL is required");
         }
-        
+        // Same rule as a refresh by project id: the processor would write live rows for an archived project
+        String sheetUrl = request.getSheetUrl().trim();
+        rejectClosedSheet(sheetUrl.contains("/d/") ? extractSheetId(sheetUrl) : sheetUrl);
+
         String processId = java.util.UUID.randomUUID().toString();
         CompletableFuture<GoogleSheetsResponse> future = new CompletableFuture<>();
         pendingRequests.put(processId, future);
@@ -61,6 +77,9 @@ public class GoogleSheetsService {
         message.put("processId", processId);
         message.put("sheetUrl", request.getSheetUrl());
 
+        // The processor writes to the primary; keep this user's reads there until replicas catch up
+        readYourWritesTracker.pinCurrentUser();
+
         try {
             ObjectMapper mapper = new ObjectMapper();
             String jsonMessage = mapper.writeValueAsString(message);
@@ -119,6 +138,8 @@ public class GoogleSheetsService {
         message.put("processId", processId);
         message.put("sheetId", sheetId);
 
+        readYourWritesTracker.pinCurrentUser();
+
         try {
             ObjectMapper mapper = new ObjectMapper();
             String jsonMessage = mapper.writeValueAsString(message);
@@ -177,6 +198,12 @@ public class GoogleSheetsService {
             
             // Store result for status endpoint
             processResults.put(result.getProcessId(), result);
+
+            // The processor has written projects/tasks/progress directly, drop stale cached reads
+            Long projectId = result.getDailyRecaps() != null && result.getDailyRecaps().getProject_id() != null
+                    ? result.getDailyRecaps().getProject_id().longValue()
+                    : null;
+            eventPublisher.publishEvent(new SheetIngestionCompletedEvent(result.getProcessId(), projectId));
             
             // Complete the pending future if exists
             CompletableFuture<GoogleSheetsResponse> future = pendingRequests.remove(result.getProcessId());
@@ -195,19 +222,30 @@ public class GoogleSheetsService {
 
     // Helper methods
     private String getSheetIdByProjectId(Long projectId) {
+        Map<String, Object> project;
         try {
-            return jdbcTemplate.queryForObject(
-                "SELECT sheet_id FROM projects WHERE id = ?",
-                String.class, projectId
-            );
+            project = jdbcTemplate.queryForMap("SELECT sheet_id, status FROM projects WHERE id = ?", projectId);
         } catch (EmptyResultDataAccessException e) {
             return null;
         }
+        // Its history has been archived; reopen the project before refreshing it
+        if (ProjectStatus.CLOSED.name().equals(project.get("status"))) {
+            throw AppException.badRequest(ErrorMessage.PROJECT_CLOSED);
+        }
+        return (String) project.get("sheet_id");
+    }
+
+    private void rejectClosedSheet(String sheetId) {
+        List<String> statuses = jdbcTemplate.queryForList(
+            "SELECT status FROM projects WHERE sheet_id = ?", String.class, sheetId);
+        if (statuses.contains(ProjectStatus.CLOSED.name())) {
+            throw AppException.badRequest(ErrorMessage.PROJECT_CLOSED);
+        }
     }
 
     private List<Map<String, Object>> getAllProjectsFromDatabase() {
         return jdbcTemplate.queryForList(
-            "SELECT id, name, sheet_id, created_at FROM projects ORDER BY created_at DESC"
+            "SELECT id, name, sheet_id, created_at FROM projects WHERE status = 'ACTIVE' ORDER BY created_at DESC"
         );
     }
 
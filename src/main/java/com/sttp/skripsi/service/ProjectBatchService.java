@@ -0,0 +1,141 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.config.AnalyticsTransaction;
+import com.sttp.skripsi.constant.ErrorMessage;
+import com.sttp.skripsi.dto.CursorPage;
+import com.sttp.skripsi.dto.FieldSelection;
+import com.sttp.skripsi.dto.ProjectBatchDTO;
+import com.sttp.skripsi.exception.AppException;
+import com.sttp.skripsi.model.DailyProgress;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.Task;
+import com.sttp.skripsi.model.TaskLatestStatus;
+import com.sttp.skripsi.repository.DailyProgressRepository;
+import com.sttp.skripsi.repository.ProjectRepository;
+import com.sttp.skripsi.repository.TaskLatestStatusRepository;
+import com.sttp.skripsi.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Progress and dashboard of many projects in one request, for the portfolio view that
+ * otherwise asks for them project by project. A chunk of projects is loaded with the
+ * same four set-based queries whatever its size, and all chunks are read in one
+ * transaction. Results are handed out in request order as soon as their chunk is
+ * built, so a streamed response renders the first projects early.
+ */
+@Service
+public class ProjectBatchService {
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final TaskLatestStatusRepository taskLatestStatusRepository;
+    private final DailyProgressRepository dailyProgressRepository;
+    private final ProjectProgressService projectProgressService;
+    private final int maxProjects;
+    private final int streamChunkSize;
+
+    public ProjectBatchService(ProjectRepository projectRepository,
+                               TaskRepository taskRepository,
+                               TaskLatestStatusRepository taskLatestStatusRepository,
+                               DailyProgressRepository dailyProgressRepository,
+                               ProjectProgressService projectProgressService,
+                               @Value("${app.project-batch.max-projects:200}") int maxProjects,
+                               @Value("${app.project-batch.stream-chunk-size:20}") int streamChunkSize) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.taskLatestStatusRepository = taskLatestStatusRepository;
+        this.dailyProgressRepository = dailyProgressRepository;
+        this.projectProgressService = projectProgressService;
+        this.maxProjects = maxProjects;
+        this.streamChunkSize = streamChunkSize;
+    }
+
+    // Distinct ids in request order; called before a streamed response is committed, so a bad batch is still a 400
+    public List<Long> checkProjectIds(List<Long> projectIds) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(projectIds));
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty()) {
+            throw AppException.badRequest(ErrorMessage.REQUIRED_FIELD_MISSING);
+        }
+        if (distinctIds.size() > maxProjects) {
+            throw AppException.badRequest(ErrorMessage.BATCH_TOO_LARGE);
+        }
+        return distinctIds;
+    }
+
+    @AnalyticsTransaction
+    public List<ProjectBatchDTO> getProjects(List<Long> projectIds, FieldSelection fields) {
+        List<Long> distinctIds = checkProjectIds(projectIds);
+        List<ProjectBatchDTO> results = new ArrayList<>();
+        loadInChunks(distinctIds, fields, distinctIds.size(), results::add);
+        return results;
+    }
+
+    @AnalyticsTransaction
+    public void streamProjects(List<Long> projectIds, FieldSelection fields, Consumer<ProjectBatchDTO> sink) {
+        loadInChunks(checkProjectIds(projectIds), fields, streamChunkSize, sink);
+    }
+
+    private void loadInChunks(List<Long> projectIds, FieldSelection fields, int chunkSize,
+                              Consumer<ProjectBatchDTO> sink) {
+        for (int from = 0; from < projectIds.size(); from += chunkSize) {
+            List<Long> chunk = projectIds.subList(from, Math.min(from + chunkSize, projectIds.size()));
+            loadChunk(chunk, fields).forEach(sink);
+        }
+    }
+
+    private List<ProjectBatchDTO> loadChunk(List<Long> projectIds, FieldSelection fields) {
+        Map<Long, Project> projects = projectRepository.findAllById(projectIds).stream()
+            .collect(Collectors.toMap(Project::getId, Function.identity()));
+        Map<Long, List<Task>> tasksByProject = taskRepository.findByProjectIdIn(projectIds).stream()
+            .collect(Collectors.groupingBy(task -> task.getProject().getId()));
+
+        Map<Long, Long> projectIdByTask = new HashMap<>();
+        tasksByProject.forEach((projectId, tasks) -> tasks.forEach(task -> projectIdByTask.put(task.getId(), projectId)));
+        Map<Long, Map<Long, TaskLatestStatus>> latestByProject = new HashMap<>();
+        for (TaskLatestStatus status : taskLatestStatusRepository.findByProjectIdIn(projectIds)) {
+            latestByProject.computeIfAbsent(projectIdByTask.get(status.getTaskId()), id -> new HashMap<>())
+                .put(status.getTaskId(), status);
+        }
+
+        // Ordered by project, talent and task, so each project's rows keep the order getProjectProgress uses
+        Map<Long, List<DailyProgress>> latestProgressByProject = fields.includes("progress")
+            ? dailyProgressRepository.findLatestByProjectIdIn(projectIds).stream()
+                .collect(Collectors.groupingBy(dp -> dp.getTask().getProject().getId()))
+            : Collections.emptyMap();
+
+        List<ProjectBatchDTO> results = new ArrayList<>(projectIds.size());
+        for (Long projectId : projectIds) {
+            Project project = projects.get(projectId);
+            if (project == null) {
+                results.add(ProjectBatchDTO.builder()
+                    .projectId(projectId)
+                    .error(ErrorMessage.PROJECT_NOT_FOUND)
+                    .build());
+                continue;
+            }
+
+            List<Task> tasks = tasksByProject.getOrDefault(projectId, Collections.emptyList());
+            Map<Long, TaskLatestStatus> latestByTask = latestByProject.getOrDefault(projectId, Collections.emptyMap());
+            results.add(ProjectBatchDTO.builder()
+                .projectId(projectId)
+                .progress(!fields.includes("progress") ? null : projectProgressService.toProjectProgress(project, tasks,
+                    latestByTask, () -> latestProgressByProject.getOrDefault(projectId, Collections.emptyList()),
+                    FieldSelection.ALL, CursorPage.Request.ALL))
+                .dashboard(!fields.includes("dashboard") ? null
+                    : ProjectDashboardService.toProjectDashboard(project, tasks, latestByTask))
+                .build());
+        }
+        return results;
+    }
+}
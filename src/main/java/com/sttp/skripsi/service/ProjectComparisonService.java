@@ -1,119 +1,83 @@
 package com.sttp.skripsi.service;
 
-import com.sttp.skripsi.constant.ErrorMessage;
-import com.sttp.skripsi.exception.AppException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.sttp.skripsi.dto.ProjectComparisonDTO;
-import com.sttp.skripsi.model.*;
-import com.sttp.skripsi.repository.*;
-import lombok.RequiredArgsConstructor;
+import com.sttp.skripsi.event.ProjectDataChangedEvent;
+import com.sttp.skripsi.event.SheetIngestionCompletedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.*;
-import java.util.stream.Collectors;
-
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Project comparisons, cached under the sorted set of compared project ids so a
+ * portfolio review asking for the same projects again does not recompute them. An entry
+ * is dropped as soon as any of its projects is refreshed by a sheet job or closed,
+ * reopened or purged; a change without a project drops them all.
+ */
 @Service
-@RequiredArgsConstructor
 public class ProjectComparisonService {
-    private final ProjectRepository projectRepository;
-    private final TaskRepository taskRepository;
-    private final DailyProgressRepository dailyProgressRepository;
-    private final TalentRepository talentRepository;
-
-    @Transactional(readOnly = true)
-    public ProjectComparisonDTO compareProjects(List<Long> projectIds) {
-        List<Project> projects = projectRepository.findAllById(projectIds);
-        if (projects.isEmpty()) {
-            throw AppException.notFound(ErrorMessage.RESOURCE_NOT_FOUND);
-        }
+    private static final Logger logger = LoggerFactory.getLogger(ProjectComparisonService.class);
 
-        List<ProjectComparisonDTO.ProjectMetrics> projectMetricsList = new ArrayList<>();
-        Map<String, Double> averageMetrics = new HashMap<>();
-        double totalProgress = 0;
-        double totalEffort = 0;
-        int totalTasks = 0;
-        int totalTalents = 0;
-        int totalDelayedTasks = 0;
-        int totalCompletedTasks = 0;
-        double totalProgressChange = 0;
+    private final ProjectComparisonEngine comparisonEngine;
+    private final Cache<List<Long>, ProjectComparisonDTO> comparisons;
 
-        for (Project project : projects) {
-            List<Task> tasks = taskRepository.findByProject(project);
-            Set<Talent> talents = new HashSet<>();
-            Map<String, Integer> tasksByCategory = new HashMap<>();
-            Map<String, Integer> tasksByStatus = new HashMap<>();
-            double projectProgress = 0;
-            double projectEffort = 0;
-            int projectDelayedTasks = 0;
-            int projectCompletedTasks = 0;
-            double projectProgressChange = 0;
-            int progressChangeCount = 0;
+    // Bumped on every invalidation; a comparison computed across one may be stale and is not cached
+    private long generation;
 
-            for (Task task : tasks) {
-                List<DailyProgress> progressList = dailyProgressRepository.findByTask(task);
-                if (!progressList.isEmpty()) {
-                    DailyProgress latestProgress = progressList.stream()
-                        .max(Comparator.comparing(DailyProgress::getDate))
-                        .get();
-
-                    talents.add(latestProgress.getTalent());
-                    projectProgress += latestProgress.getProgress();
-                    projectEffort += latestProgress.getTotalEffortSpent();
-
-                    tasksByCategory.merge(task.getTaskCategory(), 1, Integer::sum);
-                    tasksByStatus.merge(latestProgress.getScheduleStatus(), 1, Integer::sum);
+    public ProjectComparisonService(ProjectComparisonEngine comparisonEngine,
+                                    @Value("${app.project-comparison.cache-size:500}") long cacheSize) {
+        this.comparisonEngine = comparisonEngine;
+        this.comparisons = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
 
-                    if (latestProgress.getProgress() >= 100) {
-                        projectCompletedTasks++;
-                    } else if ("DELAYED".equals(latestProgress.getScheduleStatus())) {
-                        projectDelayedTasks++;
-                    }
+    public ProjectComparisonDTO compareProjects(List<Long> projectIds) {
+        List<Long> key = projectIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        ProjectComparisonDTO cached = comparisons.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
 
-                    if (latestProgress.getProgressFrom() != null && latestProgress.getProgressTo() != null) {
-                        projectProgressChange += (latestProgress.getProgressTo() - latestProgress.getProgressFrom());
-                        progressChangeCount++;
-                    }
-                }
+        long started = currentGeneration();
+        ProjectComparisonDTO comparison = comparisonEngine.compare(key);
+        synchronized (this) {
+            if (generation == started) {
+                comparisons.put(key, comparison);
             }
+        }
+        return comparison;
+    }
 
-            double averageProgress = tasks.isEmpty() ? 0 : projectProgress / tasks.size();
-            double averageEffort = tasks.isEmpty() ? 0 : projectEffort / tasks.size();
-            double progressChangeRate = progressChangeCount == 0 ? 0 : projectProgressChange / progressChangeCount;
-
-            projectMetricsList.add(ProjectComparisonDTO.ProjectMetrics.builder()
-                .projectName(project.getName())
-                .totalTasks(tasks.size())
-                .totalTalents(talents.size())
-                .averageProgress(averageProgress)
-                .delayedTasks(projectDelayedTasks)
-                .completedTasks(projectCompletedTasks)
-                .averageEffortSpent(averageEffort)
-                .progressChangeRate(progressChangeRate)
-                .tasksByCategory(tasksByCategory)
-                .tasksByStatus(tasksByStatus)
-                .build());
+    @EventListener
+    public void onSheetIngestionCompleted(SheetIngestionCompletedEvent event) {
+        invalidate(event.projectId());
+    }
 
-            totalProgress += averageProgress;
-            totalEffort += averageEffort;
-            totalTasks += tasks.size();
-            totalTalents += talents.size();
-            totalDelayedTasks += projectDelayedTasks;
-            totalCompletedTasks += projectCompletedTasks;
-            totalProgressChange += progressChangeRate;
-        }
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectDataChanged(ProjectDataChangedEvent event) {
+        invalidate(event.projectId());
+    }
 
-        int projectCount = projects.size();
-        averageMetrics.put("averageProgress", totalProgress / projectCount);
-        averageMetrics.put("averageEffort", totalEffort / projectCount);
-        averageMetrics.put("averageTasks", (double) totalTasks / projectCount);
-        averageMetrics.put("averageTalents", (double) totalTalents / projectCount);
-        averageMetrics.put("averageDelayedTasks", (double) totalDelayedTasks / projectCount);
-        averageMetrics.put("averageCompletedTasks", (double) totalCompletedTasks / projectCount);
-        averageMetrics.put("averageProgressChange", totalProgressChange / projectCount);
+    private synchronized long currentGeneration() {
+        return generation;
+    }
 
-        return ProjectComparisonDTO.builder()
-            .projectMetrics(projectMetricsList)
-            .averageMetrics(averageMetrics)
-            .build();
+    private synchronized void invalidate(Long projectId) {
+        generation++;
+        if (projectId == null) {
+            comparisons.invalidateAll();
+            logger.debug("Dropped all cached project comparisons");
+            return;
+        }
+        // Keys are sorted
+        comparisons.asMap().keySet().removeIf(key -> Collections.binarySearch(key, projectId) >= 0);
+        logger.debug("Dropped cached project comparisons containing project {}", projectId);
     }
-} 
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.sttp.skripsi.service;
 
+import com.sttp.skripsi.config.AnalyticsTransaction;
 import com.sttp.skripsi.constant.ErrorMessage;
 import com.sttp.skripsi.dto.ProjectDashboardDTO;
 import com.sttp.skripsi.exception.AppException;
@@ -7,7 +8,6 @@ import com.sttp.skripsi.model.*;
 import com.sttp.skripsi.repository.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -19,14 +19,23 @@ public class ProjectDashboardService {
     private final TaskRepository taskRepository;
     private final DailyProgressRepository dailyProgressRepository;
     private final TalentRepository talentRepository;
+    private final TaskLatestStatusRepository taskLatestStatusRepository;
 
-    @Transactional(readOnly = true)
+    @AnalyticsTransaction
     public ProjectDashboardDTO getProjectDashboard(Long projectId) {
         Project project = projectRepository.findById(projectId)
             .orElseThrow(() -> AppException.notFound(ErrorMessage.PROJECT_NOT_FOUND));
 
         List<Task> tasks = taskRepository.findByProject(project);
-        Set<Talent> talents = new HashSet<>();
+        Map<Long, TaskLatestStatus> latestByTask = taskLatestStatusRepository.findByProjectId(projectId).stream()
+            .collect(Collectors.toMap(TaskLatestStatus::getTaskId, status -> status));
+        return toProjectDashboard(project, tasks, latestByTask);
+    }
+
+    // Builds the DTO from loaded rows, shared with ProjectBatchService
+    static ProjectDashboardDTO toProjectDashboard(Project project, List<Task> tasks,
+                                                  Map<Long, TaskLatestStatus> latestByTask) {
+        Set<Long> talentIds = new HashSet<>();
         Map<String, Integer> delayedTasksByCategory = new HashMap<>();
         int completedTasks = 0;
         int inProgressTasks = 0;
@@ -36,13 +45,9 @@ public class ProjectDashboardService {
         int progressChangeCount = 0;
 
         for (Task task : tasks) {
-            List<DailyProgress> progressList = dailyProgressRepository.findByTask(task);
-            if (!progressList.isEmpty()) {
-                DailyProgress latestProgress = progressList.stream()
-                    .max(Comparator.comparing(DailyProgress::getDate))
-                    .get();
-
-                talents.add(latestProgress.getTalent());
+            TaskLatestStatus latestProgress = latestByTask.get(task.getId());
+            if (latestProgress != null) {
+                talentIds.add(latestProgress.getTalentId());
                 
                 if (latestProgress.getProgress() >= 100) {
                     completedTasks++;
@@ -62,16 +67,8 @@ public class ProjectDashboardService {
             }
         }
 
-        double averageProgress = tasks.stream()
-            .flatMap(task -> dailyProgressRepository.findByTask(task).stream())
-            .collect(Collectors.groupingBy(
-                DailyProgress::getTask,
-                Collectors.maxBy(Comparator.comparing(DailyProgress::getDate))
-            ))
-            .values()
-            .stream()
-            .filter(Optional::isPresent)
-            .mapToInt(dp -> dp.get().getProgress())
+        double averageProgress = latestByTask.values().stream()
+            .mapToInt(TaskLatestStatus::getProgress)
             .average()
             .orElse(0.0);
 
@@ -80,7 +77,7 @@ public class ProjectDashboardService {
             .totalTasks(tasks.size())
             .overallProgress(averageProgress)
             .delayedTasksByCategory(delayedTasksByCategory)
-            .totalTalents(talents.size())
+            .totalTalents(talentIds.size())
             .completedTasks(completedTasks)
             .inProgressTasks(inProgressTasks)
             .delayedTasks(delayedTasks)
@@ -0,0 +1,199 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.constant.ErrorMessage;
+import com.sttp.skripsi.dto.ProjectSummaryDTO;
+import com.sttp.skripsi.event.ProjectDataChangedEvent;
+import com.sttp.skripsi.exception.AppException;
+import com.sttp.skripsi.model.DailyProgress;
+import com.sttp.skripsi.model.DailyProgressArchive;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.ProjectStatus;
+import com.sttp.skripsi.model.ProjectSummary;
+import com.sttp.skripsi.model.Talent;
+import com.sttp.skripsi.model.Task;
+import com.sttp.skripsi.repository.DailyProgressArchiveRepository;
+import com.sttp.skripsi.repository.DailyProgressRepository;
+import com.sttp.skripsi.repository.ProjectRepository;
+import com.sttp.skripsi.repository.ProjectSummaryRepository;
+import com.sttp.skripsi.repository.TalentProjectDayRepository;
+import com.sttp.skripsi.repository.TalentRepository;
+import com.sttp.skripsi.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Closing a project freezes its metrics into project_summaries and moves its
+ * daily_progress rows to daily_progress_archive, so live analytics only scan active
+ * projects. Reopening moves the rows back and drops the frozen summary.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectLifecycleService {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectLifecycleService.class);
+
+    private final ProjectRepository projectRepository;
+    private final ProjectSummaryRepository projectSummaryRepository;
+    private final DailyProgressArchiveRepository dailyProgressArchiveRepository;
+    private final TalentProjectDayRepository talentProjectDayRepository;
+    private final DailyProgressRepository dailyProgressRepository;
+    private final TalentRepository talentRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectProgressService projectProgressService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public ProjectSummary closeProject(Long projectId) {
+        Project project = projectRepository.findById(projectId)
+            .orElseThrow(() -> AppException.notFound(ErrorMessage.PROJECT_NOT_FOUND));
+        if (project.getStatus() == ProjectStatus.CLOSED) {
+            throw AppException.badRequest(ErrorMessage.PROJECT_ALREADY_CLOSED);
+        }
+
+        // Metrics are computed from the live history, so before it is moved
+        LocalDateTime closedAt = LocalDateTime.now();
+        ProjectSummary summary = freezeMetrics(project, closedAt);
+
+        int archived = dailyProgressArchiveRepository.copyToArchive(projectId);
+        int deleted = dailyProgressArchiveRepository.deleteLive(projectId);
+        if (archived != deleted) {
+            // A row was added in between; rolling back keeps the project whole
+            throw AppException.internalServerError(ErrorMessage.PROJECT_UPDATE_FAILED);
+        }
+        summary.setArchivedProgressRows(archived);
+
+        project.setStatus(ProjectStatus.CLOSED);
+        project.setClosedAt(closedAt);
+        projectRepository.save(project);
+        logger.info("Closed project {} ({}), archived {} progress rows", project.getName(), projectId, archived);
+        eventPublisher.publishEvent(new ProjectDataChangedEvent(projectId));
+        return projectSummaryRepository.save(summary);
+    }
+
+    // Returns the project's live summary once its history is back
+    @Transactional
+    public ProjectSummaryDTO.ProjectDetail reopenProject(Long projectId) {
+        Project project = projectRepository.findById(projectId)
+            .orElseThrow(() -> AppException.notFound(ErrorMessage.PROJECT_NOT_FOUND));
+        if (project.getStatus() != ProjectStatus.CLOSED) {
+            throw AppException.badRequest(ErrorMessage.PROJECT_NOT_CLOSED);
+        }
+
+        // Overlapping rows are read before the bulk copy, whose rows would otherwise count as live
+        long archived = dailyProgressArchiveRepository.countArchived(projectId);
+        List<DailyProgressArchive> overlapping = dailyProgressArchiveRepository.findOverlappingLive(projectId);
+        int copied = dailyProgressArchiveRepository.copyToLive(projectId);
+        if (copied + overlapping.size() != archived) {
+            // Live progress was added in between; rolling back keeps the archive whole
+            throw AppException.internalServerError(ErrorMessage.PROJECT_UPDATE_FAILED);
+        }
+        int restored = copied + restoreAroundLiveDays(overlapping);
+        dailyProgressArchiveRepository.deleteArchived(projectId);
+        projectSummaryRepository.deleteById(projectId);
+
+        project.setStatus(ProjectStatus.ACTIVE);
+        project.setClosedAt(null);
+        projectRepository.save(project);
+        logger.info("Reopened project {} ({}), restored {} progress rows", project.getName(), projectId, restored);
+        eventPublisher.publishEvent(new ProjectDataChangedEvent(projectId));
+        return projectProgressService.summarizeProject(project);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectSummary> getClosedProjects() {
+        return projectSummaryRepository.findAllByOrderByClosedAtDesc();
+    }
+
+    /**
+     * Restores the days of archived rows that a sheet job still in flight when the project closed
+     * has written again. Those days keep the newer live row; the rest of a compacted run is
+     * restored as the runs left on either side of them, so no archived day is lost.
+     */
+    private int restoreAroundLiveDays(List<DailyProgressArchive> overlapping) {
+        List<DailyProgress> restored = new ArrayList<>();
+        for (DailyProgressArchive archived : overlapping) {
+            Talent talent = talentRepository.getReferenceById(archived.getTalentId());
+            Task task = taskRepository.getReferenceById(archived.getTaskId());
+            Set<LocalDate> liveDays = dailyProgressRepository.findByTalentAndTask(talent, task).stream()
+                .map(DailyProgress::getDate)
+                .collect(Collectors.toSet());
+
+            LocalDate lastDay = archived.getDateTo() != null ? archived.getDateTo() : archived.getDate();
+            LocalDate runStart = null;
+            for (LocalDate day = archived.getDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+                if (!liveDays.contains(day)) {
+                    runStart = runStart != null ? runStart : day;
+                } else if (runStart != null) {
+                    restored.add(toLive(archived, talent, task, runStart, day.minusDays(1)));
+                    runStart = null;
+                }
+            }
+            if (runStart != null) {
+                restored.add(toLive(archived, talent, task, runStart, lastDay));
+            }
+        }
+        dailyProgressRepository.saveAll(restored);
+        return restored.size();
+    }
+
+    private static DailyProgress toLive(DailyProgressArchive archived, Talent talent, Task task,
+                                        LocalDate from, LocalDate to) {
+        return DailyProgress.builder()
+            .talent(talent)
+            .task(task)
+            .date(from)
+            .dateTo(to.isAfter(from) ? to : null)
+            .previousEffort(archived.getPreviousEffort())
+            .additionalEffort(archived.getAdditionalEffort())
+            .totalEffortSpent(archived.getTotalEffortSpent())
+            .baseEstimate(archived.getBaseEstimate())
+            .effortAdjustment(archived.getEffortAdjustment())
+            .finalEstimate(archived.getFinalEstimate())
+            .progress(archived.getProgress())
+            .scheduleStatus(archived.getScheduleStatus())
+            .delayReason(archived.getDelayReason())
+            .estimatedCompletionDate(archived.getEstimatedCompletionDate())
+            .progressFrom(archived.getProgressFrom())
+            .progressTo(archived.getProgressTo())
+            .build();
+    }
+
+    private ProjectSummary freezeMetrics(Project project, LocalDateTime closedAt) {
+        ProjectSummary.ProjectSummaryBuilder summary = ProjectSummary.builder()
+            .projectId(project.getId())
+            .projectName(project.getName())
+            .closedAt(closedAt)
+            .totalTasks(0)
+            .tasksDone(0)
+            .progress(0.0);
+
+        ProjectSummaryDTO.ProjectDetail detail = projectProgressService.summarizeProject(project);
+        if (detail != null) {
+            summary.totalTasks(detail.getTotalTasks())
+                .tasksDone(detail.getTasksDone())
+                .progress(detail.getProgress())
+                .tasksAhead(detail.getScheduleStatus().getTasksAhead())
+                .tasksOnTrack(detail.getScheduleStatus().getTasksOnTrack())
+                .tasksDelayed(detail.getScheduleStatus().getTasksDelayed())
+                .dueDate(detail.getDueDate())
+                .scheduleStatus(detail.getProjectStatus());
+        }
+
+        talentProjectDayRepository.findProjectWorkloadTotalsByProjectId(project.getId())
+            .ifPresent(totals -> summary.totalEffortSpent(totals.totalEffortSpent())
+                .activeDays(totals.activeDays())
+                .startDate(totals.firstDate())
+                .endDate(totals.lastCompletedDate()));
+        return summary.build();
+    }
+}
@@ -1,23 +1,23 @@
 package com.sttp.skripsi.service;
 
+import com.sttp.skripsi.config.AnalyticsTransaction;
 import com.sttp.skripsi.constant.ErrorMessage;
 import com.sttp.skripsi.dto.*;
 import com.sttp.skripsi.exception.AppException;
 import com.sttp.skripsi.model.*;
 import com.sttp.skripsi.repository.*;
+import com.sttp.skripsi.repository.projection.ProjectScheduleRollup;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
-
 @Service
 @RequiredArgsConstructor
 public class ProjectProgressService {
@@ -27,54 +27,99 @@ public class ProjectProgressService {
     private final TaskRepository taskRepository;
     private final DailyProgressRepository dailyProgressRepository;
     private final TalentRepository talentRepository;
+    private final TaskLatestStatusRepository taskLatestStatusRepository;
 
-    @Transactional(readOnly = true)
+    @AnalyticsTransaction
     public ProjectProgressDTO getProjectProgress(Long projectId) {
+        return getProjectProgress(projectId, FieldSelection.ALL, CursorPage.Request.ALL);
+    }
+
+    // page applies to the task details of all talents together, in talent then task order
+    @AnalyticsTransaction
+    public ProjectProgressDTO getProjectProgress(Long projectId, FieldSelection fields, CursorPage.Request page) {
         Project project = projectRepository.findById(projectId)
             .orElseThrow(() -> AppException.notFound(ErrorMessage.PROJECT_NOT_FOUND));
 
         List<Task> projectTasks = taskRepository.findByProject(project);
-        
-        // Get all talents who have progress records for this project's tasks
-        Set<Talent> talents = projectTasks.stream()
-            .flatMap(task -> dailyProgressRepository.findByTask(task).stream())
-            .map(DailyProgress::getTalent)
-            .collect(Collectors.toSet());
+        Map<Long, TaskLatestStatus> latestProgressByTask = taskLatestStatusRepository.findByProjectId(projectId).stream()
+            .collect(Collectors.toMap(TaskLatestStatus::getTaskId, status -> status));
 
-        // Calculate overall project metrics
-        Map<Task, DailyProgress> latestProgressByTask = new HashMap<>();
-        for (Task task : projectTasks) {
-            dailyProgressRepository.findByTask(task).stream()
-                .max(Comparator.comparing(DailyProgress::getDate))
-                .ifPresent(dp -> latestProgressByTask.put(task, dp));
-        }
+        // Latest progress of every (talent, task) pair in one query, ordered by talent and task
+        return toProjectProgress(project, projectTasks, latestProgressByTask,
+            () -> dailyProgressRepository.findLatestByProjectId(projectId), fields, page);
+    }
 
+    // Builds the DTO from loaded rows, shared with ProjectBatchService; latestProgress is only loaded when needed
+    ProjectProgressDTO toProjectProgress(Project project, List<Task> projectTasks,
+                                         Map<Long, TaskLatestStatus> latestProgressByTask,
+                                         Supplier<List<DailyProgress>> latestProgress,
+                                         FieldSelection fields, CursorPage.Request page) {
+        // Calculate overall project metrics
         double overallProgress = latestProgressByTask.values().stream()
-            .mapToInt(DailyProgress::getProgress)
+            .mapToInt(TaskLatestStatus::getProgress)
             .average()
             .orElse(0.0);
 
         // Count delayed tasks
-        Map<String, Integer> delayedTasksCount = latestProgressByTask.entrySet().stream()
-            .filter(entry -> "DELAYED".equals(entry.getValue().getScheduleStatus()))
-            .collect(Collectors.groupingBy(
-                entry -> entry.getKey().getTaskCategory(),
-                Collectors.collectingAndThen(Collectors.counting(), Long::intValue)
-            ));
+        Map<String, Integer> delayedTasksCount = null;
+        if (fields.includes("delayedTasksCount")) {
+            delayedTasksCount = projectTasks.stream()
+                .filter(task -> latestProgressByTask.containsKey(task.getId()))
+                .filter(task -> "DELAYED".equals(latestProgressByTask.get(task.getId()).getScheduleStatus()))
+                .collect(Collectors.groupingBy(
+                    Task::getTaskCategory,
+                    Collectors.collectingAndThen(Collectors.counting(), Long::intValue)
+                ));
+        }
 
         // Calculate talent-specific metrics
+        List<ProjectProgressDTO.TalentProgress> talentProgresses = null;
+        String taskDetailsNextCursor = null;
+        if (fields.includes("talentProgresses")) {
+            List<DailyProgress> latestRows = latestProgress.get();
+            CursorPage<DailyProgress> taskPage = page.apply(latestRows,
+                dp -> new long[] {dp.getTalent().getId(), dp.getTask().getId()});
+            taskDetailsNextCursor = taskPage.nextCursor();
+            talentProgresses = toTalentProgresses(latestRows, taskPage.items());
+        }
+
+        return ProjectProgressDTO.builder()
+            .projectName(project.getName())
+            .sheetId(project.getSheetId())
+            .totalTasks(projectTasks.size())
+            .overallProjectProgress(overallProgress)
+            .delayedTasksCount(delayedTasksCount)
+            .talentProgresses(talentProgresses)
+            .taskDetailsNextCursor(taskDetailsNextCursor)
+            .build();
+    }
+
+    // Talent metrics cover all their tasks; task details are only listed for the rows on the page
+    private List<ProjectProgressDTO.TalentProgress> toTalentProgresses(List<DailyProgress> latestProgress,
+                                                                       List<DailyProgress> pageRows) {
+        Map<Long, List<DailyProgress>> latestProgressByTalent = latestProgress.stream()
+            .collect(Collectors.groupingBy(dp -> dp.getTalent().getId(), LinkedHashMap::new, Collectors.toList()));
+        Map<Long, List<DailyProgress>> pageRowsByTalent = pageRows.stream()
+            .collect(Collectors.groupingBy(dp -> dp.getTalent().getId()));
+
         List<ProjectProgressDTO.TalentProgress> talentProgresses = new ArrayList<>();
-        
-        for (Talent talent : talents) {
-            Map<Task, DailyProgress> talentLatestProgress = new HashMap<>();
-            
-            for (Task task : projectTasks) {
-                dailyProgressRepository.findByTalentAndTask(talent, task).stream()
-                    .max(Comparator.comparing(DailyProgress::getDate))
-                    .ifPresent(dp -> talentLatestProgress.put(task, dp));
+        for (Map.Entry<Long, List<DailyProgress>> entry : latestProgressByTalent.entrySet()) {
+            List<DailyProgress> talentLatestProgress = entry.getValue();
+            int completedTasks = 0;
+            int delayedTasks = 0;
+            int progressSum = 0;
+            for (DailyProgress dp : talentLatestProgress) {
+                if (dp.getProgress() >= 100) {
+                    completedTasks++;
+                }
+                if ("DELAYED".equals(dp.getScheduleStatus())) {
+                    delayedTasks++;
+                }
+                progressSum += dp.getProgress();
             }
 
-            List<ProjectProgressDTO.TaskProgress> taskProgresses = talentLatestProgress.values().stream()
+            List<ProjectProgressDTO.TaskProgress> taskProgresses = pageRowsByTalent
+                .getOrDefault(entry.getKey(), Collections.emptyList()).stream()
                 .map(dp -> ProjectProgressDTO.TaskProgress.builder()
                     .taskCode(dp.getTask().getTaskCode())
                     .taskName(dp.getTask().getTaskName())
@@ -88,211 +133,113 @@ public class ProjectProgressService {
                     .build())
                 .collect(Collectors.toList());
 
-            int completedTasks = (int) talentLatestProgress.values().stream()
-                .filter(dp -> dp.getProgress() >= 100)
-                .count();
-
-            int delayedTasks = (int) talentLatestProgress.values().stream()
-                .filter(dp -> "DELAYED".equals(dp.getScheduleStatus()))
-                .count();
-
-            double averageProgress = talentLatestProgress.values().stream()
-                .mapToInt(DailyProgress::getProgress)
-                .average()
-                .orElse(0.0);
-
             talentProgresses.add(ProjectProgressDTO.TalentProgress.builder()
-                .talentName(talent.getName())
+                .talentName(talentLatestProgress.get(0).getTalent().getName())
                 .assignedTasks(talentLatestProgress.size())
-                .averageProgress(averageProgress)
+                .averageProgress((double) progressSum / talentLatestProgress.size())
                 .completedTasks(completedTasks)
                 .delayedTasks(delayedTasks)
                 .onTrackTasks(talentLatestProgress.size() - completedTasks - delayedTasks)
                 .taskDetails(taskProgresses)
                 .build());
         }
+        return talentProgresses;
+    }
 
-        return ProjectProgressDTO.builder()
-            .projectName(project.getName())
-            .sheetId(project.getSheetId())
-            .totalTasks(projectTasks.size())
-            .overallProjectProgress(overallProgress)
-            .delayedTasksCount(delayedTasksCount)
-            .talentProgresses(talentProgresses)
-            .build();
+    // Summary row of one project as listed by ProjectStatusIndex; null when it has no tasks
+    public ProjectSummaryDTO.ProjectDetail summarizeProject(Project project) {
+        return projectRepository.findScheduleRollup(project.getId())
+            .map(this::toProjectDetail)
+            .orElse(null);
     }
-    @Transactional(readOnly = true)
-    public ProjectSummaryDTO getAllProjectsSummary() {
-        List<Project> allProjects = projectRepository.findAll();
-        
-        if (allProjects.isEmpty()) {
-            return ProjectSummaryDTO.builder()
-                    .totalProjects(0)
-                    .onScheduleProjects(0)
-                    .aheadScheduleProjects(0)
-                    .delayedProjects(0)
-                    .projectDetails(Collections.emptyList())
-                    .build();
-        }
 
-        List<ProjectSummaryDTO.ProjectDetail> projectDetails = new ArrayList<>();
-        int onScheduleCount = 0;
-        int aheadScheduleCount = 0;
-        int delayedCount = 0;
+    // Summary rows of all active projects that have tasks, in one query
+    public List<ProjectSummaryDTO.ProjectDetail> summarizeActiveProjects() {
+        return projectRepository.findActiveScheduleRollups().stream()
+            .map(this::toProjectDetail)
+            .collect(Collectors.toList());
+    }
 
-        for (Project project : allProjects) {
-            List<Task> projectTasks = taskRepository.findByProject(project);
-            if (projectTasks.isEmpty()) {
-                continue;
-            }
-            int totalTasks = projectTasks.size();
-            int tasksDone = 0;
-            int tasksAhead = 0;
-            int tasksOnTrack = 0;
-            int tasksDelayed = 0;
-            LocalDate dueDate = null;
-            for (Task task : projectTasks) {
-                List<DailyProgress> taskProgressList = dailyProgressRepository.findByTask(task);
-                // Cek apakah task pernah ahead
-                boolean everAhead = taskProgressList.stream()
-                    .anyMatch(dp -> "ahead".equalsIgnoreCase(dp.getScheduleStatus()));
-                if (everAhead) {
-                    tasksAhead++;
-                }
-                // Find earliest date for due date calculation
-                if (!taskProgressList.isEmpty()) {
-                    LocalDate taskEarliestDate = taskProgressList.stream()
-                        .map(DailyProgress::getDate)
-                        .min(LocalDate::compareTo)
-                        .orElse(null);
-                    if (taskEarliestDate != null && (dueDate == null || taskEarliestDate.isBefore(dueDate))) {
-                        dueDate = taskEarliestDate;
-                    }
-                    // Get latest progress for task status
-                    Optional<DailyProgress> latestProgressOpt = taskProgressList.stream()
-                        .max(Comparator.comparing(DailyProgress::getDate));
-                    if (latestProgressOpt.isPresent()) {
-                        DailyProgress latestProgress = latestProgressOpt.get();
-                        if (latestProgress.getProgress() != null && latestProgress.getProgress() >= 100) {
-                            tasksDone++;
-                        }
-                        String scheduleStatus = latestProgress.getScheduleStatus();
-                        if (scheduleStatus != null) {
-                            if (scheduleStatus.equalsIgnoreCase("ON_TRACK")) {
-                                tasksOnTrack++;
-                            } else if (scheduleStatus.equalsIgnoreCase("DELAYED")) {
-                                tasksDelayed++;
-                            }
-                        } else {
-                            tasksOnTrack++;
-                        }
-                    }
-                } else {
-                    // Task tanpa progress dianggap on track
-                    tasksOnTrack++;
-                }
-            }
-            if (dueDate == null) {
-                dueDate = LocalDate.now();
-            }
-            double progress = totalTasks > 0 ? (double) tasksDone / totalTasks * 100 : 0;
-            // Format progress to 2 decimal places
-            progress = Math.round(progress * 100.0) / 100.0;
-
-            String projectStatus;
-            if (tasksDelayed > tasksAhead && tasksDelayed > tasksOnTrack) {
-                projectStatus = "DELAYED";
-                delayedCount++;
-            } else if (tasksAhead > tasksDelayed && tasksAhead > tasksOnTrack) {
-                projectStatus = "AHEAD";
-                aheadScheduleCount++;
-            } else {
-                projectStatus = "ON_TRACK";
-                onScheduleCount++;
-            }
+    private ProjectSummaryDTO.ProjectDetail toProjectDetail(ProjectScheduleRollup rollup) {
+        int totalTasks = rollup.getTotalTasks();
+        int tasksDone = rollup.getTasksDone();
+        int tasksAhead = rollup.getTasksAhead();
+        int tasksOnTrack = rollup.getTasksOnTrack();
+        int tasksDelayed = rollup.getTasksDelayed();
+        // Earliest progress date of any task, today when no task has progress yet
+        LocalDate dueDate = rollup.getFirstDate() != null ? rollup.getFirstDate() : LocalDate.now();
 
-            ProjectSummaryDTO.ScheduleStatus scheduleStatus = ProjectSummaryDTO.ScheduleStatus.builder()
-                    .tasksAhead(tasksAhead)
-                    .tasksOnTrack(tasksOnTrack)
-                    .tasksDelayed(tasksDelayed)
-                    .build();
+        double progress = totalTasks > 0 ? (double) tasksDone / totalTasks * 100 : 0;
+        // Format progress to 2 decimal places
+        progress = Math.round(progress * 100.0) / 100.0;
 
-            ProjectSummaryDTO.ProjectDetail detail = ProjectSummaryDTO.ProjectDetail.builder()
-                    .id(project.getId())
-                    .projectName(project.getName())
-                    .progress(progress)
-                    .tasksDone(tasksDone)
-                    .totalTasks(totalTasks)
-                    .scheduleStatus(scheduleStatus)
-                    .dueDate(dueDate)
-                    .projectStatus(projectStatus)  // Added this line
-                    .build();
-            projectDetails.add(detail);
+        String projectStatus;
+        if (tasksDelayed > tasksAhead && tasksDelayed > tasksOnTrack) {
+            projectStatus = "DELAYED";
+        } else if (tasksAhead > tasksDelayed && tasksAhead > tasksOnTrack) {
+            projectStatus = "AHEAD";
+        } else {
+            projectStatus = "ON_TRACK";
         }
 
-        return ProjectSummaryDTO.builder()
-                .totalProjects(allProjects.size())
-                .onScheduleProjects(onScheduleCount)
-                .aheadScheduleProjects(aheadScheduleCount)
-                .delayedProjects(delayedCount)
-                .projectDetails(projectDetails)
-                .build();
-    }
-
-    @Transactional(readOnly = true)
-    public ProjectSummaryDTO getDelayedProjects() {
-        ProjectSummaryDTO allProjects = getAllProjectsSummary();
-        List<ProjectSummaryDTO.ProjectDetail> delayedProjects = allProjects.getProjectDetails().stream()
-                .filter(project -> "DELAYED".equals(project.getProjectStatus()))
-                .collect(Collectors.toList());
-        
-        return ProjectSummaryDTO.builder()
-                .totalProjects(delayedProjects.size())
-                .delayedProjects(delayedProjects.size())
-                .projectDetails(delayedProjects)
+        ProjectSummaryDTO.ScheduleStatus scheduleStatus = ProjectSummaryDTO.ScheduleStatus.builder()
+                .tasksAhead(tasksAhead)
+                .tasksOnTrack(tasksOnTrack)
+                .tasksDelayed(tasksDelayed)
                 .build();
-    }
 
-    @Transactional(readOnly = true)
-    public ProjectSummaryDTO getOnScheduleProjects() {
-        ProjectSummaryDTO allProjects = getAllProjectsSummary();
-        List<ProjectSummaryDTO.ProjectDetail> onScheduleProjects = allProjects.getProjectDetails().stream()
-                .filter(project -> "ON_TRACK".equals(project.getProjectStatus()))
-                .collect(Collectors.toList());
-        
-        return ProjectSummaryDTO.builder()
-                .totalProjects(onScheduleProjects.size())
-                .onScheduleProjects(onScheduleProjects.size())
-                .projectDetails(onScheduleProjects)
+        return ProjectSummaryDTO.ProjectDetail.builder()
+                .id(rollup.getProjectId())
+                .projectName(rollup.getProjectName())
+                .progress(progress)
+                .tasksDone(tasksDone)
+                .totalTasks(totalTasks)
+                .scheduleStatus(scheduleStatus)
+                .dueDate(dueDate)
+                .projectStatus(projectStatus)  // Added this line
+                .lifecycleStatus(ProjectStatus.ACTIVE.name())
                 .build();
     }
 
-    @Transactional(readOnly = true)
-    public ProjectSummaryDTO getAheadProjects() {
-        ProjectSummaryDTO allProjects = getAllProjectsSummary();
-        List<ProjectSummaryDTO.ProjectDetail> aheadProjects = allProjects.getProjectDetails().stream()
-                .filter(project -> "AHEAD".equals(project.getProjectStatus()))
-                .collect(Collectors.toList());
-        
-        return ProjectSummaryDTO.builder()
-                .totalProjects(aheadProjects.size())
-                .aheadScheduleProjects(aheadProjects.size())
-                .projectDetails(aheadProjects)
+    // Summary row of a closed project, from the metrics frozen when it was closed
+    public ProjectSummaryDTO.ProjectDetail toProjectDetail(ProjectSummary closed) {
+        return ProjectSummaryDTO.ProjectDetail.builder()
+                .id(closed.getProjectId())
+                .projectName(closed.getProjectName())
+                .progress(closed.getProgress())
+                .tasksDone(closed.getTasksDone())
+                .totalTasks(closed.getTotalTasks())
+                .scheduleStatus(ProjectSummaryDTO.ScheduleStatus.builder()
+                        .tasksAhead(closed.getTasksAhead())
+                        .tasksOnTrack(closed.getTasksOnTrack())
+                        .tasksDelayed(closed.getTasksDelayed())
+                        .build())
+                .dueDate(closed.getDueDate())
+                .projectStatus(closed.getScheduleStatus())
+                .lifecycleStatus(ProjectStatus.CLOSED.name())
                 .build();
     }
 
-    @Transactional(readOnly = true)
+    @AnalyticsTransaction
     public List<String> getAllTaskCategories() {
         return taskRepository.findDistinctTaskCategories();
     }
 
-    @Transactional(readOnly = true)
+    @AnalyticsTransaction
     public ProjectDetailDTO getProjectDetail(Long projectId) {
+        return getProjectDetail(projectId, FieldSelection.ALL, CursorPage.Request.ALL);
+    }
+
+    // page applies to taskList, in task id order
+    @AnalyticsTransaction
+    public ProjectDetailDTO getProjectDetail(Long projectId, FieldSelection fields, CursorPage.Request page) {
         Project project = projectRepository.findById(projectId)
             .orElseThrow(() -> AppException.notFound(ErrorMessage.PROJECT_NOT_FOUND));
     
         List<Task> projectTasks = taskRepository.findByProject(project);
+        // The one progress load every section below reads from, indexed by task id and by talent id
         List<DailyProgress> allProgress = dailyProgressRepository.findByTaskIn(projectTasks);
+        ProgressIndex progressIndex = new ProgressIndex(allProgress);
     
         // Get earliest date from all progress records
         LocalDate createdDate = allProgress.stream()
@@ -301,12 +248,7 @@ public class ProjectProgressService {
             .orElse(LocalDate.now());
     
         // Calculate schedule status counts
-        Map<Task, DailyProgress> latestProgressByTask = new HashMap<>();
-        for (Task task : projectTasks) {
-            dailyProgressRepository.findByTask(task).stream()
-                .max(Comparator.comparing(DailyProgress::getDate))
-                .ifPresent(dp -> latestProgressByTask.put(task, dp));
-        }
+        Map<Long, DailyProgress> latestProgressByTask = progressIndex.latestByTask();
     
         int tasksAhead = 0;
         int tasksOnTrack = 0;
@@ -345,87 +287,12 @@ public class ProjectProgressService {
         }
     
         // Calculate team members statistics
-        Set<Talent> talents = projectTasks.stream()
-            .flatMap(task -> dailyProgressRepository.findByTask(task).stream())
-            .map(DailyProgress::getTalent)
-            .collect(Collectors.toSet());
-    
-        List<ProjectDetailDTO.TeamMember> teamMembers = talents.stream()
-            .map(talent -> {
-                // Create final references inside the lambda
-                final Map<Task, DailyProgress> talentProgress = new HashMap<>();
-                final AtomicReference<LocalDate> joiningDate = new AtomicReference<>();
-                final AtomicInteger totalEffortSpent = new AtomicInteger(0);
-                
-                // Ubah logika perhitungan totalEffortSpent
-                // Ambil semua progress record untuk talent ini
-                List<DailyProgress> allTalentProgress = new ArrayList<>();
-                for (Task task : projectTasks) {
-                    List<DailyProgress> progressList = dailyProgressRepository.findByTalentAndTask(talent, task);
-                    allTalentProgress.addAll(progressList);
-                    
-                    // Tetap ambil progress terbaru untuk keperluan lain
-                    progressList.stream()
-                        .max(Comparator.comparing(DailyProgress::getDate))
-                        .ifPresent(latestDp -> {
-                            talentProgress.put(task, latestDp);
-                            // Update joining date if earlier
-                            if (joiningDate.get() == null || latestDp.getDate().isBefore(joiningDate.get())) {
-                                joiningDate.set(latestDp.getDate());
-                            }
-                        });
-                }
-                
-                // Hitung total effort spent dari semua progress record
-                totalEffortSpent.set(allTalentProgress.stream()
-                    .filter(progressItem -> progressItem.getTotalEffortSpent() != null)
-                    .mapToInt(DailyProgress::getTotalEffortSpent)
-                    .sum());
-                
-                int ahead = 0;
-                int onTrack = 0;
-                int delayed = 0;
-                int completed = 0;
-    
-                for (DailyProgress progress : talentProgress.values()) {
-                    String status = progress.getScheduleStatus();
-                    if ("AHEAD".equalsIgnoreCase(status)) {
-                        ahead++;
-                    } else if ("DELAYED".equalsIgnoreCase(status)) {
-                        delayed++;
-                    } else {
-                        onTrack++;
-                    }
-    
-                    if (progress.getProgress() != null && progress.getProgress() >= 100) {
-                        completed++;
-                    }
-                }
+        Map<Long, List<DailyProgress>> progressByTalent = progressIndex.byTalent();
     
-                // Determine timeline
-                String timeline;
-                if (ahead > onTrack && ahead > delayed) {
-                    timeline = "ahead";
-                } else if (delayed > ahead && delayed > onTrack) {
-                    timeline = "delayed"; 
-                } else {
-                    timeline = "on_track";
-                }
-    
-                return ProjectDetailDTO.TeamMember.builder()
-                    .name(talent.getName())
-                    .talentId(talent.getId())  // Add talentId
-                    .joiningDate(joiningDate.get())
-                    .assignedTasks(talentProgress.size())
-                    .completedTasks(completed)
-                    .aheadTasks(ahead)
-                    .onTrackTasks(onTrack)
-                    .delayedTasks(delayed)
-                    .totalEffortSpent(totalEffortSpent.get())
-                    .timeline(timeline)
-                    .build();
-            })
-            .collect(Collectors.toList());
+        int teamSize = progressByTalent.size();
+        List<ProjectDetailDTO.TeamMember> teamMembers = fields.includes("teamMembers")
+            ? progressByTalent.values().stream().map(ProjectProgressService::toTeamMember).collect(Collectors.toList())
+            : null;
     
         // Calculate effort tracking
         // Calculate effort tracking
@@ -438,32 +305,14 @@ public class ProjectProgressService {
             .sum();
     
         // Build task list
-        List<ProjectDetailDTO.TaskDetail> taskList = latestProgressByTask.entrySet().stream()
-            .map(entry -> {
-                Task task = entry.getKey();
-                DailyProgress progress = entry.getValue();
-                
-                String status;
-                if (progress.getProgress() == null || progress.getProgress() == 0) {
-                    status = "notstarted";
-                } else if (progress.getProgress() >= 100) {
-                    status = "completed";
-                } else {
-                    status = "inprogress";
-                }
-                Double formattedProgress = progress.getProgress() != null ? 
-                    Math.round(progress.getProgress() * 100.0) / 100.0 : 0.0;
-                
-                return ProjectDetailDTO.TaskDetail.builder()
-                    .taskName(task.getTaskName())
-                    .taskId(task.getId())  // Add taskId
-                    .category(task.getTaskCategory())
-                    .assignee(task.getPicName())
-                    .progress(formattedProgress)
-                    .status(status)
-                    .build();
-            })
-            .collect(Collectors.toList());
+        List<ProjectDetailDTO.TaskDetail> taskList = null;
+        String taskListNextCursor = null;
+        if (fields.includes("taskList")) {
+            CursorPage<ProjectDetailDTO.TaskDetail> taskPage = page.apply(toTaskList(projectTasks, latestProgressByTask),
+                task -> new long[] {task.getTaskId()});
+            taskList = taskPage.items();
+            taskListNextCursor = taskPage.nextCursor();
+        }
     
         // Calculate overall progress
         double progress = latestProgressByTask.values().stream()
@@ -480,30 +329,158 @@ public class ProjectProgressService {
             .createdDate(createdDate)
             .totalTasks(projectTasks.size())
             .progress(progress)
-            .scheduleStatus(ProjectDetailDTO.ScheduleStatus.builder()
+            .scheduleStatus(!fields.includes("scheduleStatus") ? null : ProjectDetailDTO.ScheduleStatus.builder()
                 .tasksAhead(tasksAhead)
                 .tasksOnTrack(tasksOnTrack)
                 .tasksDelayed(tasksDelayed)
                 .build())
-            .taskStatus(ProjectDetailDTO.TaskStatus.builder()
+            .taskStatus(!fields.includes("taskStatus") ? null : ProjectDetailDTO.TaskStatus.builder()
                 .completed(completedTasks)
                 .inProgress(inProgressTasks)
                 .notStarted(notStartedTasks)
                 .build())
-            .effortTracking(ProjectDetailDTO.EffortTracking.builder()
+            .effortTracking(!fields.includes("effortTracking") ? null : ProjectDetailDTO.EffortTracking.builder()
                 .totalEstimatedEffort(totalEstimatedEffort)
                 .totalSpentEffort(totalSpentEffort)
                 .remainingEffort(totalEstimatedEffort - totalSpentEffort)
                 .build())
-            .currentWorkload(ProjectDetailDTO.CurrentWorkload.builder()
-                .totalTeamMembers(talents.size())
-                .averageTasksPerMember(Math.round((projectTasks.size() / (double) talents.size()) * 100.0) / 100.0)
+            .currentWorkload(!fields.includes("currentWorkload") ? null : ProjectDetailDTO.CurrentWorkload.builder()
+                .totalTeamMembers(teamSize)
+                .averageTasksPerMember(Math.round((projectTasks.size() / (double) teamSize) * 100.0) / 100.0)
                 .build())
-            .teamMembers(ProjectDetailDTO.TeamMembers.builder()
-                .totalTeam(talents.size())
+            .teamMembers(!fields.includes("teamMembers") ? null : ProjectDetailDTO.TeamMembers.builder()
+                .totalTeam(teamSize)
                 .team(teamMembers)
                 .build())
             .taskList(taskList)
+            .taskListNextCursor(taskListNextCursor)
+            .build();
+    }
+
+    private static ProjectDetailDTO.TeamMember toTeamMember(List<DailyProgress> talentRows) {
+        Talent talent = talentRows.get(0).getTalent();
+        Map<Long, DailyProgress> talentProgress = ProgressIndex.latestPerTask(talentRows);
+
+        // Joining date is the earliest of the talent's latest progress dates
+        LocalDate joiningDate = talentProgress.values().stream()
+            .map(DailyProgress::getDate)
+            .min(LocalDate::compareTo)
+            .orElse(null);
+
+        // Hitung total effort spent dari semua progress record
+        int totalEffortSpent = talentRows.stream()
+            .filter(progressItem -> progressItem.getTotalEffortSpent() != null)
+            .mapToInt(DailyProgress::getTotalEffortSpent)
+            .sum();
+
+        int ahead = 0;
+        int onTrack = 0;
+        int delayed = 0;
+        int completed = 0;
+
+        for (DailyProgress progress : talentProgress.values()) {
+            String status = progress.getScheduleStatus();
+            if ("AHEAD".equalsIgnoreCase(status)) {
+                ahead++;
+            } else if ("DELAYED".equalsIgnoreCase(status)) {
+                delayed++;
+            } else {
+                onTrack++;
+            }
+
+            if (progress.getProgress() != null && progress.getProgress() >= 100) {
+                completed++;
+            }
+        }
+
+        // Determine timeline
+        String timeline;
+        if (ahead > onTrack && ahead > delayed) {
+            timeline = "ahead";
+        } else if (delayed > ahead && delayed > onTrack) {
+            timeline = "delayed";
+        } else {
+            timeline = "on_track";
+        }
+
+        return ProjectDetailDTO.TeamMember.builder()
+            .name(talent.getName())
+            .talentId(talent.getId())  // Add talentId
+            .joiningDate(joiningDate)
+            .assignedTasks(talentProgress.size())
+            .completedTasks(completed)
+            .aheadTasks(ahead)
+            .onTrackTasks(onTrack)
+            .delayedTasks(delayed)
+            .totalEffortSpent(totalEffortSpent)
+            .timeline(timeline)
             .build();
     }
-}
\ No newline at end of file
+
+    // Ordered by task id, the key taskList pages run on
+    private static List<ProjectDetailDTO.TaskDetail> toTaskList(List<Task> projectTasks,
+                                                                Map<Long, DailyProgress> latestProgressByTask) {
+        return projectTasks.stream()
+            .filter(task -> latestProgressByTask.containsKey(task.getId()))
+            .sorted(Comparator.comparing(Task::getId))
+            .map(task -> {
+                DailyProgress progress = latestProgressByTask.get(task.getId());
+                
+                String status;
+                if (progress.getProgress() == null || progress.getProgress() == 0) {
+                    status = "notstarted";
+                } else if (progress.getProgress() >= 100) {
+                    status = "completed";
+                } else {
+                    status = "inprogress";
+                }
+                Double formattedProgress = progress.getProgress() != null ? 
+                    Math.round(progress.getProgress() * 100.0) / 100.0 : 0.0;
+                
+                return ProjectDetailDTO.TaskDetail.builder()
+                    .taskName(task.getTaskName())
+                    .taskId(task.getId())  // Add taskId
+                    .category(task.getTaskCategory())
+                    .assignee(task.getPicName())
+                    .progress(formattedProgress)
+                    .status(status)
+                    .build();
+            })
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Progress rows of one project indexed by task id and by talent id, so the sections
+     * of the detail page are computed from a single load. The latest row of a task is
+     * the one with the latest date, ties going to the row stored last, as in
+     * task_latest_status.
+     */
+    private static final class ProgressIndex {
+        private static final Comparator<DailyProgress> BY_RECENCY = Comparator.comparing(DailyProgress::getDate)
+            .thenComparing(DailyProgress::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        private final List<DailyProgress> rows;
+
+        ProgressIndex(List<DailyProgress> rows) {
+            this.rows = rows;
+        }
+
+        Map<Long, DailyProgress> latestByTask() {
+            return latestPerTask(rows);
+        }
+
+        // Ordered by talent id
+        Map<Long, List<DailyProgress>> byTalent() {
+            return rows.stream()
+                .collect(Collectors.groupingBy(dp -> dp.getTalent().getId(), TreeMap::new, Collectors.toList()));
+        }
+
+        static Map<Long, DailyProgress> latestPerTask(List<DailyProgress> rows) {
+            Map<Long, DailyProgress> latest = new HashMap<>();
+            for (DailyProgress dp : rows) {
+                latest.merge(dp.getTask().getId(), dp, BinaryOperator.maxBy(BY_RECENCY));
+            }
+            return latest;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.config.Workload;
+import com.sttp.skripsi.config.WorkloadPool;
+import com.sttp.skripsi.dto.ProjectSummaryDTO;
+import com.sttp.skripsi.event.ProjectDataChangedEvent;
+import com.sttp.skripsi.event.SheetIngestionCompletedEvent;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.ProjectStatus;
+import com.sttp.skripsi.repository.ProjectRepository;
+import com.sttp.skripsi.repository.ProjectSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Summary rows of all projects, grouped by schedule status, kept in memory so the
+ * portfolio and status filter endpoints do not rescan every project per request.
+ * The index is built on first use and afterwards refreshed one project at a time:
+ * after a sheet job for that project and after it was closed, reopened or purged.
+ * A change without a project (a sheet job that does not say, a full reset) drops
+ * the index and the next read builds it again.
+ * <p>
+ * Writes this instance hears nothing about (another instance, the sheet processor
+ * writing daily_progress directly) are only picked up by a rebuild, so an index older
+ * than app.project-status-index.max-age is rebuilt on the next read. That is how long
+ * such a write can stay invisible; refreshing single projects does not reset the age.
+ */
+@Service
+@WorkloadPool(Workload.ANALYTICS)
+public class ProjectStatusIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectStatusIndex.class);
+
+    private final ProjectRepository projectRepository;
+    private final ProjectSummaryRepository projectSummaryRepository;
+    private final ProjectProgressService projectProgressService;
+    private final TransactionTemplate buildTransaction;
+    private final TransactionTemplate refreshTransaction;
+    private final Duration maxAge;
+
+    private volatile Snapshot snapshot;
+
+    public ProjectStatusIndex(ProjectRepository projectRepository,
+                              ProjectSummaryRepository projectSummaryRepository,
+                              ProjectProgressService projectProgressService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.project-status-index.max-age:5m}") Duration maxAge) {
+        this.projectRepository = projectRepository;
+        this.projectSummaryRepository = projectSummaryRepository;
+        this.projectProgressService = projectProgressService;
+        this.buildTransaction = new TransactionTemplate(transactionManager);
+        this.buildTransaction.setReadOnly(true);
+        // Read-write so it runs on the primary: a replica may not have the change yet.
+        // Runs after the writer committed, so in a transaction of its own
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAge = maxAge;
+    }
+
+    public ProjectSummaryDTO getAllProjectsSummary() {
+        return getAllProjectsSummary(false);
+    }
+
+    // Closed projects are only listed for historical views, from their frozen summaries
+    public ProjectSummaryDTO getAllProjectsSummary(boolean includeClosed) {
+        Snapshot current = snapshot();
+        List<ProjectSummaryDTO.ProjectDetail> projectDetails = new ArrayList<>(current.active().values());
+        int totalProjects = current.activeIds().size();
+        if (includeClosed) {
+            projectDetails.addAll(current.closed());
+            totalProjects += current.closed().size();
+        }
+
+        return ProjectSummaryDTO.builder()
+                .totalProjects(totalProjects)
+                .onScheduleProjects(countByStatus(projectDetails, "ON_TRACK"))
+                .aheadScheduleProjects(countByStatus(projectDetails, "AHEAD"))
+                .delayedProjects(countByStatus(projectDetails, "DELAYED"))
+                .projectDetails(projectDetails)
+                .build();
+    }
+
+    public ProjectSummaryDTO getDelayedProjects() {
+        List<ProjectSummaryDTO.ProjectDetail> delayedProjects = snapshot().withStatus("DELAYED");
+        return ProjectSummaryDTO.builder()
+                .totalProjects(delayedProjects.size())
+                .delayedProjects(delayedProjects.size())
+                .projectDetails(delayedProjects)
+                .build();
+    }
+
+    public ProjectSummaryDTO getOnScheduleProjects() {
+        List<ProjectSummaryDTO.ProjectDetail> onScheduleProjects = snapshot().withStatus("ON_TRACK");
+        return ProjectSummaryDTO.builder()
+                .totalProjects(onScheduleProjects.size())
+                .onScheduleProjects(onScheduleProjects.size())
+                .projectDetails(onScheduleProjects)
+                .build();
+    }
+
+    public ProjectSummaryDTO getAheadProjects() {
+        List<ProjectSummaryDTO.ProjectDetail> aheadProjects = snapshot().withStatus("AHEAD");
+        return ProjectSummaryDTO.builder()
+                .totalProjects(aheadProjects.size())
+                .aheadScheduleProjects(aheadProjects.size())
+                .projectDetails(aheadProjects)
+                .build();
+    }
+
+    @EventListener
+    public void onSheetIngestionCompleted(SheetIngestionCompletedEvent event) {
+        refresh(event.projectId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectDataChanged(ProjectDataChangedEvent event) {
+        refresh(event.projectId());
+    }
+
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    private synchronized void refresh(Long projectId) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        if (projectId == null) {
+            invalidate();
+            logger.info("Dropped project status index");
+            return;
+        }
+
+        snapshot = refreshTransaction.execute(status -> {
+            Project project = projectRepository.findById(projectId).orElse(null);
+            Set<Long> activeIds = new TreeSet<>(current.activeIds());
+            Map<Long, ProjectSummaryDTO.ProjectDetail> active = new TreeMap<>(current.active());
+            activeIds.remove(projectId);
+            active.remove(projectId);
+            if (project != null && project.getStatus() == ProjectStatus.ACTIVE) {
+                activeIds.add(projectId);
+                ProjectSummaryDTO.ProjectDetail detail = projectProgressService.summarizeProject(project);
+                if (detail != null) {
+                    active.put(projectId, detail);
+                }
+            }
+            // Closing and reopening move a project between the lists; one query re-reads the short closed one
+            boolean wasClosed = current.closed().stream().anyMatch(detail -> projectId.equals(detail.getId()));
+            boolean isClosed = project != null && project.getStatus() == ProjectStatus.CLOSED;
+            List<ProjectSummaryDTO.ProjectDetail> closed = wasClosed || isClosed ? loadClosed() : current.closed();
+            return new Snapshot(activeIds, active, closed, current.builtAt());
+        });
+        logger.debug("Refreshed project {} in status index", projectId);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (this) {
+            if (!isFresh(snapshot)) {
+                long started = System.currentTimeMillis();
+                snapshot = buildTransaction.execute(status -> build());
+                logger.info("Built project status index for {} projects in {} ms",
+                        snapshot.activeIds().size(), System.currentTimeMillis() - started);
+            }
+            return snapshot;
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && current.builtAt().plus(maxAge).isAfter(Instant.now());
+    }
+
+    private Snapshot build() {
+        Set<Long> activeIds = projectRepository.findByStatus(ProjectStatus.ACTIVE).stream()
+                .map(Project::getId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, ProjectSummaryDTO.ProjectDetail> active = new TreeMap<>();
+        for (ProjectSummaryDTO.ProjectDetail detail : projectProgressService.summarizeActiveProjects()) {
+            active.put(detail.getId(), detail);
+        }
+        return new Snapshot(activeIds, active, loadClosed(), Instant.now());
+    }
+
+    private List<ProjectSummaryDTO.ProjectDetail> loadClosed() {
+        return projectSummaryRepository.findAllByOrderByClosedAtDesc().stream()
+                .map(projectProgressService::toProjectDetail)
+                .toList();
+    }
+
+    private static int countByStatus(List<ProjectSummaryDTO.ProjectDetail> projectDetails, String projectStatus) {
+        return (int) projectDetails.stream()
+                .filter(detail -> projectStatus.equals(detail.getProjectStatus()))
+                .count();
+    }
+
+    /**
+     * Immutable state of the index; a refresh replaces it as a whole so readers never
+     * see a half-updated one. Active projects without tasks count towards the total but
+     * have no summary row, as before. builtAt is the time of the last full build.
+     */
+    private record Snapshot(Set<Long> activeIds,
+                            Map<Long, ProjectSummaryDTO.ProjectDetail> active,
+                            List<ProjectSummaryDTO.ProjectDetail> closed,
+                            Map<String, List<ProjectSummaryDTO.ProjectDetail>> byStatus,
+                            Instant builtAt) {
+
+        Snapshot(Set<Long> activeIds, Map<Long, ProjectSummaryDTO.ProjectDetail> active,
+                 List<ProjectSummaryDTO.ProjectDetail> closed, Instant builtAt) {
+            this(Collections.unmodifiableSet(activeIds), Collections.unmodifiableMap(active), closed,
+                    active.values().stream()
+                            .filter(detail -> detail.getProjectStatus() != null)
+                            .collect(Collectors.groupingBy(ProjectSummaryDTO.ProjectDetail::getProjectStatus)),
+                    builtAt);
+        }
+
+        List<ProjectSummaryDTO.ProjectDetail> withStatus(String projectStatus) {
+            return new ArrayList<>(byStatus.getOrDefault(projectStatus, Collections.emptyList()));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.config.AnalyticsTransaction;
+import com.sttp.skripsi.constant.ErrorMessage;
+import com.sttp.skripsi.dto.ProjectTimeSeriesDTO;
+import com.sttp.skripsi.exception.AppException;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.repository.ProjectRepository;
+import com.sttp.skripsi.repository.TalentProjectDayRepository;
+import com.sttp.skripsi.repository.projection.ProjectDayTotals;
+import com.sttp.skripsi.service.aggregation.Lttb;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Day-by-day curves of compared projects, read from the talent_project_day rollup in one
+ * grouped query instead of from the raw progress history, and downsampled on the server
+ * so a long-running project is charted with a bounded number of points. Closed projects
+ * have no rollup rows (archiving removes them), so their series are empty.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectTimeSeriesService {
+    private static final int MIN_POINTS = 3;
+
+    private final ProjectRepository projectRepository;
+    private final TalentProjectDayRepository talentProjectDayRepository;
+
+    // Each curve is downsampled on its own, so their dates may differ after downsampling
+    @AnalyticsTransaction
+    public ProjectTimeSeriesDTO getProjectTimeSeries(List<Long> projectIds, int points) {
+        if (points < MIN_POINTS) {
+            throw AppException.badRequest(ErrorMessage.INVALID_POINT_COUNT);
+        }
+        List<Project> projects = projectRepository.findAllById(projectIds).stream()
+            .sorted(Comparator.comparing(Project::getId))
+            .toList();
+        if (projects.isEmpty()) {
+            throw AppException.notFound(ErrorMessage.RESOURCE_NOT_FOUND);
+        }
+
+        // Ordered by project and date
+        Map<Long, List<ProjectDayTotals>> daysByProject = talentProjectDayRepository
+            .findProjectDayTotalsByProjectIdIn(projects.stream().map(Project::getId).toList()).stream()
+            .collect(Collectors.groupingBy(ProjectDayTotals::projectId));
+
+        List<ProjectTimeSeriesDTO.ProjectSeries> series = projects.stream()
+            .map(project -> toProjectSeries(project,
+                daysByProject.getOrDefault(project.getId(), Collections.emptyList()), points))
+            .toList();
+        return ProjectTimeSeriesDTO.builder()
+            .projects(series)
+            .build();
+    }
+
+    private static ProjectTimeSeriesDTO.ProjectSeries toProjectSeries(Project project, List<ProjectDayTotals> days,
+                                                                      int points) {
+        List<ProjectTimeSeriesDTO.Point> averageProgress = new ArrayList<>();
+        List<ProjectTimeSeriesDTO.Point> cumulativeEffort = new ArrayList<>(days.size());
+        List<ProjectTimeSeriesDTO.Point> delayedTasks = new ArrayList<>(days.size());
+        long effort = 0;
+        for (ProjectDayTotals day : days) {
+            // Days on which no row had a progress value have no average
+            if (day.progressCount() != null && day.progressCount() > 0) {
+                double average = (double) day.progressSum() / day.progressCount();
+                averageProgress.add(point(day, Math.round(average * 100.0) / 100.0));
+            }
+            effort += day.additionalEffort() == null ? 0 : day.additionalEffort();
+            cumulativeEffort.add(point(day, effort));
+            delayedTasks.add(point(day, day.delayedCount() == null ? 0 : day.delayedCount()));
+        }
+
+        return ProjectTimeSeriesDTO.ProjectSeries.builder()
+            .projectId(project.getId())
+            .projectName(project.getName())
+            .totalDays(days.size())
+            .averageProgress(downsample(averageProgress, points))
+            .cumulativeEffort(downsample(cumulativeEffort, points))
+            .delayedTasks(downsample(delayedTasks, points))
+            .build();
+    }
+
+    private static List<ProjectTimeSeriesDTO.Point> downsample(List<ProjectTimeSeriesDTO.Point> series, int points) {
+        if (series.size() <= points) {
+            return series;
+        }
+        double[] x = new double[series.size()];
+        double[] y = new double[series.size()];
+        for (int i = 0; i < series.size(); i++) {
+            x[i] = series.get(i).getDate().toEpochDay();
+            y[i] = series.get(i).getValue();
+        }
+        List<ProjectTimeSeriesDTO.Point> sampled = new ArrayList<>(points);
+        for (int index : Lttb.select(x, y, points)) {
+            sampled.add(series.get(index));
+        }
+        return sampled;
+    }
+
+    private static ProjectTimeSeriesDTO.Point point(ProjectDayTotals day, double value) {
+        return ProjectTimeSeriesDTO.Point.builder()
+            .date(day.date())
+            .value(value)
+            .build();
+    }
+}
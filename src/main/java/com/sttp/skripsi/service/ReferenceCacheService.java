@@ -0,0 +1,44 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.constant.CacheRegions;
+import com.sttp.skripsi.event.SheetIngestionCompletedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evicts the second-level cache regions holding projects, tasks and talents.
+ * The sheet processor writes these tables without going through Hibernate, so
+ * the regions are dropped as a whole once one of its jobs completes.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceCacheService.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Ahead of listeners that re-read the evicted entities, such as ProjectStatusIndex
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSheetIngestionCompleted(SheetIngestionCompletedEvent event) {
+        evictAll();
+        logger.info("Evicted reference caches after sheet job {} (project {})", event.processId(), event.projectId());
+    }
+
+    public void evictAll() {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictRegion(CacheRegions.PROJECTS);
+        cache.evictRegion(CacheRegions.TASKS);
+        cache.evictRegion(CacheRegions.TALENTS);
+        // Query regions are created lazily; evictQueryRegion copes with one that does not exist yet
+        cache.evictQueryRegion(CacheRegions.REFERENCE_QUERIES);
+    }
+}
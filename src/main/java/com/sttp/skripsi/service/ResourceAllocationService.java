@@ -1,36 +1,36 @@
 package com.sttp.skripsi.service;
 
+import com.sttp.skripsi.config.AnalyticsTransaction;
 import com.sttp.skripsi.constant.ErrorMessage;
 import com.sttp.skripsi.dto.ResourceAllocationDTO;
 import com.sttp.skripsi.exception.AppException;
 import com.sttp.skripsi.model.*;
 import com.sttp.skripsi.repository.*;
+import com.sttp.skripsi.repository.projection.CategoryCount;
+import com.sttp.skripsi.repository.projection.TalentProjectWorkload;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 
 @Service
 @RequiredArgsConstructor
 public class ResourceAllocationService {
     private final ProjectRepository projectRepository;
-    private final TaskRepository taskRepository;
     private final DailyProgressRepository dailyProgressRepository;
     private final TalentRepository talentRepository;
+    private final TalentProjectDayRepository talentProjectDayRepository;
 
     private static final int MAX_DAILY_EFFORT = 8; // Standard workday hours
-    private static final int MAX_WEEKLY_EFFORT = 40; // Standard workweek hours
+    static final int MAX_WEEKLY_EFFORT = 40; // Standard workweek hours
     private static final int MAX_TASKS_PER_DAY = 3; // Maximum recommended tasks per day
     private static final int WARNING_THRESHOLD = 75; // Warning threshold percentage
     private static final int CRITICAL_THRESHOLD = 90; // Critical threshold percentage
 
-    @Transactional(readOnly = true)
+    @AnalyticsTransaction
     public List<Map<String, Object>> getAvailableProjects() {
-        return projectRepository.findAll().stream()
+        return projectRepository.findByStatus(ProjectStatus.ACTIVE).stream()
             .map(project -> {
                 Map<String, Object> projectInfo = new HashMap<>();
                 projectInfo.put("id", project.getId());
@@ -40,190 +40,61 @@ public class ResourceAllocationService {
             .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
+    @AnalyticsTransaction
     public ResourceAllocationDTO getResourceAllocation(Long projectId) {
-        List<Talent> talents = talentRepository.findAll();
         List<Project> projects = projectId != null ? 
             Collections.singletonList(projectRepository.findById(projectId)
                 .orElseThrow(() -> AppException.notFound(ErrorMessage.PROJECT_NOT_FOUND))) :
-            projectRepository.findAll();
-        
-        Map<String, Integer> projectWorkload = new HashMap<>();
-        Map<String, Integer> categoryWorkload = new HashMap<>();
-        List<ResourceAllocationDTO.TalentAllocation> talentAllocations = new ArrayList<>();
-        List<ResourceAllocationDTO.WorkloadAlert> workloadAlerts = new ArrayList<>();
+            projectRepository.findByStatus(ProjectStatus.ACTIVE);
+        Map<Long, Project> projectsById = projects.stream()
+            .collect(Collectors.toMap(Project::getId, project -> project));
+
+        // Workload comes from the talent_project_day rollup: one aggregated row per (talent, project),
+        // limited to the project by the query when one is given
+        List<TalentProjectWorkload> workloads = projectId != null ?
+            talentProjectDayRepository.findTalentProjectWorkloadsByProjectId(projectId) :
+            talentProjectDayRepository.findTalentProjectWorkloads();
 
-        // Calculate workload for each project
+        Map<String, Integer> projectWorkload = new HashMap<>();
         for (Project project : projects) {
-            List<Task> tasks = taskRepository.findByProject(project);
-            int totalEffort = tasks.stream()
-                .flatMap(task -> dailyProgressRepository.findByTask(task).stream())
-                .mapToInt(DailyProgress::getTotalEffortSpent)
-                .sum();
-            projectWorkload.put(project.getId().toString(), totalEffort);
+            projectWorkload.put(project.getId().toString(), 0);
         }
 
-        // Calculate workload for each talent
-        for (Talent talent : talents) {
-            List<DailyProgress> allProgress = dailyProgressRepository.findByTalent(talent);
-            
-            // Filter progress by project if projectId is specified
-            if (projectId != null) {
-                allProgress = allProgress.stream()
-                    .filter(dp -> dp.getTask().getProject().getId().equals(projectId))
-                    .collect(Collectors.toList());
-                
-                // Skip talents with no progress for the specified project
-                if (allProgress.isEmpty()) {
-                    continue;
-                }
-            }
-
-            Map<Project, List<DailyProgress>> progressByProject = allProgress.stream()
-                .collect(Collectors.groupingBy(dp -> dp.getTask().getProject()));
-
-            // Create a single allocation for the talent with all their projects
-            List<ResourceAllocationDTO.ProjectWorkload> projectWorkloads = new ArrayList<>();
-            int totalTasks = 0;
-            int totalEffortSpent = 0;
-            int totalProjects = progressByProject.size();
-
-            // Process each project for this talent
-            for (Map.Entry<Project, List<DailyProgress>> projectEntry : progressByProject.entrySet()) {
-                Project project = projectEntry.getKey();
-                List<DailyProgress> projectProgress = projectEntry.getValue();
-                
-                int projectEffort = projectProgress.stream()
-                    .mapToInt(DailyProgress::getTotalEffortSpent)
-                    .sum();
-                
-                double projectProgressPercentage = projectProgress.stream()
-                    .mapToInt(DailyProgress::getProgress)
-                    .average()
-                    .orElse(0.0);
-                
-                int delayedTasks = (int) projectProgress.stream()
-                    .filter(dp -> "DELAYED".equals(dp.getScheduleStatus()))
-                    .count();
-
-                // Calculate project-specific workload
-                Map<LocalDate, List<DailyProgress>> progressByDate = projectProgress.stream()
-                    .collect(Collectors.groupingBy(DailyProgress::getDate));
-
-                // Calculate average daily effort for this project
-                double avgDailyEffort = progressByDate.entrySet().stream()
-                    .mapToDouble(dateEntry -> dateEntry.getValue().stream()
-                        .mapToInt(DailyProgress::getAdditionalEffort)
-                        .sum())
-                    .average()
-                    .orElse(0.0);
-
-                // Calculate average tasks per day for this project
-                double avgTasksPerDay = progressByDate.entrySet().stream()
-                    .mapToDouble(dateEntry -> dateEntry.getValue().size())
-                    .average()
-                    .orElse(0.0);
-
-                // Calculate workload percentages
-                double dailyEffortPercentage = Math.min(
-                    (avgDailyEffort * 100.0) / MAX_DAILY_EFFORT,
-                    100.0
-                );
-
-                double taskLoadPercentage = Math.min(
-                    (avgTasksPerDay * 100.0) / MAX_TASKS_PER_DAY,
-                    100.0
-                );
-
-                // Combined workload (60% effort, 40% task load)
-                int workloadPercentage = (int) (
-                    (dailyEffortPercentage * 0.6) + 
-                    (taskLoadPercentage * 0.4)
-                );
-
-                // Calculate project duration in days
-                long projectDuration = progressByDate.keySet().stream()
-                    .min(LocalDate::compareTo)
-                    .map(startDate -> 
-                        ChronoUnit.DAYS.between(
-                            startDate,
-                            progressByDate.keySet().stream()
-                                .max(LocalDate::compareTo)
-                                .orElse(startDate)
-                        ) + 1
-                    )
-                    .orElse(1L);
-
-                // Generate alerts if workload is high
-                if (workloadPercentage >= CRITICAL_THRESHOLD) {
-                    workloadAlerts.add(ResourceAllocationDTO.WorkloadAlert.builder()
-                        .talentName(talent.getName())
-                        .alertType("CRITICAL")
-                        .message(String.format(
-                            "High workload in %s: %.1f hours daily effort with %.1f tasks per day over %d days", 
-                            project.getName(),
-                            avgDailyEffort,
-                            avgTasksPerDay,
-                            projectDuration
-                        ))
-                        .currentWorkload(workloadPercentage)
-                        .recommendedWorkload(WARNING_THRESHOLD)
-                        .build());
-                } else if (workloadPercentage >= WARNING_THRESHOLD) {
-                    workloadAlerts.add(ResourceAllocationDTO.WorkloadAlert.builder()
-                        .talentName(talent.getName())
-                        .alertType("WARNING")
-                        .message(String.format(
-                            "Approaching high workload in %s: %.1f hours daily effort with %.1f tasks per day over %d days",
-                            project.getName(),
-                            avgDailyEffort,
-                            avgTasksPerDay,
-                            projectDuration
-                        ))
-                        .currentWorkload(workloadPercentage)
-                        .recommendedWorkload(WARNING_THRESHOLD)
-                        .build());
-                }
-
-                // Add project workload to the list
-                projectWorkloads.add(ResourceAllocationDTO.ProjectWorkload.builder()
-                    .projectId(project.getId())
-                    .projectName(project.getName())
-                    .assignedTasks(projectProgress.size())
-                    .totalEffortSpent(projectEffort)
-                    .progress(projectProgressPercentage)
-                    .delayedTasks(delayedTasks)
-                    .avgDailyEffort(avgDailyEffort)
-                    .avgTasksPerDay(avgTasksPerDay)
-                    .projectDuration(projectDuration)
-                    .build());
-
-                totalTasks += projectProgress.size();
-                totalEffortSpent += projectEffort;
+        // One pass over the rollup rows fills the project totals and each talent's accumulator
+        Map<Long, TalentAccumulator> accumulatorsByTalent = new HashMap<>();
+        for (TalentProjectWorkload workload : workloads) {
+            // The rollup only holds live progress, and closing a project archives it, so every row
+            // belongs to a listed project unless the project was closed between the two queries
+            Project project = projectsById.get(workload.projectId());
+            if (project != null) {
+                projectWorkload.merge(project.getId().toString(), workload.totalEffortSpent().intValue(), Integer::sum);
+                TalentAccumulator accumulator = accumulatorsByTalent.computeIfAbsent(workload.talentId(),
+                    talentId -> new TalentAccumulator());
+                accumulator.totalProjects++;
+                accumulator.add(project, workload);
             }
+        }
 
-            // Calculate total available capacity across all projects
-            double totalAvgDailyEffort = projectWorkloads.stream()
-                .mapToDouble(ResourceAllocationDTO.ProjectWorkload::getAvgDailyEffort)
-                .sum();
-            int weeklyProjectEffort = (int)(totalAvgDailyEffort * 5); // 5 working days
-            int availableCapacity = MAX_WEEKLY_EFFORT - weeklyProjectEffort;
+        // For one project only the talents with progress on it are loaded and listed
+        List<Talent> talents = projectId != null ?
+            talentRepository.findAllById(accumulatorsByTalent.keySet()) :
+            talentRepository.findAll();
 
-            // Create a single talent allocation with all projects
-            talentAllocations.add(ResourceAllocationDTO.TalentAllocation.builder()
-                .talentId(talent.getId())
-                .talentName(talent.getName())
-                .totalProjects(totalProjects)
-                .totalTasks(totalTasks)
-                .totalEffortSpent(totalEffortSpent)
-                .availableCapacity(availableCapacity)
-                .projectWorkloads(projectWorkloads)
-                .build());
+        List<ResourceAllocationDTO.TalentAllocation> talentAllocations = new ArrayList<>(talents.size());
+        List<ResourceAllocationDTO.WorkloadAlert> workloadAlerts = new ArrayList<>();
+        for (Talent talent : talents) {
+            TalentAccumulator accumulator = accumulatorsByTalent.getOrDefault(talent.getId(), new TalentAccumulator());
+            talentAllocations.add(accumulator.toAllocation(talent));
+            accumulator.addAlerts(talent, workloadAlerts);
+        }
 
-            // Update category workload
-            allProgress.stream()
-                .map(dp -> dp.getTask().getTaskCategory())
-                .forEach(category -> categoryWorkload.merge(category, 1, Integer::sum));
+        // Progress rows per task category, counted by the database
+        Map<String, Integer> categoryWorkload = new HashMap<>();
+        List<CategoryCount> categoryCounts = projectId != null ?
+            dailyProgressRepository.countByTaskCategoryForProject(projectId) :
+            dailyProgressRepository.countByTaskCategory();
+        for (CategoryCount categoryCount : categoryCounts) {
+            categoryWorkload.put(categoryCount.category(), categoryCount.count().intValue());
         }
 
         // Sort talent allocations by talent name
@@ -236,4 +107,91 @@ public class ResourceAllocationService {
             .workloadAlerts(workloadAlerts)
             .build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Allocation of one talent, built up from their rollup rows as they are read. Alerts
+     * are kept with their workload until the talent's name is known.
+     */
+    private static final class TalentAccumulator {
+        private final List<ResourceAllocationDTO.ProjectWorkload> projectWorkloads = new ArrayList<>();
+        private final List<Integer> workloadPercentages = new ArrayList<>();
+        private int totalProjects;
+        private int totalTasks;
+        private int totalEffortSpent;
+        private double totalAvgDailyEffort;
+
+        void add(Project project, TalentProjectWorkload workload) {
+            int assignedTasks = workload.progressCount().intValue();
+            int projectEffort = workload.totalEffortSpent().intValue();
+            double avgDailyEffort = workload.avgDailyEffort();
+
+            projectWorkloads.add(ResourceAllocationDTO.ProjectWorkload.builder()
+                .projectId(project.getId())
+                .projectName(project.getName())
+                .assignedTasks(assignedTasks)
+                .totalEffortSpent(projectEffort)
+                .progress(workload.avgProgress())
+                .delayedTasks(workload.delayedCount().intValue())
+                .avgDailyEffort(avgDailyEffort)
+                .avgTasksPerDay(workload.avgTasksPerDay())
+                .projectDuration(workload.durationDays())
+                .build());
+            workloadPercentages.add(workloadPercentage(avgDailyEffort, workload.avgTasksPerDay()));
+
+            totalTasks += assignedTasks;
+            totalEffortSpent += projectEffort;
+            totalAvgDailyEffort += avgDailyEffort;
+        }
+
+        ResourceAllocationDTO.TalentAllocation toAllocation(Talent talent) {
+            int weeklyProjectEffort = (int) (totalAvgDailyEffort * 5); // 5 working days
+            return ResourceAllocationDTO.TalentAllocation.builder()
+                .talentId(talent.getId())
+                .talentName(talent.getName())
+                .totalProjects(totalProjects)
+                .totalTasks(totalTasks)
+                .totalEffortSpent(totalEffortSpent)
+                .availableCapacity(MAX_WEEKLY_EFFORT - weeklyProjectEffort)
+                .projectWorkloads(projectWorkloads)
+                .build();
+        }
+
+        void addAlerts(Talent talent, List<ResourceAllocationDTO.WorkloadAlert> workloadAlerts) {
+            for (int i = 0; i < projectWorkloads.size(); i++) {
+                ResourceAllocationDTO.ProjectWorkload workload = projectWorkloads.get(i);
+                int workloadPercentage = workloadPercentages.get(i);
+                if (workloadPercentage >= CRITICAL_THRESHOLD) {
+                    workloadAlerts.add(alert(talent, "CRITICAL", "High workload", workload, workloadPercentage));
+                } else if (workloadPercentage >= WARNING_THRESHOLD) {
+                    workloadAlerts.add(alert(talent, "WARNING", "Approaching high workload", workload, workloadPercentage));
+                }
+            }
+        }
+
+        private static ResourceAllocationDTO.WorkloadAlert alert(Talent talent, String alertType, String label,
+                                                                 ResourceAllocationDTO.ProjectWorkload workload,
+                                                                 int workloadPercentage) {
+            return ResourceAllocationDTO.WorkloadAlert.builder()
+                .talentName(talent.getName())
+                .alertType(alertType)
+                .message(String.format(
+                    "%s in %s: %.1f hours daily effort with %.1f tasks per day over %d days",
+                    label,
+                    workload.getProjectName(),
+                    workload.getAvgDailyEffort(),
+                    workload.getAvgTasksPerDay(),
+                    workload.getProjectDuration()
+                ))
+                .currentWorkload(workloadPercentage)
+                .recommendedWorkload(WARNING_THRESHOLD)
+                .build();
+        }
+
+        // Combined workload: 60% daily effort, 40% task load, each capped at 100%
+        private static int workloadPercentage(double avgDailyEffort, double avgTasksPerDay) {
+            double dailyEffortPercentage = Math.min((avgDailyEffort * 100.0) / MAX_DAILY_EFFORT, 100.0);
+            double taskLoadPercentage = Math.min((avgTasksPerDay * 100.0) / MAX_TASKS_PER_DAY, 100.0);
+            return (int) ((dailyEffortPercentage * 0.6) + (taskLoadPercentage * 0.4));
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.sttp.skripsi.service;
 
+import com.sttp.skripsi.config.AnalyticsTransaction;
 import com.sttp.skripsi.constant.ErrorMessage;
 import com.sttp.skripsi.exception.AppException;
+import com.sttp.skripsi.dto.CursorPage;
+import com.sttp.skripsi.dto.FieldSelection;
 import com.sttp.skripsi.dto.TalentDetailDTO;
+import com.sttp.skripsi.dto.TalentRequest;
 import com.sttp.skripsi.model.Talent;
 import com.sttp.skripsi.model.User;
-import com.sttp.skripsi.model.DailyProgress;
 import com.sttp.skripsi.model.Task;
 import com.sttp.skripsi.model.Project;
 import com.sttp.skripsi.repository.TalentRepository;
@@ -13,6 +16,9 @@ import com.sttp.skripsi.repository.DailyProgressRepository;
 import com.sttp.skripsi.repository.TaskRepository;
 import com.sttp.skripsi.repository.ProjectRepository;
 import com.sttp.skripsi.repository.UserRepository;
+import com.sttp.skripsi.repository.TalentProjectDayRepository;
+import com.sttp.skripsi.repository.projection.ProgressRow;
+import com.sttp.skripsi.repository.projection.TalentProjectWorkload;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +39,7 @@ public class TalentService {
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final TalentProjectDayRepository talentProjectDayRepository;
 
     private static final int MAX_DAILY_EFFORT = 8; // Standard workday hours
     private static final int MAX_TASKS_PER_DAY = 3; // Maximum recommended tasks per day
@@ -40,11 +47,11 @@ public class TalentService {
     private static final int CRITICAL_THRESHOLD = 90; // Critical threshold percentage
 
     public List<Talent> getAllTalents() {
-        return talentRepository.findAll();
+        return talentRepository.findWithUserBy();
     }
 
     public Optional<Talent> getTalentById(Long id) {
-        return talentRepository.findById(id);
+        return talentRepository.findWithUserById(id);
     }
 
     public Optional<Talent> getTalentByUserId(Long userId) {
@@ -65,6 +72,43 @@ public class TalentService {
         return talentRepository.save(talent);
     }
 
+    // All-or-nothing; the inserts are sent in JDBC batches (hibernate.jdbc.batch_size)
+    @Transactional
+    public List<Talent> createTalents(List<TalentRequest> requests) {
+        Set<String> names = new HashSet<>();
+        for (TalentRequest request : requests) {
+            if (!names.add(request.getName())) {
+                throw AppException.badRequest(ErrorMessage.TALENT_ALREADY_EXISTS);
+            }
+        }
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        if (!talentRepository.findExistingNames(names).isEmpty()) {
+            throw AppException.badRequest(ErrorMessage.TALENT_ALREADY_EXISTS);
+        }
+
+        Set<Long> userIds = requests.stream()
+                .map(TalentRequest::getUserId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        if (usersById.size() != userIds.size()) {
+            throw AppException.notFound(ErrorMessage.USER_NOT_FOUND);
+        }
+
+        List<Talent> talents = requests.stream()
+                .map(request -> Talent.builder()
+                        .name(request.getName())
+                        .user(request.getUserId() != null ? usersById.get(request.getUserId()) : null)
+                        .isActive(true)
+                        .build())
+                .toList();
+
+        return talentRepository.saveAll(talents);
+    }
+
     @Transactional
     public Talent updateTalent(Long id, String name, boolean isActive) {
         Talent talent = talentRepository.findById(id)
@@ -81,122 +125,132 @@ public class TalentService {
         talentRepository.deleteById(id);
     }
 
-    @Transactional(readOnly = true)
+    @AnalyticsTransaction
     public TalentDetailDTO getTalentDetail(Long id, String category, String status) {
-        Talent talent = talentRepository.findById(id)
+        return getTalentDetail(id, category, status, FieldSelection.ALL, CursorPage.Request.ALL);
+    }
+
+    // page applies to taskHistory, in date then task order
+    @AnalyticsTransaction
+    public TalentDetailDTO getTalentDetail(Long id, String category, String status,
+                                           FieldSelection fields, CursorPage.Request page) {
+        Talent talent = talentRepository.findWithUserById(id)
                 .orElseThrow(() -> AppException.notFound(ErrorMessage.TALENT_NOT_FOUND));
         
         User user = talent.getUser();
-        List<DailyProgress> allProgress = dailyProgressRepository.findByTalent(talent);
+        List<ProgressRow> allProgress = dailyProgressRepository.findProgressRowsByTalentId(talent.getId());
+
+        // Tasks (with their project) referenced by the progress rows, keyed by id
+        Map<Long, Task> tasksById = taskRepository.findWithProjectByIdIn(allProgress.stream()
+                .map(ProgressRow::taskId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet())).stream()
+            .collect(Collectors.toMap(Task::getId, task -> task));
         
         // Apply filters if provided
         if (category != null || status != null) {
             allProgress = allProgress.stream()
                 .filter(dp -> {
+                    Task task = dp.taskId() != null ? tasksById.get(dp.taskId()) : null;
                     boolean matchesCategory = category == null || 
-                        (dp.getTask() != null && category.equalsIgnoreCase(dp.getTask().getTaskCategory()));
+                        (task != null && category.equalsIgnoreCase(task.getTaskCategory()));
                     boolean matchesStatus = status == null || 
-                        status.equalsIgnoreCase(mapProgressToStatus(dp.getProgress()));
+                        status.equalsIgnoreCase(mapProgressToStatus(dp.progress()));
                     return matchesCategory && matchesStatus;
                 })
                 .collect(Collectors.toList());
         }
         
         // Calculate workload alerts
-        List<TalentDetailDTO.WorkloadAlert> workloadAlerts = calculateWorkloadAlerts(allProgress);
+        // Unfiltered workload comes from the talent_project_day rollup
+        List<TalentDetailDTO.WorkloadAlert> workloadAlerts = null;
+        if (fields.includes("workloadAlerts")) {
+            workloadAlerts = calculateWorkloadAlerts(
+                    category == null && status == null ?
+                            talentProjectDayRepository.findTalentProjectWorkloadsByTalentId(talent.getId()) :
+                            summarizeByProject(talent.getId(), allProgress));
+        }
         
         // Calculate performance overview
         int totalTasks = allProgress.size();
         int taskEarly = (int) allProgress.stream()
-                .filter(dp -> "ahead".equalsIgnoreCase(dp.getScheduleStatus()))
+                .filter(dp -> "ahead".equalsIgnoreCase(dp.scheduleStatus()))
                 .count();
         int taskOntime = (int) allProgress.stream()
-                .filter(dp -> "on_track".equalsIgnoreCase(dp.getScheduleStatus()))
+                .filter(dp -> "on_track".equalsIgnoreCase(dp.scheduleStatus()))
                 .count();
         int taskDelayed = (int) allProgress.stream()
-                .filter(dp -> "delayed".equalsIgnoreCase(dp.getScheduleStatus()))
+                .filter(dp -> "delayed".equalsIgnoreCase(dp.scheduleStatus()))
                 .count();
 
-        TalentDetailDTO.PerformanceOverview performanceOverview = TalentDetailDTO.PerformanceOverview.builder()
-                .taskEarly(taskEarly)
-                .taskEarlyPercentage(totalTasks > 0 ? (taskEarly * 100.0 / totalTasks) : 0)
-                .taskOntime(taskOntime)
-                .taskOntimePercentage(totalTasks > 0 ? (taskOntime * 100.0 / totalTasks) : 0)
-                .taskDelayed(taskDelayed)
-                .taskDelayedPercentage(totalTasks > 0 ? (taskDelayed * 100.0 / totalTasks) : 0)
-                .build();
+        TalentDetailDTO.PerformanceOverview performanceOverview = !fields.includes("performanceOverview") ? null :
+                TalentDetailDTO.PerformanceOverview.builder()
+                    .taskEarly(taskEarly)
+                    .taskEarlyPercentage(totalTasks > 0 ? (taskEarly * 100.0 / totalTasks) : 0)
+                    .taskOntime(taskOntime)
+                    .taskOntimePercentage(totalTasks > 0 ? (taskOntime * 100.0 / totalTasks) : 0)
+                    .taskDelayed(taskDelayed)
+                    .taskDelayedPercentage(totalTasks > 0 ? (taskDelayed * 100.0 / totalTasks) : 0)
+                    .build();
 
         // Get task history from DailyProgress
-        List<TalentDetailDTO.TaskHistory> taskHistory = allProgress.stream()
-                .map(dp -> {
-                    Task task = dp.getTask();
-                    if (task == null) return null;
-                    
-                    String taskStatus = mapProgressToStatus(dp.getProgress());
-                    String timeline = mapScheduleStatusToTimeline(dp.getScheduleStatus());
-                    
-                    return TalentDetailDTO.TaskHistory.builder()
-                            .idTask(task.getId())
-                            .taskCode(task.getTaskCode())
-                            .taskName(task.getTaskName())
-                            .project(task.getProject() != null ? task.getProject().getName() : "Unknown Project")
-                            .taskCategory(task.getTaskCategory())
-                            .date(dp.getDate())
-                            .status(taskStatus)
-                            .timeline(timeline)
-                            .build();
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-
-        // Calculate project performance
-        List<TalentDetailDTO.ProjectPerformance> projectPerformance = allProgress.stream()
-                .filter(dp -> dp.getTask() != null && dp.getTask().getProject() != null)
-                .collect(Collectors.groupingBy(dp -> dp.getTask().getProject()))
-                .entrySet().stream()
-                .map(entry -> {
-                    Project project = entry.getKey();
-                    List<DailyProgress> projectProgress = entry.getValue();
-
-                    int totalProjectTasks = projectProgress.size();
-                    int completedTasks = (int) projectProgress.stream()
-                            .filter(dp -> mapProgressToStatus(dp.getProgress()).equals("completed"))
-                            .count();
-                    int inProgressTasks = (int) projectProgress.stream()
-                            .filter(dp -> mapProgressToStatus(dp.getProgress()).equals("inprogress"))
-                            .count();
-                    int notStartedTasks = (int) projectProgress.stream()
-                            .filter(dp -> mapProgressToStatus(dp.getProgress()).equals("notstarted"))
-                            .count();
-
-                    double completionPercentage = totalProjectTasks > 0 ?
-                            (completedTasks * 100.0 / totalProjectTasks) : 0;
-
-                    return TalentDetailDTO.ProjectPerformance.builder()
-                            .projectId(project.getId())
-                            .projectName(project.getName())
-                            .totalTasks(totalProjectTasks)
-                            .completedTasks(completedTasks)
-                            .inProgressTasks(inProgressTasks)
-                            .notStartedTasks(notStartedTasks)
-                            .completionPercentage(Math.round(completionPercentage * 100) / 100.0)
-                            .build();
-                })
-                .collect(Collectors.toList());
+        List<TalentDetailDTO.TaskHistory> taskHistory = null;
+        String taskHistoryNextCursor = null;
+        if (fields.includes("taskHistory")) {
+            CursorPage<TalentDetailDTO.TaskHistory> historyPage = page.apply(toTaskHistory(allProgress, tasksById),
+                    history -> new long[] {history.getDate().toEpochDay(), history.getIdTask()});
+            taskHistory = historyPage.items();
+            taskHistoryNextCursor = historyPage.nextCursor();
+        }
 
-        // Get projects from DailyProgress
-        List<String> projects = allProgress.stream()
-                .filter(dp -> dp.getTask() != null && dp.getTask().getProject() != null)
-                .map(dp -> dp.getTask().getProject().getName())
-                .distinct()
-                .collect(Collectors.toList());
+        // Project names keyed by id, in order of first appearance in the progress
+        Map<Long, String> projectNames = new LinkedHashMap<>();
+        for (ProgressRow dp : allProgress) {
+            Task task = dp.taskId() != null ? tasksById.get(dp.taskId()) : null;
+            if (task != null && task.getProject() != null) {
+                projectNames.putIfAbsent(task.getProject().getId(), task.getProject().getName());
+            }
+        }
 
-        // Get project IDs from DailyProgress
-        List<Long> projectIds = allProgress.stream()
-                .filter(dp -> dp.getTask() != null && dp.getTask().getProject() != null)
-                .map(dp -> dp.getTask().getProject().getId())
-                .distinct()
-                .collect(Collectors.toList());
+        // Calculate project performance
+        List<TalentDetailDTO.ProjectPerformance> projectPerformance = !fields.includes("projectPerformance") ? null :
+                allProgress.stream()
+                    .filter(dp -> dp.projectId() != null && projectNames.containsKey(dp.projectId()))
+                    .collect(Collectors.groupingBy(ProgressRow::projectId))
+                    .entrySet().stream()
+                    .map(entry -> {
+                        Long projectId = entry.getKey();
+                        List<ProgressRow> projectProgress = entry.getValue();
+
+                        int totalProjectTasks = projectProgress.size();
+                        int completedTasks = (int) projectProgress.stream()
+                                .filter(dp -> mapProgressToStatus(dp.progress()).equals("completed"))
+                                .count();
+                        int inProgressTasks = (int) projectProgress.stream()
+                                .filter(dp -> mapProgressToStatus(dp.progress()).equals("inprogress"))
+                                .count();
+                        int notStartedTasks = (int) projectProgress.stream()
+                                .filter(dp -> mapProgressToStatus(dp.progress()).equals("notstarted"))
+                                .count();
+
+                        double completionPercentage = totalProjectTasks > 0 ?
+                                (completedTasks * 100.0 / totalProjectTasks) : 0;
+
+                        return TalentDetailDTO.ProjectPerformance.builder()
+                                .projectId(projectId)
+                                .projectName(projectNames.get(projectId))
+                                .totalTasks(totalProjectTasks)
+                                .completedTasks(completedTasks)
+                                .inProgressTasks(inProgressTasks)
+                                .notStartedTasks(notStartedTasks)
+                                .completionPercentage(Math.round(completionPercentage * 100) / 100.0)
+                                .build();
+                    })
+                    .collect(Collectors.toList());
+
+        // Get projects and project IDs from DailyProgress
+        List<String> projects = new ArrayList<>(projectNames.values());
+        List<Long> projectIds = new ArrayList<>(projectNames.keySet());
 
         String role = "USER";
         String email = null;
@@ -221,9 +275,37 @@ public class TalentService {
                 .taskHistory(taskHistory)
                 .projectPerformance(projectPerformance)
                 .workloadAlerts(workloadAlerts)
+                .taskHistoryNextCursor(taskHistoryNextCursor)
                 .build();
     }
 
+    // Ordered by date, then task: the key taskHistory pages run on
+    private List<TalentDetailDTO.TaskHistory> toTaskHistory(List<ProgressRow> allProgress, Map<Long, Task> tasksById) {
+        return allProgress.stream()
+                .map(dp -> {
+                    Task task = dp.taskId() != null ? tasksById.get(dp.taskId()) : null;
+                    if (task == null) return null;
+                    
+                    String taskStatus = mapProgressToStatus(dp.progress());
+                    String timeline = mapScheduleStatusToTimeline(dp.scheduleStatus());
+                    
+                    return TalentDetailDTO.TaskHistory.builder()
+                            .idTask(task.getId())
+                            .taskCode(task.getTaskCode())
+                            .taskName(task.getTaskName())
+                            .project(task.getProject() != null ? task.getProject().getName() : "Unknown Project")
+                            .taskCategory(task.getTaskCategory())
+                            .date(dp.date())
+                            .status(taskStatus)
+                            .timeline(timeline)
+                            .build();
+                })
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(TalentDetailDTO.TaskHistory::getDate)
+                        .thenComparing(TalentDetailDTO.TaskHistory::getIdTask))
+                .collect(Collectors.toList());
+    }
+
     private String mapProgressToStatus(Integer progress) {
         if (progress == null) return "notstarted";
         if (progress >= 100) return "completed";
@@ -231,55 +313,42 @@ public class TalentService {
         return "notstarted";
     }
 
-    private boolean calculateOverloadedStatus(List<DailyProgress> progress) {
+    private boolean calculateOverloadedStatus(List<ProgressRow> progress) {
         // Implementasi logika untuk menentukan apakah talent overloaded
         // Contoh sederhana: jika total effort spent > 80% dari kapasitas
         int totalEffort = progress.stream()
-                .mapToInt(DailyProgress::getTotalEffortSpent)
+                .mapToInt(ProgressRow::totalEffortSpentOrZero)
                 .sum();
         return totalEffort > 80;
     }
 
-    @Transactional
-    public void clearDatabase() {
-        // Hapus data dari tabel-tabel yang saling terhubung
-        // Urutan penghapusan penting karena foreign key constraints
-        dailyProgressRepository.deleteAll();
-        taskRepository.deleteAll();
-        talentRepository.deleteAll();
-        projectRepository.deleteAll();
-    }
-
-    @Transactional(readOnly = true)
+    @AnalyticsTransaction
     public Map<String, TalentDetailDTO.MonthlyPerformance> getPerformanceTrends(Long talentId, String period) {
         Talent talent = talentRepository.findById(talentId)
                 .orElseThrow(() -> AppException.notFound(ErrorMessage.TALENT_NOT_FOUND));
         
-        List<DailyProgress> allProgress = dailyProgressRepository.findByTalent(talent);
         Map<String, TalentDetailDTO.MonthlyPerformance> trends = new LinkedHashMap<>();
         LocalDate now = LocalDate.now();
         
         if ("this_week".equalsIgnoreCase(period)) {
-            // Filter for current month's data only
-            List<DailyProgress> currentMonthProgress = allProgress.stream()
-                .filter(dp -> dp.getDate().getMonth() == now.getMonth() && 
-                             dp.getDate().getYear() == now.getYear())
-                .collect(Collectors.toList());
+            // Current month's data only; the date bounds let PostgreSQL prune other partitions
+            List<ProgressRow> currentMonthProgress = dailyProgressRepository.findProgressRowsByTalentIdAndDateBetween(
+                    talent.getId(), now.withDayOfMonth(1), now.withDayOfMonth(now.lengthOfMonth()));
                 
             // Group by week number for current month only
             currentMonthProgress.stream()
                 .collect(Collectors.groupingBy(dp -> 
-                    "Week" + dp.getDate().get(WeekFields.ISO.weekOfMonth())))
+                    "Week" + dp.date().get(WeekFields.ISO.weekOfMonth())))
                 .forEach((week, weeklyProgress) -> {
                     int total = weeklyProgress.size();
                     int early = (int) weeklyProgress.stream()
-                            .filter(dp -> "ahead".equalsIgnoreCase(dp.getScheduleStatus()))
+                            .filter(dp -> "ahead".equalsIgnoreCase(dp.scheduleStatus()))
                             .count();
                     int ontime = (int) weeklyProgress.stream()
-                            .filter(dp -> "on_track".equalsIgnoreCase(dp.getScheduleStatus()))
+                            .filter(dp -> "on_track".equalsIgnoreCase(dp.scheduleStatus()))
                             .count();
                     int delayed = (int) weeklyProgress.stream()
-                            .filter(dp -> "delayed".equalsIgnoreCase(dp.getScheduleStatus()))
+                            .filter(dp -> "delayed".equalsIgnoreCase(dp.scheduleStatus()))
                             .count();
                     
                     trends.put(week, TalentDetailDTO.MonthlyPerformance.builder()
@@ -289,19 +358,20 @@ public class TalentService {
                             .build());
                 });
         } else if ("this_month".equalsIgnoreCase(period)) {
-            // Group by month
-            allProgress.stream()
-                .collect(Collectors.groupingBy(dp -> dp.getDate().getMonth().toString()))
+            // Group by month over the trailing 12 months (month names would collide across years)
+            LocalDate from = now.withDayOfMonth(1).minusMonths(11);
+            dailyProgressRepository.findProgressRowsByTalentIdAndDateBetween(talent.getId(), from, now.withDayOfMonth(now.lengthOfMonth())).stream()
+                .collect(Collectors.groupingBy(dp -> dp.date().getMonth().toString()))
                 .forEach((month, monthlyProgress) -> {
                     int total = monthlyProgress.size();
                     int early = (int) monthlyProgress.stream()
-                            .filter(dp -> "ahead".equalsIgnoreCase(dp.getScheduleStatus()))
+                            .filter(dp -> "ahead".equalsIgnoreCase(dp.scheduleStatus()))
                             .count();
                     int ontime = (int) monthlyProgress.stream()
-                            .filter(dp -> "on_track".equalsIgnoreCase(dp.getScheduleStatus()))
+                            .filter(dp -> "on_track".equalsIgnoreCase(dp.scheduleStatus()))
                             .count();
                     int delayed = (int) monthlyProgress.stream()
-                            .filter(dp -> "delayed".equalsIgnoreCase(dp.getScheduleStatus()))
+                            .filter(dp -> "delayed".equalsIgnoreCase(dp.scheduleStatus()))
                             .count();
                     
                     // Format to 2 decimal places
@@ -336,38 +406,48 @@ public class TalentService {
     }
 
     // Add a new method to handle the original call without filters
-    @Transactional(readOnly = true)
+    @AnalyticsTransaction
     public TalentDetailDTO getTalentDetail(Long id) {
         return getTalentDetail(id, null, null);
     }
 
-    private List<TalentDetailDTO.WorkloadAlert> calculateWorkloadAlerts(List<DailyProgress> progress) {
+    // Same aggregation as the talent_project_day rollup, for progress filtered by category or status
+    private List<TalentProjectWorkload> summarizeByProject(Long talentId, List<ProgressRow> progress) {
+        return progress.stream()
+            .filter(dp -> dp.projectId() != null)
+            .collect(Collectors.groupingBy(ProgressRow::projectId))
+            .entrySet().stream()
+            .map(entry -> {
+                List<ProgressRow> rows = entry.getValue();
+                return new TalentProjectWorkload(
+                    talentId,
+                    entry.getKey(),
+                    (long) rows.size(),
+                    rows.stream().mapToLong(ProgressRow::additionalEffortOrZero).sum(),
+                    rows.stream().mapToLong(ProgressRow::totalEffortSpentOrZero).sum(),
+                    rows.stream().mapToLong(dp -> dp.progress() != null ? dp.progress() : 0).sum(),
+                    rows.stream().filter(dp -> dp.progress() != null).count(),
+                    rows.stream().filter(dp -> "delayed".equalsIgnoreCase(dp.scheduleStatus())).count(),
+                    rows.stream().map(ProgressRow::date).distinct().count(),
+                    rows.stream().map(ProgressRow::date).min(LocalDate::compareTo).orElse(null),
+                    rows.stream().map(ProgressRow::date).max(LocalDate::compareTo).orElse(null));
+            })
+            .collect(Collectors.toList());
+    }
+
+    private List<TalentDetailDTO.WorkloadAlert> calculateWorkloadAlerts(List<TalentProjectWorkload> workloads) {
         List<TalentDetailDTO.WorkloadAlert> alerts = new ArrayList<>();
         
-        // Group progress by project
-        Map<Project, List<DailyProgress>> progressByProject = progress.stream()
-            .filter(dp -> dp.getTask() != null && dp.getTask().getProject() != null)
-            .collect(Collectors.groupingBy(dp -> dp.getTask().getProject()));
-
-        for (Map.Entry<Project, List<DailyProgress>> entry : progressByProject.entrySet()) {
-            Project project = entry.getKey();
-            List<DailyProgress> projectProgress = entry.getValue();
-
-            // Calculate average daily effort and tasks per day
-            Map<LocalDate, List<DailyProgress>> progressByDate = projectProgress.stream()
-                .collect(Collectors.groupingBy(DailyProgress::getDate));
-
-            double avgDailyEffort = progressByDate.entrySet().stream()
-                .mapToDouble(dateEntry -> dateEntry.getValue().stream()
-                    .mapToInt(DailyProgress::getAdditionalEffort)
-                    .sum())
-                .average()
-                .orElse(0.0);
-
-            double avgTasksPerDay = progressByDate.entrySet().stream()
-                .mapToDouble(dateEntry -> dateEntry.getValue().size())
-                .average()
-                .orElse(0.0);
+        Map<Long, String> projectNames = projectRepository.findAllById(
+                workloads.stream().map(TalentProjectWorkload::projectId).collect(Collectors.toSet())).stream()
+            .collect(Collectors.toMap(Project::getId, Project::getName));
+
+        for (TalentProjectWorkload workload : workloads) {
+            String projectName = projectNames.getOrDefault(workload.projectId(), "Unknown Project");
+
+            // Average daily effort and tasks per day
+            double avgDailyEffort = workload.avgDailyEffort();
+            double avgTasksPerDay = workload.avgTasksPerDay();
 
             // Calculate workload percentages
             double dailyEffortPercentage = Math.min(
@@ -386,18 +466,8 @@ public class TalentService {
                 (taskLoadPercentage * 0.4)
             );
 
-            // Calculate project duration in days
-            long projectDuration = progressByDate.keySet().stream()
-                .min(LocalDate::compareTo)
-                .map(startDate -> 
-                    ChronoUnit.DAYS.between(
-                        startDate,
-                        progressByDate.keySet().stream()
-                            .max(LocalDate::compareTo)
-                            .orElse(startDate)
-                    ) + 1
-                )
-                .orElse(1L);
+            // Project duration in days
+            long projectDuration = workload.durationDays();
 
             // Generate alerts if workload is high
             if (workloadPercentage >= CRITICAL_THRESHOLD) {
@@ -405,7 +475,7 @@ public class TalentService {
                     .alertType("CRITICAL")
                     .message(String.format(
                         "High workload in %s: %.1f hours daily effort with %.1f tasks per day over %d days", 
-                        project.getName(),
+                        projectName,
                         avgDailyEffort,
                         avgTasksPerDay,
                         projectDuration
@@ -418,7 +488,7 @@ public class TalentService {
                     .alertType("WARNING")
                     .message(String.format(
                         "Approaching high workload in %s: %.1f hours daily effort with %.1f tasks per day over %d days",
-                        project.getName(),
+                        projectName,
                         avgDailyEffort,
                         avgTasksPerDay,
                         projectDuration
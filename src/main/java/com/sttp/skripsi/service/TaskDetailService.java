@@ -9,6 +9,7 @@ import com.sttp.skripsi.repository.DailyProgressRepository;
 import com.sttp.skripsi.repository.TaskRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -18,8 +19,9 @@ public class TaskDetailService {
     private final TaskRepository taskRepository;
     private final DailyProgressRepository dailyProgressRepository;
 
+    @Transactional(readOnly = true)
     public TaskDetailResponse getTaskDetail(Long taskId) {
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findWithProjectById(taskId)
                 .orElseThrow(() -> AppException.notFound(ErrorMessage.TASK_NOT_FOUND));
 
         DailyProgress latestProgress = dailyProgressRepository.findFirstByTaskIdOrderByDateDesc(taskId)
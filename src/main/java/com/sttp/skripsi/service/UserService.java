@@ -1,6 +1,7 @@
 package com.sttp.skripsi.service;
 
 import com.sttp.skripsi.constant.ErrorMessage;
+import com.sttp.skripsi.dto.CreateUserRequest;
 import com.sttp.skripsi.dto.RegisterRequest;
 import com.sttp.skripsi.exception.AppException;
 import com.sttp.skripsi.model.User;
@@ -10,8 +11,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -99,6 +102,43 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    // All-or-nothing; the inserts are sent in JDBC batches (hibernate.jdbc.batch_size)
+    @Transactional
+    public List<User> createUsers(List<CreateUserRequest> requests) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (CreateUserRequest request : requests) {
+            if (!usernames.add(request.getUsername())) {
+                throw AppException.badRequest(ErrorMessage.USERNAME_ALREADY_EXISTS);
+            }
+            if (!emails.add(request.getEmail())) {
+                throw AppException.badRequest(ErrorMessage.EMAIL_ALREADY_EXISTS);
+            }
+        }
+        if (usernames.isEmpty()) {
+            return List.of();
+        }
+
+        if (!userRepository.findExistingUsernames(usernames).isEmpty()) {
+            throw AppException.badRequest(ErrorMessage.USERNAME_ALREADY_EXISTS);
+        }
+        if (!userRepository.findExistingEmails(emails).isEmpty()) {
+            throw AppException.badRequest(ErrorMessage.EMAIL_ALREADY_EXISTS);
+        }
+
+        List<User> users = requests.stream()
+                .map(request -> User.builder()
+                        .username(request.getUsername())
+                        .email(request.getEmail())
+                        .fullName(request.getFullName())
+                        .password(passwordEncoder.encode(request.getPassword()))
+                        .active(true)
+                        .build())
+                .toList();
+
+        return userRepository.saveAll(users);
+    }
+
     public User updateUser(Long id, String email, String fullName, Boolean isActive) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> AppException.notFound(ErrorMessage.USER_NOT_FOUND));
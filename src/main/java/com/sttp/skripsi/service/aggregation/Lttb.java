@@ -0,0 +1,68 @@
+package com.sttp.skripsi.service.aggregation;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling of a series for charts. The first and
+ * last points are kept; every bucket in between contributes the point that forms the
+ * largest triangle with the point chosen before it and the average of the next bucket,
+ * which preserves peaks and turns that a plain average or stride would flatten.
+ */
+public final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Indices of the points to keep, ascending. x must be ascending. Returns every index
+     * when the series already has no more than threshold points or threshold is below 3.
+     */
+    public static int[] select(double[] x, double[] y, int threshold) {
+        int length = x.length;
+        if (threshold >= length || threshold < 3) {
+            int[] all = new int[length];
+            for (int i = 0; i < length; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] sampled = new int[threshold];
+        double bucketSize = (double) (length - 2) / (threshold - 2);
+        int previous = 0;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket; the last point stands in for it after the last bucket
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, length);
+            double averageX = 0;
+            double averageY = 0;
+            if (nextStart >= nextEnd) {
+                averageX = x[length - 1];
+                averageY = y[length - 1];
+            } else {
+                for (int i = nextStart; i < nextEnd; i++) {
+                    averageX += x[i];
+                    averageY += y[i];
+                }
+                averageX /= nextEnd - nextStart;
+                averageY /= nextEnd - nextStart;
+            }
+
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double maxArea = -1;
+            int chosen = start;
+            for (int i = start; i < end; i++) {
+                // Twice the triangle's area, which ranks the same
+                double area = Math.abs((x[previous] - averageX) * (y[i] - y[previous])
+                        - (x[previous] - x[i]) * (averageY - y[previous]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    chosen = i;
+                }
+            }
+            sampled[bucket + 1] = chosen;
+            previous = chosen;
+        }
+        sampled[threshold - 1] = length - 1;
+        return sampled;
+    }
+}
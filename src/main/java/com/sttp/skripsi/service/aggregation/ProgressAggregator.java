@@ -0,0 +1,44 @@
+package com.sttp.skripsi.service.aggregation;
+
+import com.sttp.skripsi.repository.projection.ProgressRow;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Folds a stream of progress rows into one {@link TalentProjectStats} per (talent, project)
+ * as the rows arrive, so memory follows the number of groups rather than the length of the
+ * history. Rows without a project are skipped.
+ */
+public class ProgressAggregator {
+    private final Map<Long, Map<Long, TalentProjectStats>> statsByTalent = new HashMap<>();
+
+    /**
+     * Consumes and closes the stream. Repository streams must be read inside the
+     * transaction that opened them.
+     */
+    public static ProgressAggregator aggregate(Stream<ProgressRow> rows) {
+        ProgressAggregator aggregator = new ProgressAggregator();
+        try (rows) {
+            rows.forEach(aggregator::add);
+        }
+        return aggregator;
+    }
+
+    public void add(ProgressRow row) {
+        if (row.talentId() == null || row.projectId() == null) {
+            return;
+        }
+        statsByTalent
+                .computeIfAbsent(row.talentId(), talentId -> new HashMap<>())
+                .computeIfAbsent(row.projectId(), projectId -> new TalentProjectStats(row.talentId(), projectId))
+                .add(row);
+    }
+
+    // Stats of one talent keyed by project id
+    public Map<Long, TalentProjectStats> forTalent(Long talentId) {
+        return statsByTalent.getOrDefault(talentId, Collections.emptyMap());
+    }
+}
@@ -0,0 +1,53 @@
+package com.sttp.skripsi.service.aggregation;
+
+import com.sttp.skripsi.repository.projection.ProgressRow;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Running totals of one talent's progress on one project. Keeps distinct days and
+ * task ids, never the progress rows themselves.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class TalentProjectStats {
+    private final Long talentId;
+    private final Long projectId;
+    private double totalEffortSpent;
+    @Getter(AccessLevel.NONE)
+    private final Set<LocalDate> activeDays = new HashSet<>();
+    @Getter(AccessLevel.NONE)
+    private final Set<Long> taskIds = new HashSet<>();
+    @Getter(AccessLevel.NONE)
+    private final Set<Long> delayedTaskIds = new HashSet<>();
+
+    void add(ProgressRow row) {
+        totalEffortSpent += row.totalEffortSpentOrZero();
+        activeDays.add(row.date());
+        taskIds.add(row.taskId());
+        if ("DELAYED".equalsIgnoreCase(row.scheduleStatus())) {
+            delayedTaskIds.add(row.taskId());
+        }
+    }
+
+    public int getActiveDays() {
+        return activeDays.size();
+    }
+
+    public int getTaskCount() {
+        return taskIds.size();
+    }
+
+    public int getDelayedTaskCount() {
+        return delayedTaskIds.size();
+    }
+
+    public double getAvgDailyEffort() {
+        return activeDays.isEmpty() ? 0.0 : totalEffortSpent / activeDays.size();
+    }
+}
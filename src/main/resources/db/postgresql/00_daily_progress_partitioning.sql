@@ -0,0 +1,112 @@
+-- Monthly range partitioning of daily_progress on "date".
+-- Partitions are named daily_progress_pYYYYMM; rows outside every monthly
+-- partition land in daily_progress_default.
+
+CREATE OR REPLACE FUNCTION ensure_daily_progress_partition(p_month DATE) RETURNS VOID AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_month)::date;
+    v_end DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::date;
+    v_name TEXT := 'daily_progress_p' || to_char(p_month, 'YYYYMM');
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+
+    IF to_regclass('daily_progress_default') IS NOT NULL
+       AND EXISTS (SELECT 1 FROM daily_progress_default WHERE date >= v_start AND date < v_end) THEN
+        -- A new partition may not overlap rows already in the default partition, so move
+        -- them into a standalone table first and attach it afterwards. Row triggers are
+        -- disabled while moving because the rows stay logically in daily_progress.
+        EXECUTE format('CREATE TABLE %I (LIKE daily_progress INCLUDING DEFAULTS)', v_name);
+        ALTER TABLE daily_progress_default DISABLE TRIGGER USER;
+        EXECUTE format('WITH moved AS (DELETE FROM daily_progress_default WHERE date >= %L AND date < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved', v_start, v_end, v_name);
+        ALTER TABLE daily_progress_default ENABLE TRIGGER USER;
+        EXECUTE format('ALTER TABLE daily_progress ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', v_name, v_start, v_end);
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF daily_progress FOR VALUES FROM (%L) TO (%L)', v_name, v_start, v_end);
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions for the current month and the next p_months_ahead months
+CREATE OR REPLACE FUNCTION ensure_daily_progress_partitions(p_months_ahead INTEGER) RETURNS VOID AS $$
+DECLARE
+    v_month DATE := date_trunc('month', CURRENT_DATE)::date;
+BEGIN
+    FOR i IN 0..p_months_ahead LOOP
+        PERFORM ensure_daily_progress_partition((v_month + make_interval(months => i))::date);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- One-off conversion of an existing plain daily_progress table (opt-in, copies the whole table)
+DO $$
+DECLARE
+    v_identity BOOLEAN;
+    v_seq TEXT;
+    v_max_id BIGINT;
+    v_month DATE;
+    v_last DATE;
+BEGIN
+    IF '${app.partitioning.migrate-existing:false}' <> 'true'
+       OR (SELECT relkind FROM pg_class WHERE oid = to_regclass('daily_progress')) IS DISTINCT FROM 'r' THEN
+        RETURN;
+    END IF;
+
+    LOCK TABLE daily_progress IN ACCESS EXCLUSIVE MODE;
+    SELECT COALESCE(MAX(id), 0) INTO v_max_id FROM daily_progress;
+    SELECT attidentity <> '' INTO v_identity
+    FROM pg_attribute WHERE attrelid = 'daily_progress'::regclass AND attname = 'id';
+
+    -- Identity columns are not supported on partitioned tables, so the new table uses a plain sequence
+    ALTER TABLE daily_progress RENAME TO daily_progress_unpartitioned;
+    IF v_identity THEN
+        ALTER TABLE daily_progress_unpartitioned ALTER COLUMN id DROP IDENTITY;
+    ELSE
+        v_seq := pg_get_serial_sequence('daily_progress_unpartitioned', 'id');
+        ALTER TABLE daily_progress_unpartitioned ALTER COLUMN id DROP DEFAULT;
+        IF v_seq IS NOT NULL THEN
+            EXECUTE format('DROP SEQUENCE %s', v_seq);
+        END IF;
+    END IF;
+
+    CREATE SEQUENCE IF NOT EXISTS daily_progress_id_seq;
+    PERFORM setval('daily_progress_id_seq', v_max_id + 1, false);
+
+    CREATE TABLE daily_progress (LIKE daily_progress_unpartitioned INCLUDING DEFAULTS) PARTITION BY RANGE (date);
+    ALTER TABLE daily_progress ALTER COLUMN id SET DEFAULT nextval('daily_progress_id_seq');
+    ALTER SEQUENCE daily_progress_id_seq OWNED BY daily_progress.id;
+    CREATE TABLE daily_progress_default PARTITION OF daily_progress DEFAULT;
+
+    SELECT date_trunc('month', MIN(date))::date, date_trunc('month', MAX(date))::date
+    INTO v_month, v_last
+    FROM daily_progress_unpartitioned;
+    WHILE v_month IS NOT NULL AND v_month <= v_last LOOP
+        PERFORM ensure_daily_progress_partition(v_month);
+        v_month := (v_month + INTERVAL '1 month')::date;
+    END LOOP;
+
+    INSERT INTO daily_progress SELECT * FROM daily_progress_unpartitioned;
+    DROP TABLE daily_progress_unpartitioned;
+
+    -- Unique keys on a partitioned table must contain the partition key
+    ALTER TABLE daily_progress ADD PRIMARY KEY (id, date);
+    ALTER TABLE daily_progress ADD CONSTRAINT daily_progress_unique UNIQUE (talent_id, task_id, date);
+    ALTER TABLE daily_progress ADD FOREIGN KEY (talent_id) REFERENCES talents(id);
+    ALTER TABLE daily_progress ADD FOREIGN KEY (task_id) REFERENCES tasks(id);
+END;
+$$;
+
+DO $$
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('daily_progress')) = 'p' THEN
+        IF to_regclass('daily_progress_default') IS NULL THEN
+            CREATE TABLE daily_progress_default PARTITION OF daily_progress DEFAULT;
+        END IF;
+        PERFORM ensure_daily_progress_partitions(${app.partitioning.months-ahead:3});
+    END IF;
+END;
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_daily_progress_talent_date ON daily_progress (talent_id, date);
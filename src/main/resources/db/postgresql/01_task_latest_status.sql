@@ -0,0 +1,114 @@
+-- Latest daily_progress row per task.
+-- Kept in sync by a row trigger so status queries read one row per task
+-- instead of scanning the full progress history. A compacted row (see
+-- 04_progress_compaction.sql) counts with the last day of its run.
+ALTER TABLE daily_progress ADD COLUMN IF NOT EXISTS date_to DATE;
+
+CREATE TABLE IF NOT EXISTS task_latest_status (
+    task_id BIGINT PRIMARY KEY REFERENCES tasks(id) ON DELETE CASCADE,
+    talent_id BIGINT,
+    latest_date DATE NOT NULL,
+    progress INTEGER,
+    schedule_status VARCHAR(50),
+    total_effort_spent INTEGER,
+    final_estimate INTEGER,
+    progress_from INTEGER,
+    progress_to INTEGER,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_daily_progress_task_date ON daily_progress (task_id, date DESC);
+
+-- Recompute the snapshot of one task from its history (used when the latest row may have gone away)
+CREATE OR REPLACE FUNCTION refresh_task_latest_status(p_task_id BIGINT) RETURNS VOID AS $$
+BEGIN
+    INSERT INTO task_latest_status (task_id, talent_id, latest_date, progress, schedule_status,
+                                    total_effort_spent, final_estimate, progress_from, progress_to, updated_at)
+    SELECT dp.task_id, dp.talent_id, COALESCE(dp.date_to, dp.date), dp.progress, dp.schedule_status,
+           dp.total_effort_spent, dp.final_estimate, dp.progress_from, dp.progress_to, now()
+    FROM daily_progress dp
+    WHERE dp.task_id = p_task_id
+    ORDER BY COALESCE(dp.date_to, dp.date) DESC, dp.id DESC
+    LIMIT 1
+    ON CONFLICT (task_id) DO UPDATE SET
+        talent_id = EXCLUDED.talent_id,
+        latest_date = EXCLUDED.latest_date,
+        progress = EXCLUDED.progress,
+        schedule_status = EXCLUDED.schedule_status,
+        total_effort_spent = EXCLUDED.total_effort_spent,
+        final_estimate = EXCLUDED.final_estimate,
+        progress_from = EXCLUDED.progress_from,
+        progress_to = EXCLUDED.progress_to,
+        updated_at = EXCLUDED.updated_at;
+
+    IF NOT FOUND THEN
+        DELETE FROM task_latest_status WHERE task_id = p_task_id;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION daily_progress_latest_status_trg() RETURNS TRIGGER AS $$
+BEGIN
+    -- Compaction merges days without changing the last one; a project purge clears the snapshot itself
+    IF current_setting('app.progress_compaction', true) = 'on'
+       OR current_setting('app.progress_purge', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+
+    -- Fast path: a row that is at least as recent as the snapshot replaces it.
+    -- The WHERE clause is re-checked after a concurrent writer commits, so an
+    -- older row can never overwrite a newer one.
+    IF TG_OP = 'INSERT'
+       OR (TG_OP = 'UPDATE' AND NEW.task_id IS NOT DISTINCT FROM OLD.task_id
+           AND COALESCE(NEW.date_to, NEW.date) >= COALESCE(OLD.date_to, OLD.date)) THEN
+        IF NEW.task_id IS NOT NULL THEN
+            INSERT INTO task_latest_status (task_id, talent_id, latest_date, progress, schedule_status,
+                                            total_effort_spent, final_estimate, progress_from, progress_to, updated_at)
+            VALUES (NEW.task_id, NEW.talent_id, COALESCE(NEW.date_to, NEW.date), NEW.progress, NEW.schedule_status,
+                    NEW.total_effort_spent, NEW.final_estimate, NEW.progress_from, NEW.progress_to, now())
+            ON CONFLICT (task_id) DO UPDATE SET
+                talent_id = EXCLUDED.talent_id,
+                latest_date = EXCLUDED.latest_date,
+                progress = EXCLUDED.progress,
+                schedule_status = EXCLUDED.schedule_status,
+                total_effort_spent = EXCLUDED.total_effort_spent,
+                final_estimate = EXCLUDED.final_estimate,
+                progress_from = EXCLUDED.progress_from,
+                progress_to = EXCLUDED.progress_to,
+                updated_at = EXCLUDED.updated_at
+            WHERE task_latest_status.latest_date <= EXCLUDED.latest_date;
+        END IF;
+        RETURN NULL;
+    END IF;
+
+    -- Deletes and updates that move a row back in time or to another task
+    IF OLD.task_id IS NOT NULL THEN
+        PERFORM refresh_task_latest_status(OLD.task_id);
+    END IF;
+    IF TG_OP = 'UPDATE' AND NEW.task_id IS NOT NULL AND NEW.task_id IS DISTINCT FROM OLD.task_id THEN
+        PERFORM refresh_task_latest_status(NEW.task_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS daily_progress_latest_status ON daily_progress;
+CREATE TRIGGER daily_progress_latest_status
+    AFTER INSERT OR UPDATE OR DELETE ON daily_progress
+    FOR EACH ROW EXECUTE FUNCTION daily_progress_latest_status_trg();
+
+-- Initial backfill for databases that already hold progress history
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM task_latest_status) THEN
+        INSERT INTO task_latest_status (task_id, talent_id, latest_date, progress, schedule_status,
+                                        total_effort_spent, final_estimate, progress_from, progress_to, updated_at)
+        SELECT DISTINCT ON (dp.task_id)
+               dp.task_id, dp.talent_id, COALESCE(dp.date_to, dp.date), dp.progress, dp.schedule_status,
+               dp.total_effort_spent, dp.final_estimate, dp.progress_from, dp.progress_to, now()
+        FROM daily_progress dp
+        WHERE dp.task_id IS NOT NULL
+        ORDER BY dp.task_id, COALESCE(dp.date_to, dp.date) DESC, dp.id DESC;
+    END IF;
+END;
+$$;
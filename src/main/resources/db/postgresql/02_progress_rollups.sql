@@ -0,0 +1,169 @@
+-- Effort rollups of daily_progress, updated incrementally by a row trigger so
+-- workload queries read one row per talent/project/day (or talent/week)
+-- instead of regrouping the raw progress history. A compacted row (see
+-- 04_progress_compaction.sql) is counted once for every day of its run.
+CREATE TABLE IF NOT EXISTS talent_project_day (
+    talent_id BIGINT NOT NULL,
+    project_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    row_count INTEGER NOT NULL DEFAULT 0,
+    additional_effort INTEGER NOT NULL DEFAULT 0,
+    total_effort_spent INTEGER NOT NULL DEFAULT 0,
+    progress_sum INTEGER NOT NULL DEFAULT 0,
+    progress_count INTEGER NOT NULL DEFAULT 0,
+    delayed_count INTEGER NOT NULL DEFAULT 0,
+    completed_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (talent_id, project_id, date)
+);
+
+CREATE INDEX IF NOT EXISTS idx_talent_project_day_project ON talent_project_day (project_id, date);
+
+-- week_start is the Monday of the ISO week
+CREATE TABLE IF NOT EXISTS talent_week (
+    talent_id BIGINT NOT NULL,
+    week_start DATE NOT NULL,
+    row_count INTEGER NOT NULL DEFAULT 0,
+    additional_effort INTEGER NOT NULL DEFAULT 0,
+    total_effort_spent INTEGER NOT NULL DEFAULT 0,
+    delayed_count INTEGER NOT NULL DEFAULT 0,
+    completed_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (talent_id, week_start)
+);
+
+-- Adds (p_sign = 1) or removes (p_sign = -1) one progress row from the rollups
+CREATE OR REPLACE FUNCTION apply_progress_rollup(p_talent_id BIGINT, p_task_id BIGINT, p_date DATE,
+                                                 p_additional_effort INTEGER, p_total_effort_spent INTEGER,
+                                                 p_progress INTEGER, p_schedule_status VARCHAR,
+                                                 p_sign INTEGER) RETURNS VOID AS $$
+DECLARE
+    v_project_id BIGINT;
+    v_week_start DATE := date_trunc('week', p_date)::date;
+    v_additional INTEGER := p_sign * COALESCE(p_additional_effort, 0);
+    v_total INTEGER := p_sign * COALESCE(p_total_effort_spent, 0);
+    v_delayed INTEGER := p_sign * (CASE WHEN upper(p_schedule_status) = 'DELAYED' THEN 1 ELSE 0 END);
+    v_completed INTEGER := p_sign * (CASE WHEN p_progress >= 100 THEN 1 ELSE 0 END);
+BEGIN
+    IF p_talent_id IS NULL OR p_task_id IS NULL THEN
+        RETURN;
+    END IF;
+
+    SELECT project_id INTO v_project_id FROM tasks WHERE id = p_task_id;
+    IF v_project_id IS NULL THEN
+        RETURN;
+    END IF;
+
+    INSERT INTO talent_project_day AS r (talent_id, project_id, date, row_count, additional_effort, total_effort_spent,
+                                         progress_sum, progress_count, delayed_count, completed_count, updated_at)
+    VALUES (p_talent_id, v_project_id, p_date, p_sign, v_additional, v_total,
+            p_sign * COALESCE(p_progress, 0), p_sign * (CASE WHEN p_progress IS NULL THEN 0 ELSE 1 END),
+            v_delayed, v_completed, now())
+    ON CONFLICT (talent_id, project_id, date) DO UPDATE SET
+        row_count = r.row_count + EXCLUDED.row_count,
+        additional_effort = r.additional_effort + EXCLUDED.additional_effort,
+        total_effort_spent = r.total_effort_spent + EXCLUDED.total_effort_spent,
+        progress_sum = r.progress_sum + EXCLUDED.progress_sum,
+        progress_count = r.progress_count + EXCLUDED.progress_count,
+        delayed_count = r.delayed_count + EXCLUDED.delayed_count,
+        completed_count = r.completed_count + EXCLUDED.completed_count,
+        updated_at = EXCLUDED.updated_at;
+
+    INSERT INTO talent_week AS w (talent_id, week_start, row_count, additional_effort, total_effort_spent,
+                                  delayed_count, completed_count, updated_at)
+    VALUES (p_talent_id, v_week_start, p_sign, v_additional, v_total, v_delayed, v_completed, now())
+    ON CONFLICT (talent_id, week_start) DO UPDATE SET
+        row_count = w.row_count + EXCLUDED.row_count,
+        additional_effort = w.additional_effort + EXCLUDED.additional_effort,
+        total_effort_spent = w.total_effort_spent + EXCLUDED.total_effort_spent,
+        delayed_count = w.delayed_count + EXCLUDED.delayed_count,
+        completed_count = w.completed_count + EXCLUDED.completed_count,
+        updated_at = EXCLUDED.updated_at;
+
+    IF p_sign < 0 THEN
+        DELETE FROM talent_project_day
+        WHERE talent_id = p_talent_id AND project_id = v_project_id AND date = p_date AND row_count <= 0;
+        DELETE FROM talent_week
+        WHERE talent_id = p_talent_id AND week_start = v_week_start AND row_count <= 0;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION daily_progress_rollup_trg() RETURNS TRIGGER AS $$
+DECLARE
+    v_day DATE;
+BEGIN
+    -- Compaction only merges days with identical values, which the rollups already hold;
+    -- a project purge takes the project out of the rollups in one pass
+    IF current_setting('app.progress_compaction', true) = 'on'
+       OR current_setting('app.progress_purge', true) = 'on' THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP = 'UPDATE'
+       AND (OLD.talent_id, OLD.task_id, OLD.date, OLD.date_to, OLD.additional_effort, OLD.total_effort_spent,
+            OLD.progress, OLD.schedule_status)
+           IS NOT DISTINCT FROM
+           (NEW.talent_id, NEW.task_id, NEW.date, NEW.date_to, NEW.additional_effort, NEW.total_effort_spent,
+            NEW.progress, NEW.schedule_status) THEN
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        FOR v_day IN SELECT generate_series(OLD.date, COALESCE(OLD.date_to, OLD.date), interval '1 day')::date LOOP
+            PERFORM apply_progress_rollup(OLD.talent_id, OLD.task_id, v_day, OLD.additional_effort,
+                                          OLD.total_effort_spent, OLD.progress, OLD.schedule_status, -1);
+        END LOOP;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        FOR v_day IN SELECT generate_series(NEW.date, COALESCE(NEW.date_to, NEW.date), interval '1 day')::date LOOP
+            PERFORM apply_progress_rollup(NEW.talent_id, NEW.task_id, v_day, NEW.additional_effort,
+                                          NEW.total_effort_spent, NEW.progress, NEW.schedule_status, 1);
+        END LOOP;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS daily_progress_rollup ON daily_progress;
+CREATE TRIGGER daily_progress_rollup
+    AFTER INSERT OR UPDATE OR DELETE ON daily_progress
+    FOR EACH ROW EXECUTE FUNCTION daily_progress_rollup_trg();
+
+-- Initial backfill for databases that already hold progress history
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM talent_project_day) THEN
+        INSERT INTO talent_project_day (talent_id, project_id, date, row_count, additional_effort, total_effort_spent,
+                                        progress_sum, progress_count, delayed_count, completed_count, updated_at)
+        SELECT dp.talent_id, t.project_id, d.day, COUNT(*),
+               COALESCE(SUM(dp.additional_effort), 0), COALESCE(SUM(dp.total_effort_spent), 0),
+               COALESCE(SUM(dp.progress), 0), COUNT(dp.progress),
+               COUNT(*) FILTER (WHERE upper(dp.schedule_status) = 'DELAYED'),
+               COUNT(*) FILTER (WHERE dp.progress >= 100), now()
+        FROM daily_progress dp
+        JOIN tasks t ON t.id = dp.task_id
+        CROSS JOIN LATERAL (
+            SELECT generate_series(dp.date, COALESCE(dp.date_to, dp.date), interval '1 day')::date AS day
+        ) d
+        WHERE dp.talent_id IS NOT NULL AND t.project_id IS NOT NULL
+        GROUP BY dp.talent_id, t.project_id, d.day;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM talent_week) THEN
+        INSERT INTO talent_week (talent_id, week_start, row_count, additional_effort, total_effort_spent,
+                                 delayed_count, completed_count, updated_at)
+        SELECT dp.talent_id, date_trunc('week', d.day)::date, COUNT(*),
+               COALESCE(SUM(dp.additional_effort), 0), COALESCE(SUM(dp.total_effort_spent), 0),
+               COUNT(*) FILTER (WHERE upper(dp.schedule_status) = 'DELAYED'),
+               COUNT(*) FILTER (WHERE dp.progress >= 100), now()
+        FROM daily_progress dp
+        JOIN tasks t ON t.id = dp.task_id
+        CROSS JOIN LATERAL (
+            SELECT generate_series(dp.date, COALESCE(dp.date_to, dp.date), interval '1 day')::date AS day
+        ) d
+        WHERE dp.talent_id IS NOT NULL AND t.project_id IS NOT NULL
+        GROUP BY dp.talent_id, date_trunc('week', d.day)::date;
+    END IF;
+END;
+$$;
@@ -0,0 +1,63 @@
+-- Pooled id sequences.
+-- The entities draw ids from <table>_id_seq with allocationSize = 50: one nextval reserves
+-- the 50 ids ending at the returned value, so Hibernate can batch inserts without a round
+-- trip per row. The sequences therefore have to step by 50. The sheet processor keeps
+-- inserting through the column default; its ids simply advance in steps of 50 as well.
+
+CREATE OR REPLACE FUNCTION ensure_pooled_id_sequence(p_table TEXT, p_increment INTEGER) RETURNS VOID AS $$
+DECLARE
+    v_seq TEXT;
+    v_identity "char";
+    v_increment BIGINT;
+    v_max_id BIGINT;
+    v_last_value BIGINT;
+BEGIN
+    IF to_regclass(p_table) IS NULL THEN
+        RETURN;
+    END IF;
+
+    v_seq := pg_get_serial_sequence(p_table, 'id');
+    IF v_seq IS NULL THEN
+        -- Schema created by Hibernate: the sequence exists but is not yet the column default
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY %s', p_table || '_id_seq', p_increment);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', p_table, p_table || '_id_seq');
+        EXECUTE format('ALTER SEQUENCE %I OWNED BY %I.id', p_table || '_id_seq', p_table);
+        v_seq := pg_get_serial_sequence(p_table, 'id');
+    END IF;
+
+    SELECT seqincrement INTO v_increment FROM pg_sequence WHERE seqrelid = v_seq::regclass;
+    IF v_increment = p_increment THEN
+        RETURN;
+    END IF;
+
+    -- Keep the sheet processor from drawing ids while the sequence is repositioned
+    EXECUTE format('LOCK TABLE %I IN SHARE ROW EXCLUSIVE MODE', p_table);
+
+    SELECT attidentity INTO v_identity
+    FROM pg_attribute
+    WHERE attrelid = to_regclass(p_table) AND attname = 'id';
+
+    IF v_identity IN ('a', 'd') THEN
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY %s', p_table, p_increment);
+    ELSE
+        EXECUTE format('ALTER SEQUENCE %s INCREMENT BY %s', v_seq, p_increment);
+    END IF;
+
+    -- The next value must close a block that lies entirely above every id handed out so far
+    EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', p_table) INTO v_max_id;
+    EXECUTE format('SELECT last_value FROM %s', v_seq) INTO v_last_value;
+    PERFORM setval(v_seq, GREATEST(v_max_id, v_last_value) + p_increment, false);
+
+    RAISE NOTICE 'Sequence % now increments by %', v_seq, p_increment;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+    PERFORM ensure_pooled_id_sequence('users', 50);
+    PERFORM ensure_pooled_id_sequence('talents', 50);
+    PERFORM ensure_pooled_id_sequence('projects', 50);
+    PERFORM ensure_pooled_id_sequence('tasks', 50);
+    PERFORM ensure_pooled_id_sequence('daily_progress', 50);
+END;
+$$;
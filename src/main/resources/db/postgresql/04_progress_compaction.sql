@@ -0,0 +1,175 @@
+-- Run-length compaction of daily_progress.
+-- The sheet processor writes a row per talent, task and day even when nothing changed since
+-- the day before. compact_daily_progress() collapses such runs of consecutive identical days
+-- into their first row and sets date_to to the last day of the run; a row whose date_to is
+-- NULL covers its date only. Readers expand runs back into days (DailyProgressRepository),
+-- the rollups count every day of a run and task_latest_status uses its last day.
+-- The guard trigger below splits a run again when the processor writes a day inside it.
+-- A run never crosses a month boundary, so it stays in the monthly partition of all its days
+-- and readers can bound date from below by the month of their first day to prune partitions.
+
+CREATE OR REPLACE FUNCTION compact_daily_progress(p_before DATE) RETURNS INTEGER AS $$
+DECLARE
+    v_removed INTEGER;
+BEGIN
+    -- Merged days keep their values, so the rollups and the latest status need no maintenance
+    PERFORM set_config('app.progress_compaction', 'on', true);
+    LOCK TABLE daily_progress IN SHARE ROW EXCLUSIVE MODE;
+
+    DROP TABLE IF EXISTS pg_temp.progress_runs;
+    CREATE TEMP TABLE progress_runs ON COMMIT DROP AS
+    WITH ordered AS (
+        SELECT dp.id, dp.date, dp.talent_id, dp.task_id, COALESCE(dp.date_to, dp.date) AS last_day,
+               CASE WHEN LAG(COALESCE(dp.date_to, dp.date)) OVER w = dp.date - 1
+                     AND date_trunc('month', LAG(dp.date) OVER w) = date_trunc('month', COALESCE(dp.date_to, dp.date))
+                     AND (LAG(dp.previous_effort) OVER w, LAG(dp.additional_effort) OVER w,
+                          LAG(dp.total_effort_spent) OVER w, LAG(dp.base_estimate) OVER w,
+                          LAG(dp.effort_adjustment) OVER w, LAG(dp.final_estimate) OVER w,
+                          LAG(dp.progress) OVER w, LAG(dp.schedule_status) OVER w,
+                          LAG(dp.delay_reason) OVER w, LAG(dp.estimated_completion_date) OVER w,
+                          LAG(dp.progress_from) OVER w, LAG(dp.progress_to) OVER w)
+                         IS NOT DISTINCT FROM
+                         (dp.previous_effort, dp.additional_effort, dp.total_effort_spent, dp.base_estimate,
+                          dp.effort_adjustment, dp.final_estimate, dp.progress, dp.schedule_status,
+                          dp.delay_reason, dp.estimated_completion_date, dp.progress_from, dp.progress_to)
+                    THEN 0 ELSE 1 END AS run_start
+        FROM daily_progress dp
+        WHERE dp.task_id IS NOT NULL AND dp.talent_id IS NOT NULL
+          AND COALESCE(dp.date_to, dp.date) < p_before
+        WINDOW w AS (PARTITION BY dp.talent_id, dp.task_id ORDER BY dp.date)
+    ), numbered AS (
+        SELECT o.*, SUM(o.run_start) OVER (PARTITION BY o.talent_id, o.task_id ORDER BY o.date) AS run_no
+        FROM ordered o
+    )
+    SELECT n.id, n.date,
+           FIRST_VALUE(n.id) OVER r AS keep_id,
+           MAX(n.last_day) OVER r AS run_last_day,
+           COUNT(*) OVER r AS run_rows
+    FROM numbered n
+    WINDOW r AS (PARTITION BY n.talent_id, n.task_id, n.run_no ORDER BY n.date
+                 ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING);
+
+    DELETE FROM progress_runs WHERE run_rows = 1;
+
+    UPDATE daily_progress dp
+    SET date_to = r.run_last_day
+    FROM progress_runs r
+    WHERE r.id = r.keep_id AND dp.id = r.id AND dp.date = r.date;
+
+    DELETE FROM daily_progress dp
+    USING progress_runs r
+    WHERE r.id <> r.keep_id AND dp.id = r.id AND dp.date = r.date;
+    GET DIAGNOSTICS v_removed = ROW_COUNT;
+
+    PERFORM set_config('app.progress_compaction', 'off', true);
+    RETURN v_removed;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION daily_progress_run_guard_trg() RETURNS TRIGGER AS $$
+DECLARE
+    r RECORD;
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        -- Rows carrying date_to come from compaction or from splitting a run
+        IF NEW.date_to IS NOT NULL OR NEW.task_id IS NULL OR NEW.talent_id IS NULL THEN
+            RETURN NEW;
+        END IF;
+
+        SELECT * INTO r
+        FROM daily_progress dp
+        WHERE dp.talent_id = NEW.talent_id AND dp.task_id = NEW.task_id
+          AND dp.date < NEW.date AND dp.date_to >= NEW.date
+        FOR UPDATE;
+        IF NOT FOUND THEN
+            RETURN NEW;
+        END IF;
+
+        IF (r.previous_effort, r.additional_effort, r.total_effort_spent, r.base_estimate,
+            r.effort_adjustment, r.final_estimate, r.progress, r.schedule_status,
+            r.delay_reason, r.estimated_completion_date, r.progress_from, r.progress_to)
+           IS NOT DISTINCT FROM
+           (NEW.previous_effort, NEW.additional_effort, NEW.total_effort_spent, NEW.base_estimate,
+            NEW.effort_adjustment, NEW.final_estimate, NEW.progress, NEW.schedule_status,
+            NEW.delay_reason, NEW.estimated_completion_date, NEW.progress_from, NEW.progress_to) THEN
+            -- The day is already stored as part of the run
+            RETURN NULL;
+        END IF;
+
+        -- Split the run around the new day
+        IF r.date_to > NEW.date THEN
+            INSERT INTO daily_progress (talent_id, task_id, date, date_to, previous_effort, additional_effort,
+                                        total_effort_spent, base_estimate, effort_adjustment, final_estimate,
+                                        progress, schedule_status, delay_reason, estimated_completion_date,
+                                        progress_from, progress_to, created_at, updated_at)
+            VALUES (r.talent_id, r.task_id, NEW.date + 1, r.date_to, r.previous_effort, r.additional_effort,
+                    r.total_effort_spent, r.base_estimate, r.effort_adjustment, r.final_estimate,
+                    r.progress, r.schedule_status, r.delay_reason, r.estimated_completion_date,
+                    r.progress_from, r.progress_to, r.created_at, r.updated_at);
+        END IF;
+        UPDATE daily_progress SET date_to = NEW.date - 1 WHERE id = r.id AND date = r.date;
+        RETURN NEW;
+    END IF;
+
+    -- UPDATE: the processor rewrote the first day of a run; the remaining days keep their values
+    IF OLD.date_to IS NULL OR OLD.date_to = OLD.date
+       OR NEW.date_to IS DISTINCT FROM OLD.date_to OR NEW.date <> OLD.date
+       OR (OLD.previous_effort, OLD.additional_effort, OLD.total_effort_spent, OLD.base_estimate,
+           OLD.effort_adjustment, OLD.final_estimate, OLD.progress, OLD.schedule_status,
+           OLD.delay_reason, OLD.estimated_completion_date, OLD.progress_from, OLD.progress_to)
+          IS NOT DISTINCT FROM
+          (NEW.previous_effort, NEW.additional_effort, NEW.total_effort_spent, NEW.base_estimate,
+           NEW.effort_adjustment, NEW.final_estimate, NEW.progress, NEW.schedule_status,
+           NEW.delay_reason, NEW.estimated_completion_date, NEW.progress_from, NEW.progress_to) THEN
+        RETURN NEW;
+    END IF;
+
+    INSERT INTO daily_progress (talent_id, task_id, date, date_to, previous_effort, additional_effort,
+                                total_effort_spent, base_estimate, effort_adjustment, final_estimate,
+                                progress, schedule_status, delay_reason, estimated_completion_date,
+                                progress_from, progress_to, created_at, updated_at)
+    VALUES (OLD.talent_id, OLD.task_id, OLD.date + 1, OLD.date_to, OLD.previous_effort, OLD.additional_effort,
+            OLD.total_effort_spent, OLD.base_estimate, OLD.effort_adjustment, OLD.final_estimate,
+            OLD.progress, OLD.schedule_status, OLD.delay_reason, OLD.estimated_completion_date,
+            OLD.progress_from, OLD.progress_to, OLD.created_at, OLD.updated_at);
+    NEW.date_to := NULL;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS daily_progress_run_guard ON daily_progress;
+CREATE TRIGGER daily_progress_run_guard
+    BEFORE INSERT OR UPDATE ON daily_progress
+    FOR EACH ROW EXECUTE FUNCTION daily_progress_run_guard_trg();
+
+-- Runs compacted before they were kept within a month are split at each month boundary
+DO $$
+DECLARE
+    r RECORD;
+    v_month DATE;
+    v_month_end DATE;
+BEGIN
+    -- The days and their values do not change, so the rollups and the latest status need no maintenance
+    PERFORM set_config('app.progress_compaction', 'on', true);
+    FOR r IN SELECT * FROM daily_progress
+             WHERE date_to IS NOT NULL AND date_trunc('month', date_to) > date_trunc('month', date) LOOP
+        v_month_end := (date_trunc('month', r.date) + interval '1 month - 1 day')::date;
+        UPDATE daily_progress SET date_to = NULLIF(v_month_end, r.date) WHERE id = r.id AND date = r.date;
+
+        v_month := v_month_end + 1;
+        WHILE v_month <= r.date_to LOOP
+            v_month_end := LEAST((v_month + interval '1 month - 1 day')::date, r.date_to);
+            INSERT INTO daily_progress (talent_id, task_id, date, date_to, previous_effort, additional_effort,
+                                        total_effort_spent, base_estimate, effort_adjustment, final_estimate,
+                                        progress, schedule_status, delay_reason, estimated_completion_date,
+                                        progress_from, progress_to, created_at, updated_at)
+            VALUES (r.talent_id, r.task_id, v_month, NULLIF(v_month_end, v_month), r.previous_effort,
+                    r.additional_effort, r.total_effort_spent, r.base_estimate, r.effort_adjustment,
+                    r.final_estimate, r.progress, r.schedule_status, r.delay_reason, r.estimated_completion_date,
+                    r.progress_from, r.progress_to, r.created_at, r.updated_at);
+            v_month := v_month_end + 1;
+        END LOOP;
+    END LOOP;
+    PERFORM set_config('app.progress_compaction', 'off', true);
+END;
+$$;
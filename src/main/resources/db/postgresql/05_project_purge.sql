@@ -0,0 +1,43 @@
+-- Set-based removal of one project's progress history (DataPurgeService).
+-- Deleting through the daily_progress row triggers costs a rollup update and a latest
+-- status refresh per row; here the derived tables are adjusted once for the whole project.
+
+CREATE OR REPLACE FUNCTION purge_project_progress(p_project_id BIGINT) RETURNS INTEGER AS $$
+DECLARE
+    v_deleted INTEGER;
+BEGIN
+    -- Keep the sheet processor from adding rows the rollups would miss
+    LOCK TABLE daily_progress IN SHARE ROW EXCLUSIVE MODE;
+    PERFORM set_config('app.progress_purge', 'on', true);
+
+    -- talent_week spans projects: only this project's share is taken out
+    UPDATE talent_week w
+    SET row_count = w.row_count - d.row_count,
+        additional_effort = w.additional_effort - d.additional_effort,
+        total_effort_spent = w.total_effort_spent - d.total_effort_spent,
+        delayed_count = w.delayed_count - d.delayed_count,
+        completed_count = w.completed_count - d.completed_count,
+        updated_at = now()
+    FROM (
+        SELECT talent_id, date_trunc('week', date)::date AS week_start, SUM(row_count) AS row_count,
+               SUM(additional_effort) AS additional_effort, SUM(total_effort_spent) AS total_effort_spent,
+               SUM(delayed_count) AS delayed_count, SUM(completed_count) AS completed_count
+        FROM talent_project_day
+        WHERE project_id = p_project_id
+        GROUP BY talent_id, date_trunc('week', date)::date
+    ) d
+    WHERE w.talent_id = d.talent_id AND w.week_start = d.week_start;
+
+    DELETE FROM talent_week
+    WHERE row_count <= 0
+      AND talent_id IN (SELECT DISTINCT talent_id FROM talent_project_day WHERE project_id = p_project_id);
+    DELETE FROM talent_project_day WHERE project_id = p_project_id;
+    DELETE FROM task_latest_status WHERE task_id IN (SELECT id FROM tasks WHERE project_id = p_project_id);
+
+    DELETE FROM daily_progress WHERE task_id IN (SELECT id FROM tasks WHERE project_id = p_project_id);
+    GET DIAGNOSTICS v_deleted = ROW_COUNT;
+
+    PERFORM set_config('app.progress_purge', 'off', true);
+    RETURN v_deleted;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,27 @@
+-- Optimistic versions on tasks and daily_progress.
+-- Hibernate bumps version itself and updates WHERE version = <read version>. The sheet
+-- processor writes these tables without knowing about the column, so any update that
+-- leaves version unchanged is bumped here; a Java writer holding the old version then
+-- fails its check and retries (OptimisticRetry) instead of overwriting the newer row.
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE daily_progress ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION bump_row_version_trg() RETURNS TRIGGER AS $$
+BEGIN
+    IF NEW.version IS NOT DISTINCT FROM OLD.version THEN
+        NEW.version := COALESCE(OLD.version, 0) + 1;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS tasks_row_version ON tasks;
+CREATE TRIGGER tasks_row_version
+    BEFORE UPDATE ON tasks
+    FOR EACH ROW EXECUTE FUNCTION bump_row_version_trg();
+
+DROP TRIGGER IF EXISTS daily_progress_row_version ON daily_progress;
+CREATE TRIGGER daily_progress_row_version
+    BEFORE UPDATE ON daily_progress
+    FOR EACH ROW EXECUTE FUNCTION bump_row_version_trg();
@@ -0,0 +1,236 @@
+package com.sttp.skripsi.config;
+
+import com.sttp.skripsi.model.DailyProgress;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.Talent;
+import com.sttp.skripsi.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.sttp.skripsi.repository.ProjectFixture.persistProject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs reads the way a web request does with open-in-view: the EntityManager is bound
+ * before the transaction starts and stays open after it ends.
+ * The benchmark is opt-in: mvn test -Dtest=AnalyticsTransactionTest -Dbenchmark=true
+ */
+@DataJpaTest
+@Import({AnalyticsTransactionAspect.class, AnalyticsTransactionTest.ReaderConfig.class})
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class AnalyticsTransactionTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsTransactionTest.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProgressReader reader;
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            EntityManager em = currentEntityManager();
+            em.createQuery("DELETE FROM DailyProgress").executeUpdate();
+            em.createQuery("DELETE FROM Task").executeUpdate();
+            em.createQuery("DELETE FROM Project").executeUpdate();
+            em.createQuery("DELETE FROM Talent").executeUpdate();
+        });
+    }
+
+    @Test
+    void analyticsTransaction_LoadsReadOnlyAndReleasesEntities() {
+        seed(2, 3, 5);
+
+        withOpenEntityManager(session -> {
+            ReadResult result = reader.analytics();
+
+            assertThat(result.rows()).isEqualTo(30);
+            assertThat(result.allReadOnly()).isTrue();
+            assertThat(result.flushMode()).isEqualTo(FlushMode.MANUAL);
+            assertThat(session.getStatistics().getEntityCount()).isZero();
+            assertThat(session.isDefaultReadOnly()).isFalse();
+            assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.AUTO);
+        });
+    }
+
+    @Test
+    void readOnlyTransaction_KeepsSnapshotsOnOpenSession() {
+        seed(2, 3, 5);
+
+        withOpenEntityManager(session -> {
+            ReadResult result = reader.readOnly();
+
+            assertThat(result.allReadOnly()).isFalse();
+            assertThat(session.getStatistics().getEntityCount()).isGreaterThanOrEqualTo(30);
+        });
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_HeapPerTransactionMode() {
+        seed(20, 50, 60);
+
+        for (String mode : List.of("read-write", "read-only", "analytics")) {
+            withOpenEntityManager(session -> {
+                long baseline = usedHeapAfterGc();
+                long started = System.nanoTime();
+
+                ReadResult result = switch (mode) {
+                    case "read-write" -> reader.readWrite();
+                    case "read-only" -> reader.readOnly();
+                    default -> reader.analytics();
+                };
+
+                long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+                long retained = usedHeapAfterGc() - baseline;
+                logger.info("{}: {} rows in {} ms, {} KB held in transaction, {} KB retained after it, {} managed entities",
+                        mode, result.rows(), elapsedMs, (result.usedHeap() - baseline) / 1024, retained / 1024,
+                        session.getStatistics().getEntityCount());
+            });
+        }
+    }
+
+    private void seed(int projects, int tasksPerProject, int days) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            EntityManager em = currentEntityManager();
+            List<Long> talentIds = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                Talent talent = Talent.builder().name("Talent " + i).build();
+                em.persist(talent);
+                talentIds.add(talent.getId());
+            }
+
+            LocalDate start = LocalDate.now().minusDays(days);
+            for (int p = 0; p < projects; p++) {
+                Project project = persistProject(em, "Project " + p);
+
+                for (int t = 0; t < tasksPerProject; t++) {
+                    Task task = Task.builder()
+                            .project(em.getReference(Project.class, project.getId()))
+                            .taskCode("P" + p + "-" + t)
+                            .taskName("Task " + t)
+                            .build();
+                    em.persist(task);
+
+                    Talent talent = em.getReference(Talent.class, talentIds.get(t % talentIds.size()));
+                    for (int d = 0; d < days; d++) {
+                        em.persist(DailyProgress.builder()
+                                .talent(talent)
+                                .task(task)
+                                .date(start.plusDays(d))
+                                .additionalEffort(2)
+                                .totalEffortSpent(2 * (d + 1))
+                                .progress(Math.min(100, d + 1))
+                                .scheduleStatus("on_track")
+                                .build());
+                    }
+                    em.flush();
+                    em.clear();
+                }
+            }
+        });
+    }
+
+    private EntityManager currentEntityManager() {
+        return ((EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory)).getEntityManager();
+    }
+
+    // What OpenEntityManagerInViewInterceptor does around a request
+    private void withOpenEntityManager(Consumer<Session> work) {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(em));
+        try {
+            work.accept(em.unwrap(Session.class));
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            em.close();
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    record ReadResult(int rows, boolean allReadOnly, FlushMode flushMode, long usedHeap) {
+    }
+
+    static class ProgressReader {
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Transactional
+        public ReadResult readWrite() {
+            return loadAll();
+        }
+
+        @Transactional(readOnly = true)
+        public ReadResult readOnly() {
+            return loadAll();
+        }
+
+        @AnalyticsTransaction
+        public ReadResult analytics() {
+            return loadAll();
+        }
+
+        private ReadResult loadAll() {
+            List<DailyProgress> progress = entityManager
+                    .createQuery("SELECT dp FROM DailyProgress dp", DailyProgress.class)
+                    .getResultList();
+            Session session = entityManager.unwrap(Session.class);
+            boolean allReadOnly = progress.stream().allMatch(session::isReadOnly);
+            // Measured while the loaded rows are still referenced
+            long usedHeap = usedHeapAfterGc();
+            return new ReadResult(progress.size(), allReadOnly, session.getHibernateFlushMode(), usedHeap);
+        }
+    }
+
+    @TestConfiguration
+    static class ReaderConfig {
+        @Bean
+        ProgressReader progressReader() {
+            return new ProgressReader();
+        }
+    }
+}
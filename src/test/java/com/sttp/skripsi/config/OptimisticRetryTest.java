@@ -0,0 +1,113 @@
+package com.sttp.skripsi.config;
+
+import com.sttp.skripsi.exception.AppException;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.Task;
+import com.sttp.skripsi.repository.ProjectRepository;
+import com.sttp.skripsi.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.sttp.skripsi.repository.ProjectFixture.project;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(OptimisticRetry.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.optimistic-retry.max-attempts=3",
+        "app.optimistic-retry.backoff=1ms"
+})
+class OptimisticRetryTest {
+
+    @Autowired
+    private OptimisticRetry optimisticRetry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        Project project = projectRepository.save(project("Alpha"));
+        taskId = taskRepository.save(Task.builder()
+                .project(project)
+                .taskCode("A-1")
+                .taskName("Design")
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void execute_RetriesOnConcurrentUpdateWithoutLosingEither() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        optimisticRetry.run(() -> {
+            Task task = taskRepository.findById(taskId).orElseThrow();
+            if (attempts.incrementAndGet() == 1) {
+                concurrentUpdate(other -> other.setPicName("Budi"));
+            }
+            task.setTaskName("Design v2");
+        });
+
+        Task task = taskRepository.findById(taskId).orElseThrow();
+        assertThat(attempts).hasValue(2);
+        assertThat(task.getTaskName()).isEqualTo("Design v2");
+        assertThat(task.getPicName()).isEqualTo("Budi");
+        assertThat(task.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_GivesUpWithConflictAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> optimisticRetry.run(() -> {
+            Task task = taskRepository.findById(taskId).orElseThrow();
+            concurrentUpdate(other -> other.setPicName("Writer " + attempts.incrementAndGet()));
+            task.setTaskName("Never written");
+        }))
+                .isInstanceOf(AppException.class)
+                .extracting(e -> ((AppException) e).getStatus())
+                .isEqualTo(HttpStatus.CONFLICT);
+
+        assertThat(attempts).hasValue(3);
+        assertThat(taskRepository.findById(taskId).orElseThrow().getTaskName()).isEqualTo("Design");
+    }
+
+    // Commits a change to the task from another thread, as a second writer would
+    private void concurrentUpdate(Consumer<Task> change) {
+        CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Task task = taskRepository.findById(taskId).orElseThrow();
+            change.accept(task);
+        })).join();
+    }
+}
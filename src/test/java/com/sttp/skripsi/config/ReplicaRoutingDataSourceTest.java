@@ -0,0 +1,108 @@
+package com.sttp.skripsi.config;
+
+import com.sttp.skripsi.event.SheetIngestionCompletedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory databases stand in for the primary and the replica; each query reports
+ * which one answered it.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final String WHICH_DATABASE = "SELECT DATABASE()";
+    private static final String NO_LAG = "SELECT 0";
+
+    private final DataSource primary = h2("primary");
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(2), Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_GoesToReplica() {
+        TransactionTemplate tx = transactions(monitor(h2("replica"), NO_LAG));
+
+        assertThat(currentDatabase(tx, true)).isEqualToIgnoringCase("replica");
+        assertThat(currentDatabase(tx, false)).isEqualToIgnoringCase("primary");
+    }
+
+    @Test
+    void laggingReplica_IsSkipped() {
+        TransactionTemplate tx = transactions(monitor(h2("replica"), "SELECT 60"));
+
+        assertThat(currentDatabase(tx, true)).isEqualToIgnoringCase("primary");
+    }
+
+    @Test
+    void unreachableReplica_FallsBackToPrimaryAndLeavesRotation() {
+        DriverManagerDataSource replica = h2("replica");
+        ReplicaHealthMonitor monitor = monitor(replica, NO_LAG);
+        assertThat(monitor.healthyReplicas()).containsExactly("replica-0");
+
+        replica.setUrl("jdbc:h2:tcp://localhost:1/replica");
+
+        assertThat(currentDatabase(transactions(monitor), true)).isEqualToIgnoringCase("primary");
+        assertThat(monitor.healthyReplicas()).isEmpty();
+    }
+
+    @Test
+    void userWhoStartedSheetJob_ReadsFromPrimary() {
+        TransactionTemplate tx = transactions(monitor(h2("replica"), NO_LAG));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ani", null, "ROLE_USER"));
+
+        tracker.pinCurrentUser();
+
+        assertThat(currentDatabase(tx, true)).isEqualToIgnoringCase("primary");
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("budi", null, "ROLE_USER"));
+        assertThat(currentDatabase(tx, true)).isEqualToIgnoringCase("replica");
+    }
+
+    @Test
+    void completedSheetJob_KeepsEveryoneOnPrimaryForMaxLag() {
+        TransactionTemplate tx = transactions(monitor(h2("replica"), NO_LAG));
+
+        tracker.onSheetIngestionCompleted(new SheetIngestionCompletedEvent("process-1", 1L));
+
+        assertThat(currentDatabase(tx, true)).isEqualToIgnoringCase("primary");
+    }
+
+    private ReplicaHealthMonitor monitor(DataSource replica, String lagQuery) {
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(Map.of("replica-0", replica), Duration.ofSeconds(5), lagQuery);
+        monitor.checkReplicas();
+        return monitor;
+    }
+
+    private TransactionTemplate transactions(ReplicaHealthMonitor monitor) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, monitor, tracker));
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    private static String currentDatabase(TransactionTemplate template, boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(template.getTransactionManager());
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> {
+            DataSource dataSource = ((DataSourceTransactionManager) template.getTransactionManager()).getDataSource();
+            return new JdbcTemplate(dataSource).queryForObject(WHICH_DATABASE, String.class);
+        });
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+    }
+}
@@ -0,0 +1,102 @@
+package com.sttp.skripsi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkloadRoutingDataSourceTest {
+
+    private final WorkloadRoutingDataSource dataSource = pools();
+    private final List<Connection> held = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        for (Connection connection : held) {
+            connection.close();
+        }
+        dataSource.close();
+    }
+
+    @Test
+    void saturatedAnalyticsPool_DoesNotDelayAuthentication() throws SQLException {
+        Workloads workloads = proxy(new Workloads(dataSource));
+        held.add(workloads.analytics());
+        held.add(workloads.analytics());
+
+        assertThatThrownBy(workloads::analytics).isInstanceOf(SQLException.class);
+
+        held.add(workloads.auth());
+        assertThat(dataSource.poolStats(Workload.ANALYTICS).getActiveConnections()).isEqualTo(2);
+        assertThat(dataSource.poolStats(Workload.AUTH).getActiveConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void methodAnnotation_OverridesClassWorkload() {
+        Workloads workloads = proxy(new Workloads(dataSource));
+
+        assertThat(workloads.current()).isEqualTo(Workload.INGESTION);
+        assertThat(workloads.analyticsWorkload()).isEqualTo(Workload.ANALYTICS);
+        assertThat(WorkloadContext.current()).isEqualTo(Workload.DEFAULT);
+    }
+
+    private static Workloads proxy(Workloads target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new WorkloadPoolAspect());
+        return factory.getProxy();
+    }
+
+    private static WorkloadRoutingDataSource pools() {
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl("jdbc:h2:mem:workloads;DB_CLOSE_DELAY=-1");
+            pool.setPoolName(workload.poolName());
+            pool.setMaximumPoolSize(2);
+            pool.setConnectionTimeout(250);
+            pools.put(workload, pool);
+        }
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource(pools);
+        dataSource.afterPropertiesSet();
+        return dataSource;
+    }
+
+    @WorkloadPool(Workload.INGESTION)
+    static class Workloads {
+        private final WorkloadRoutingDataSource dataSource;
+
+        Workloads(WorkloadRoutingDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        public Workload current() {
+            return WorkloadContext.current();
+        }
+
+        @AnalyticsTransaction
+        public Workload analyticsWorkload() {
+            return WorkloadContext.current();
+        }
+
+        @WorkloadPool(Workload.ANALYTICS)
+        public Connection analytics() throws SQLException {
+            return dataSource.getConnection();
+        }
+
+        @WorkloadPool(Workload.AUTH)
+        public Connection auth() throws SQLException {
+            return dataSource.getConnection();
+        }
+    }
+}
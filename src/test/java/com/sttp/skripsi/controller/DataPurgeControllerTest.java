@@ -0,0 +1,58 @@
+package com.sttp.skripsi.controller;
+
+import com.sttp.skripsi.config.SecurityConfig;
+import com.sttp.skripsi.dto.PurgeReportDTO;
+import com.sttp.skripsi.repository.UserRepository;
+import com.sttp.skripsi.security.JwtService;
+import com.sttp.skripsi.service.DataPurgeService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(DataPurgeController.class)
+@Import(SecurityConfig.class)
+@TestPropertySource(properties = "app.admin.usernames=admin")
+class DataPurgeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DataPurgeService dataPurgeService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @Test
+    @WithMockUser(username = "admin")
+    void resetAll_AllowsConfiguredAdmin() throws Exception {
+        Mockito.when(dataPurgeService.resetAll(anyBoolean())).thenReturn(PurgeReportDTO.builder().build());
+
+        mockMvc.perform(post("/api/data/reset").param("dryRun", "false"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "talent")
+    void resetAll_RejectsOtherAccounts() throws Exception {
+        mockMvc.perform(post("/api/data/reset").param("dryRun", "false"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/data/projects/1/purge").param("dryRun", "false"))
+                .andExpect(status().isForbidden());
+
+        Mockito.verifyNoInteractions(dataPurgeService);
+    }
+}
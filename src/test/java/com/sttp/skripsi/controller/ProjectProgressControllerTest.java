@@ -0,0 +1,135 @@
+package com.sttp.skripsi.controller;
+
+import com.sttp.skripsi.config.SecurityConfig;
+import com.sttp.skripsi.constant.ErrorMessage;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.repository.DailyProgressRepository;
+import com.sttp.skripsi.repository.ProjectFixture;
+import com.sttp.skripsi.repository.ProjectRepository;
+import com.sttp.skripsi.repository.TaskLatestStatusRepository;
+import com.sttp.skripsi.repository.TaskRepository;
+import com.sttp.skripsi.repository.UserRepository;
+import com.sttp.skripsi.security.JwtService;
+import com.sttp.skripsi.service.ProjectBatchService;
+import com.sttp.skripsi.service.ProjectProgressService;
+import com.sttp.skripsi.service.ProjectStatusIndex;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The streamed batch: checked before the response is committed, then written line by
+ * line from an async dispatch, which has to get through the security filter chain.
+ */
+@WebMvcTest(ProjectProgressController.class)
+@Import({SecurityConfig.class, ProjectBatchService.class})
+@TestPropertySource(properties = {
+        "app.project-batch.max-projects=3",
+        "app.project-batch.stream-chunk-size=2"
+})
+class ProjectProgressControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProjectRepository projectRepository;
+
+    @MockBean
+    private TaskRepository taskRepository;
+
+    @MockBean
+    private TaskLatestStatusRepository taskLatestStatusRepository;
+
+    @MockBean
+    private DailyProgressRepository dailyProgressRepository;
+
+    @MockBean
+    private ProjectProgressService projectProgressService;
+
+    @MockBean
+    private ProjectStatusIndex projectStatusIndex;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @Test
+    void streamProjectBatch_WritesOneLinePerProjectInRequestOrder() throws Exception {
+        Mockito.when(projectRepository.findAllById(anyIterable()))
+                .thenAnswer(invocation -> {
+                    List<Project> projects = new ArrayList<>();
+                    for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                        if (!id.equals(2L)) {
+                            projects.add(project((Long) id));
+                        }
+                    }
+                    return projects;
+                });
+
+        MvcResult result = mockMvc.perform(get("/api/projects/batch")
+                        .param("ids", "3,2,1")
+                        .param("fields", "dashboard")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .with(user("talent")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // As with a bearer token, the authentication is not carried over to the async dispatch
+        result.getRequest().removeAttribute(RequestAttributeSecurityContextRepository.DEFAULT_REQUEST_ATTR_NAME);
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("{\"projectId\":3,").contains("\"dashboard\"");
+        assertThat(lines.get(1)).isEqualTo("{\"projectId\":2,\"error\":\"" + ErrorMessage.PROJECT_NOT_FOUND + "\"}");
+        assertThat(lines.get(2)).startsWith("{\"projectId\":1,").contains("\"dashboard\"");
+    }
+
+    @Test
+    @WithMockUser
+    void streamProjectBatch_RejectsTooManyIdsBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/api/projects/batch")
+                        .param("ids", "1,2,3,4")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value(ErrorMessage.BATCH_TOO_LARGE));
+
+        Mockito.verifyNoInteractions(projectRepository);
+    }
+
+    private static Project project(Long id) {
+        Project project = ProjectFixture.project("Project " + id);
+        project.setId(id);
+        return project;
+    }
+}
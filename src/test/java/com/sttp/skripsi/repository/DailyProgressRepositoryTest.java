@@ -0,0 +1,164 @@
+package com.sttp.skripsi.repository;
+
+import com.sttp.skripsi.model.DailyProgress;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.Talent;
+import com.sttp.skripsi.model.Task;
+import com.sttp.skripsi.repository.projection.CategoryCount;
+import com.sttp.skripsi.repository.projection.ProgressRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The same history stored once day by day and once compacted into runs must read the same.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class DailyProgressRepositoryTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    // Progress per day: runs of 4, 1 and 5 identical days
+    private static final int[] PROGRESS = {20, 20, 20, 20, 35, 50, 50, 50, 50, 50};
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DailyProgressRepository dailyProgressRepository;
+
+    private Talent dailyTalent;
+    private Talent compactedTalent;
+    private Task dailyTask;
+    private Task compactedTask;
+
+    @BeforeEach
+    void setUp() {
+        Project project = ProjectFixture.persistProject(entityManager.getEntityManager(), "Alpha");
+
+        dailyTalent = entityManager.persist(Talent.builder().name("Ani").build());
+        compactedTalent = entityManager.persist(Talent.builder().name("Budi").build());
+        dailyTask = entityManager.persist(Task.builder().project(project).taskCode("A-1").taskName("Daily").taskCategory("Dev").build());
+        compactedTask = entityManager.persist(Task.builder().project(project).taskCode("A-2").taskName("Compacted").taskCategory("QA").build());
+
+        for (int d = 0; d < PROGRESS.length; d++) {
+            entityManager.persist(day(dailyTalent, dailyTask, d).build());
+        }
+        int runStart = 0;
+        for (int d = 1; d <= PROGRESS.length; d++) {
+            if (d == PROGRESS.length || PROGRESS[d] != PROGRESS[runStart]) {
+                entityManager.persist(day(compactedTalent, compactedTask, runStart)
+                        .dateTo(START.plusDays(d - 1))
+                        .build());
+                runStart = d;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void compactedRuns_ReadAsOneRowPerDay() {
+        assertThat(dailyProgressRepository.count()).isEqualTo(PROGRESS.length + 3);
+
+        assertThat(values(dailyProgressRepository.findByTaskIn(List.of(compactedTask))))
+                .hasSize(PROGRESS.length)
+                .isEqualTo(values(dailyProgressRepository.findByTaskIn(List.of(dailyTask))));
+        assertThat(values(dailyProgressRepository.findByTalentAndTask(compactedTalent, compactedTask)))
+                .isEqualTo(values(dailyProgressRepository.findByTalentAndTask(dailyTalent, dailyTask)));
+        assertThat(dailyProgressRepository.findFirstByTaskIdOrderByDateDesc(compactedTask.getId()).orElseThrow().getDate())
+                .isEqualTo(START.plusDays(PROGRESS.length - 1));
+    }
+
+    @Test
+    void latestOfTask_IsTheLatestDayAcrossTalents() {
+        // Another talent's single day inside the compacted run starts later than the run but ends earlier
+        Talent otherTalent = entityManager.persist(Talent.builder().name("Citra").build());
+        entityManager.persist(day(otherTalent, entityManager.find(Task.class, compactedTask.getId()), 6)
+                .progress(70)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(dailyProgressRepository.findFirstByTaskIdOrderByDateDesc(compactedTask.getId()).orElseThrow())
+                .extracting(DailyProgress::getDate, DailyProgress::getProgress)
+                .containsExactly(START.plusDays(PROGRESS.length - 1), 50);
+    }
+
+    @Test
+    void dateQueries_ClipRunsToTheRequestedDays() {
+        LocalDate from = START.plusDays(2);
+        LocalDate to = START.plusDays(6);
+
+        assertThat(values(dailyProgressRepository.findByTalentAndDateBetween(compactedTalent, from, to)))
+                .hasSize(5)
+                .isEqualTo(values(dailyProgressRepository.findByTalentAndDateBetween(dailyTalent, from, to)));
+        assertThat(rows(dailyProgressRepository.findProgressRowsByTalentIdAndDateBetween(compactedTalent.getId(), from, to)))
+                .isEqualTo(rows(dailyProgressRepository.findProgressRowsByTalentIdAndDateBetween(dailyTalent.getId(), from, to)));
+
+        LocalDate insideRun = START.plusDays(7);
+        assertThat(dailyProgressRepository.existsByTalentAndTaskAndDate(compactedTalent, compactedTask, insideRun)).isTrue();
+        assertThat(dailyProgressRepository.findByTalentAndTaskAndDate(compactedTalent, compactedTask, insideRun))
+                .get().extracting(DailyProgress::getDate, DailyProgress::getProgress)
+                .containsExactly(insideRun, 50);
+        assertThat(dailyProgressRepository.findByDate(insideRun)).hasSize(2);
+    }
+
+    @Test
+    void progressRowsAndCategoryCounts_WeighRunsByDays() {
+        Map<Long, List<String>> rowsByTalent;
+        try (Stream<ProgressRow> stream = dailyProgressRepository.streamAllProgressRows()) {
+            rowsByTalent = stream.collect(Collectors.groupingBy(ProgressRow::talentId,
+                    Collectors.mapping(row -> row.date() + ":" + row.progress(), Collectors.toList())));
+        }
+        assertThat(rowsByTalent.get(compactedTalent.getId())).hasSize(PROGRESS.length)
+                .containsExactlyInAnyOrderElementsOf(rowsByTalent.get(dailyTalent.getId()));
+        assertThat(rows(dailyProgressRepository.findProgressRowsByTalentId(compactedTalent.getId())))
+                .isEqualTo(rows(dailyProgressRepository.findProgressRowsByTalentId(dailyTalent.getId())));
+
+        assertThat(dailyProgressRepository.countByTaskCategory())
+                .containsExactlyInAnyOrder(new CategoryCount("Dev", (long) PROGRESS.length),
+                        new CategoryCount("QA", (long) PROGRESS.length));
+    }
+
+    private static DailyProgress.DailyProgressBuilder day(Talent talent, Task task, int d) {
+        return DailyProgress.builder()
+                .talent(talent)
+                .task(task)
+                .date(START.plusDays(d))
+                .additionalEffort(PROGRESS[d] / 10)
+                .totalEffortSpent(PROGRESS[d] / 5)
+                .progress(PROGRESS[d])
+                .scheduleStatus(PROGRESS[d] < 50 ? "delayed" : "on_track");
+    }
+
+    private static List<String> values(List<DailyProgress> progress) {
+        return progress.stream()
+                .map(p -> p.getDate() + ":" + p.getAdditionalEffort() + ":" + p.getTotalEffortSpent()
+                        + ":" + p.getProgress() + ":" + p.getScheduleStatus())
+                .sorted()
+                .toList();
+    }
+
+    private static List<String> rows(List<ProgressRow> rows) {
+        return rows.stream()
+                .map(row -> row.date() + ":" + row.additionalEffortOrZero() + ":" + row.totalEffortSpentOrZero()
+                        + ":" + row.progress() + ":" + row.scheduleStatus())
+                .sorted()
+                .toList();
+    }
+}
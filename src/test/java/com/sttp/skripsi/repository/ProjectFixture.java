@@ -0,0 +1,28 @@
+package com.sttp.skripsi.repository;
+
+import com.sttp.skripsi.model.Project;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Projects for tests that only care about the name; the sheet id is derived from it,
+ * so distinct names keep the unique sheet ids apart.
+ */
+public final class ProjectFixture {
+
+    private ProjectFixture() {
+    }
+
+    public static Project project(String name) {
+        Project project = new Project();
+        project.setName(name);
+        project.setSheetId("sheet-" + name);
+        return project;
+    }
+
+    // Needs a transaction
+    public static Project persistProject(EntityManager entityManager, String name) {
+        Project project = project(name);
+        entityManager.persist(project);
+        return project;
+    }
+}
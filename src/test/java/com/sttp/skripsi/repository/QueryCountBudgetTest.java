@@ -0,0 +1,273 @@
+package com.sttp.skripsi.repository;
+
+import com.sttp.skripsi.dto.FieldSelection;
+import com.sttp.skripsi.dto.ProjectBatchDTO;
+import com.sttp.skripsi.dto.ProjectComparisonDTO;
+import com.sttp.skripsi.dto.ProjectDetailDTO;
+import com.sttp.skripsi.dto.ProjectProgressDTO;
+import com.sttp.skripsi.dto.ProjectSummaryDTO;
+import com.sttp.skripsi.event.SheetIngestionCompletedEvent;
+import com.sttp.skripsi.model.DailyProgress;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.Talent;
+import com.sttp.skripsi.model.Task;
+import com.sttp.skripsi.model.User;
+import com.sttp.skripsi.service.CapacityForecastService;
+import com.sttp.skripsi.service.DashboardService;
+import com.sttp.skripsi.service.ProjectBatchService;
+import com.sttp.skripsi.service.ProjectComparisonEngine;
+import com.sttp.skripsi.service.ProjectComparisonService;
+import com.sttp.skripsi.service.ProjectProgressService;
+import com.sttp.skripsi.service.ProjectStatusIndex;
+import com.sttp.skripsi.service.ResourceAllocationService;
+import com.sttp.skripsi.service.TalentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the per-use-case fetch plans: each read path must run a fixed number of
+ * statements no matter how many projects, tasks, talents and progress rows exist.
+ */
+@DataJpaTest
+@Import({DashboardService.class, ResourceAllocationService.class, TalentService.class,
+        ProjectProgressService.class, ProjectStatusIndex.class, ProjectBatchService.class,
+        ProjectComparisonService.class, ProjectComparisonEngine.class, CapacityForecastService.class})
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class QueryCountBudgetTest {
+
+    private static final int PROJECTS = 3;
+    private static final int TASKS_PER_PROJECT = 5;
+    private static final int TALENTS = 4;
+    private static final int DAYS = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private ResourceAllocationService resourceAllocationService;
+
+    @Autowired
+    private TalentService talentService;
+
+    @Autowired
+    private CapacityForecastService capacityForecastService;
+
+    @Autowired
+    private ProjectProgressService projectProgressService;
+
+    @Autowired
+    private ProjectStatusIndex projectStatusIndex;
+
+    @Autowired
+    private ProjectBatchService projectBatchService;
+
+    @Autowired
+    private ProjectComparisonService projectComparisonService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DailyProgressRepository dailyProgressRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Statistics statistics;
+    private Long talentId;
+    private List<Task> firstProjectTasks;
+    private List<Long> projectIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Talent> talents = new ArrayList<>();
+        for (int i = 0; i < TALENTS; i++) {
+            User user = entityManager.persist(User.builder()
+                    .username("user" + i)
+                    .password("secret")
+                    .email("user" + i + "@example.com")
+                    .fullName("User " + i)
+                    .build());
+            talents.add(entityManager.persist(Talent.builder().name("Talent " + i).user(user).build()));
+        }
+
+        LocalDate start = LocalDate.now().minusDays(DAYS);
+        for (int p = 0; p < PROJECTS; p++) {
+            Project project = ProjectFixture.persistProject(entityManager.getEntityManager(), "Project " + p);
+            projectIds.add(project.getId());
+
+            List<Task> tasks = new ArrayList<>();
+            for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                Task task = entityManager.persist(Task.builder()
+                        .project(project)
+                        .taskCode("P" + p + "-" + t)
+                        .taskName("Task " + t)
+                        .taskCategory(t % 2 == 0 ? "Dev" : "QA")
+                        .deadline(LocalDate.now().plusDays(t))
+                        .build());
+                tasks.add(task);
+
+                Talent talent = talents.get(t % TALENTS);
+                for (int d = 0; d < DAYS; d++) {
+                    entityManager.persist(DailyProgress.builder()
+                            .talent(talent)
+                            .task(task)
+                            .date(start.plusDays(d))
+                            .additionalEffort(2)
+                            .totalEffortSpent(2 * (d + 1))
+                            .baseEstimate(20)
+                            .progress(Math.min(100, 10 * (d + 1)))
+                            .scheduleStatus(d % 3 == 0 ? "delayed" : "on_track")
+                            .build());
+                }
+            }
+            if (p == 0) {
+                firstProjectTasks = tasks;
+            }
+        }
+
+        talentId = talents.get(0).getId();
+        TaskLatestStatusFixture.refresh(entityManager.getEntityManager());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void dashboardSummary_StaysWithinQueryBudget() {
+        dashboardService.getDashboardSummary();
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void talentDetail_StaysWithinQueryBudget() {
+        talentService.getTalentDetail(talentId);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void resourceAllocation_StaysWithinQueryBudget() {
+        resourceAllocationService.getResourceAllocation(null);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void capacityForecast_StaysWithinQueryBudget() {
+        capacityForecastService.getCapacityForecast(8);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void projectStatusSummary_StaysWithinQueryBudget() {
+        projectStatusIndex.invalidate();
+
+        ProjectSummaryDTO summary = projectStatusIndex.getAllProjectsSummary();
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        // Every task ends at 100% on a delayed day
+        assertThat(summary.getDelayedProjects()).isEqualTo(PROJECTS);
+        assertThat(summary.getProjectDetails()).allSatisfy(detail -> {
+            assertThat(detail.getTotalTasks()).isEqualTo(TASKS_PER_PROJECT);
+            assertThat(detail.getTasksDone()).isEqualTo(TASKS_PER_PROJECT);
+            assertThat(detail.getScheduleStatus().getTasksDelayed()).isEqualTo(TASKS_PER_PROJECT);
+            assertThat(detail.getDueDate()).isEqualTo(LocalDate.now().minusDays(DAYS));
+        });
+    }
+
+    @Test
+    void projectProgress_StaysWithinQueryBudget() {
+        ProjectProgressDTO progress = projectProgressService.getProjectProgress(firstProjectTasks.get(0).getProject().getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+        assertThat(progress.getTalentProgresses()).hasSize(TALENTS);
+        assertThat(progress.getTalentProgresses().stream().mapToInt(ProjectProgressDTO.TalentProgress::getAssignedTasks).sum())
+                .isEqualTo(TASKS_PER_PROJECT);
+    }
+
+    @Test
+    void projectDetail_StaysWithinQueryBudget() {
+        ProjectDetailDTO detail = projectProgressService.getProjectDetail(firstProjectTasks.get(0).getProject().getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+        assertThat(detail.getTeamMembers().getTotalTeam()).isEqualTo(TALENTS);
+        assertThat(detail.getTaskList()).hasSize(TASKS_PER_PROJECT);
+        assertThat(detail.getTaskStatus().getCompleted()).isEqualTo(TASKS_PER_PROJECT);
+    }
+
+    @Test
+    void projectBatch_StaysWithinQueryBudget() {
+        List<ProjectBatchDTO> batch = projectBatchService.getProjects(projectIds, FieldSelection.ALL);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+        assertThat(batch).extracting(ProjectBatchDTO::getProjectId).containsExactlyElementsOf(projectIds);
+        assertThat(batch).allSatisfy(project -> {
+            assertThat(project.getProgress().getTotalTasks()).isEqualTo(TASKS_PER_PROJECT);
+            assertThat(project.getProgress().getTalentProgresses().stream()
+                    .mapToInt(ProjectProgressDTO.TalentProgress::getAssignedTasks).sum()).isEqualTo(TASKS_PER_PROJECT);
+            assertThat(project.getDashboard().getTotalTasks()).isEqualTo(TASKS_PER_PROJECT);
+        });
+        assertThat(batch.get(0).getProgress())
+                .isEqualTo(projectProgressService.getProjectProgress(projectIds.get(0)));
+    }
+
+    @Test
+    void projectComparison_StaysWithinQueryBudgetAndIsCachedPerProjectSet() {
+        ProjectComparisonDTO comparison = projectComparisonService.compareProjects(projectIds);
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+        assertThat(comparison.getProjectMetrics()).hasSize(PROJECTS)
+                .allSatisfy(metrics -> assertThat(metrics.getTotalTasks()).isEqualTo(TASKS_PER_PROJECT));
+
+        List<Long> reordered = new ArrayList<>(projectIds);
+        Collections.reverse(reordered);
+        statistics.clear();
+        assertThat(projectComparisonService.compareProjects(reordered)).isSameAs(comparison);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        eventPublisher.publishEvent(new SheetIngestionCompletedEvent("process-1", projectIds.get(1)));
+        assertThat(projectComparisonService.compareProjects(projectIds)).isNotSameAs(comparison);
+    }
+
+    @Test
+    void projectDetailProgress_LoadsTalentsInSameQuery() {
+        List<Task> tasks = taskRepository.findAllById(firstProjectTasks.stream().map(Task::getId).toList());
+        statistics.clear();
+
+        dailyProgressRepository.findByTaskIn(tasks)
+                .forEach(progress -> progress.getTalent().getName());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
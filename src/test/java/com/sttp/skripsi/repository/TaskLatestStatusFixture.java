@@ -0,0 +1,32 @@
+package com.sttp.skripsi.repository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Stands in for the daily_progress trigger that keeps task_latest_status current on
+ * PostgreSQL (db/postgresql/01_task_latest_status.sql), which H2 does not run.
+ * Both methods need a transaction.
+ */
+public final class TaskLatestStatusFixture {
+
+    private TaskLatestStatusFixture() {
+    }
+
+    // Rebuilds the snapshot from the progress written so far; a compacted run counts with its last day
+    public static void refresh(EntityManager entityManager) {
+        entityManager.flush();
+        clear(entityManager);
+        entityManager.createNativeQuery("INSERT INTO task_latest_status (task_id, talent_id, latest_date, progress, "
+                        + "schedule_status, total_effort_spent, final_estimate, progress_from, progress_to) "
+                        + "SELECT task_id, talent_id, latest_date, progress, schedule_status, total_effort_spent, "
+                        + "final_estimate, progress_from, progress_to FROM ("
+                        + "SELECT dp.*, COALESCE(dp.date_to, dp.date) AS latest_date, ROW_NUMBER() OVER ("
+                        + "PARTITION BY dp.task_id ORDER BY COALESCE(dp.date_to, dp.date) DESC, dp.id DESC) AS rn "
+                        + "FROM daily_progress dp WHERE dp.task_id IS NOT NULL) latest WHERE rn = 1")
+                .executeUpdate();
+    }
+
+    public static void clear(EntityManager entityManager) {
+        entityManager.createNativeQuery("DELETE FROM task_latest_status").executeUpdate();
+    }
+}
@@ -0,0 +1,97 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.dto.CapacityForecastDTO;
+import com.sttp.skripsi.model.Talent;
+import com.sttp.skripsi.repository.projection.OpenTaskEffort;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CapacityForecastServiceTest {
+    private static final LocalDate FIRST_WEEK = LocalDate.of(2024, 3, 4);
+    private static final LocalDate TODAY = FIRST_WEEK.plusDays(2);
+    private static final Talent TALENT = Talent.builder().id(1L).name("Ani").build();
+
+    @Test
+    void toTalentForecast_SpreadsEffortEvenlyUpToDeadlineWeek() {
+        CapacityForecastDTO.TalentForecast forecast = CapacityForecastService.toTalentForecast(TALENT,
+            List.of(open(FIRST_WEEK.plusWeeks(2).plusDays(2), 30, 2),
+                open(FIRST_WEEK.plusWeeks(8), 90, 1)),
+            0, TODAY, FIRST_WEEK, 4);
+
+        // 30 over weeks 0..2, 90 over weeks 0..8 of which only 0..3 are inside the horizon
+        assertThat(committed(forecast)).containsExactly(20.0, 20.0, 20.0, 10.0);
+        assertThat(forecast.getWeeklyForecast()).extracting(CapacityForecastDTO.WeekForecast::getWeekStart)
+            .containsExactly(FIRST_WEEK, FIRST_WEEK.plusWeeks(1), FIRST_WEEK.plusWeeks(2), FIRST_WEEK.plusWeeks(3));
+        assertThat(forecast.getRemainingEffort()).isEqualTo(120.0);
+        assertThat(forecast.getOpenTasks()).isEqualTo(3);
+        assertThat(forecast.getOverdueEffort()).isZero();
+        assertThat(forecast.getOverbookedWeeks()).isZero();
+    }
+
+    @Test
+    void toTalentForecast_PutsOverdueEffortIntoFirstWeek() {
+        CapacityForecastDTO.TalentForecast forecast = CapacityForecastService.toTalentForecast(TALENT,
+            List.of(open(TODAY.minusDays(1), 15, 1), open(TODAY, 6, 1)),
+            0, TODAY, FIRST_WEEK, 2);
+
+        assertThat(committed(forecast)).containsExactly(21.0, 0.0);
+        assertThat(forecast.getOverdueEffort()).isEqualTo(15.0);
+        assertThat(forecast.getWeeklyForecast().get(0).getAvailableCapacity()).isEqualTo(19.0);
+    }
+
+    @Test
+    void toTalentForecast_WorksOffUndatedEffortAtVelocity() {
+        CapacityForecastDTO.TalentForecast forecast = CapacityForecastService.toTalentForecast(TALENT,
+            List.of(open(null, 25, 3)),
+            10, TODAY, FIRST_WEEK, 4);
+
+        assertThat(committed(forecast)).containsExactly(10.0, 10.0, 5.0, 0.0);
+        assertThat(forecast.getWeeklyVelocity()).isEqualTo(10.0);
+        assertThat(forecast.getUnscheduledEffort()).isZero();
+    }
+
+    @Test
+    void toTalentForecast_ReportsUndatedEffortBeyondHorizonAsUnscheduled() {
+        CapacityForecastDTO.TalentForecast forecast = CapacityForecastService.toTalentForecast(TALENT,
+            List.of(open(null, 25, 3)),
+            4, TODAY, FIRST_WEEK, 3);
+
+        assertThat(committed(forecast)).containsExactly(4.0, 4.0, 4.0);
+        assertThat(forecast.getUnscheduledEffort()).isEqualTo(13.0);
+    }
+
+    @Test
+    void toTalentForecast_ReportsUndatedEffortAsUnscheduledWithoutVelocity() {
+        CapacityForecastDTO.TalentForecast forecast = CapacityForecastService.toTalentForecast(TALENT,
+            List.of(open(null, 25, 3)),
+            0, TODAY, FIRST_WEEK, 2);
+
+        assertThat(committed(forecast)).containsExactly(0.0, 0.0);
+        assertThat(forecast.getUnscheduledEffort()).isEqualTo(25.0);
+        assertThat(forecast.getRemainingEffort()).isEqualTo(25.0);
+    }
+
+    @Test
+    void toTalentForecast_CountsWeeksAboveWeeklyCapacity() {
+        CapacityForecastDTO.TalentForecast forecast = CapacityForecastService.toTalentForecast(TALENT,
+            List.of(open(TODAY.minusWeeks(1), 45, 1), open(FIRST_WEEK.plusWeeks(2), 123, 1)),
+            0, TODAY, FIRST_WEEK, 4);
+
+        // 45 overdue plus 41 per week for weeks 0..2; exactly 40 would not count
+        assertThat(committed(forecast)).containsExactly(86.0, 41.0, 41.0, 0.0);
+        assertThat(forecast.getOverbookedWeeks()).isEqualTo(3);
+        assertThat(forecast.getWeeklyForecast().get(0).getAvailableCapacity()).isEqualTo(-46.0);
+    }
+
+    private static OpenTaskEffort open(LocalDate deadline, long remainingEffort, long openTasks) {
+        return new OpenTaskEffort(TALENT.getId(), deadline, remainingEffort, openTasks);
+    }
+
+    private static List<Double> committed(CapacityForecastDTO.TalentForecast forecast) {
+        return forecast.getWeeklyForecast().stream().map(CapacityForecastDTO.WeekForecast::getCommittedEffort).toList();
+    }
+}
@@ -0,0 +1,134 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.config.ReadYourWritesTracker;
+import com.sttp.skripsi.dto.PurgeReportDTO;
+import com.sttp.skripsi.model.DailyProgress;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.ProjectStatus;
+import com.sttp.skripsi.model.Talent;
+import com.sttp.skripsi.model.Task;
+import com.sttp.skripsi.repository.DailyProgressRepository;
+import com.sttp.skripsi.repository.ProjectRepository;
+import com.sttp.skripsi.repository.TalentRepository;
+import com.sttp.skripsi.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static com.sttp.skripsi.repository.ProjectFixture.persistProject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@DataJpaTest
+@Import({DataPurgeService.class, ProjectLifecycleService.class, ProjectProgressService.class,
+        ReferenceCacheService.class, ReadYourWritesTracker.class})
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class DataPurgeServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DataPurgeService dataPurgeService;
+
+    @Autowired
+    private ProjectLifecycleService projectLifecycleService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TalentRepository talentRepository;
+
+    @Autowired
+    private DailyProgressRepository dailyProgressRepository;
+
+    private Project alpha;
+    private Project beta;
+
+    @BeforeEach
+    void setUp() {
+        Talent talent = entityManager.persist(Talent.builder().name("Ani").build());
+        alpha = createProject("Alpha", talent, 2, 3);
+        beta = createProject("Beta", talent, 1, 2);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void dryRun_CountsWithoutDeleting() {
+        PurgeReportDTO report = dataPurgeService.purgeProject(alpha.getId(), true);
+
+        assertThat(report.isDryRun()).isTrue();
+        assertThat(report.getRows()).contains(entry("daily_progress", 6L), entry("tasks", 2L));
+        assertThat(dailyProgressRepository.count()).isEqualTo(8);
+        assertThat(taskRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void purgeProject_RemovesOnlyThatProjectsDataAndReopensIt() {
+        projectLifecycleService.closeProject(alpha.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        PurgeReportDTO report = dataPurgeService.purgeProject(alpha.getId(), false);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(report.getRows()).contains(entry("daily_progress", 0L), entry("daily_progress_archive", 6L),
+                entry("project_summaries", 1L), entry("tasks", 2L));
+        assertThat(taskRepository.countByProjectId(alpha.getId())).isZero();
+        assertThat(taskRepository.countByProjectId(beta.getId())).isEqualTo(1);
+        assertThat(dailyProgressRepository.count()).isEqualTo(2);
+        assertThat(projectRepository.findById(alpha.getId()).orElseThrow().getStatus()).isEqualTo(ProjectStatus.ACTIVE);
+        assertThat(projectLifecycleService.getClosedProjects()).isEmpty();
+    }
+
+    @Test
+    void resetAll_EmptiesImportedTables() {
+        PurgeReportDTO report = dataPurgeService.resetAll(false);
+        entityManager.clear();
+
+        assertThat(report.getRows()).contains(entry("daily_progress", 8L), entry("projects", 2L), entry("talents", 1L));
+        assertThat(dailyProgressRepository.count()).isZero();
+        assertThat(taskRepository.count()).isZero();
+        assertThat(talentRepository.count()).isZero();
+        assertThat(projectRepository.count()).isZero();
+    }
+
+    private Project createProject(String name, Talent talent, int tasks, int days) {
+        Project project = persistProject(entityManager.getEntityManager(), name);
+
+        for (int t = 0; t < tasks; t++) {
+            Task task = entityManager.persist(Task.builder()
+                    .project(project)
+                    .taskCode(name + "-" + t)
+                    .taskName("Task " + t)
+                    .build());
+            for (int d = 0; d < days; d++) {
+                entityManager.persist(DailyProgress.builder()
+                        .talent(talent)
+                        .task(task)
+                        .date(LocalDate.now().minusDays(d))
+                        .additionalEffort(2)
+                        .totalEffortSpent(2 * (days - d))
+                        .progress(10 * (days - d))
+                        .scheduleStatus("on_track")
+                        .build());
+            }
+        }
+        return project;
+    }
+}
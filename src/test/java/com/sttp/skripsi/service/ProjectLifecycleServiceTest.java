@@ -0,0 +1,177 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.exception.AppException;
+import com.sttp.skripsi.model.DailyProgress;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.ProjectStatus;
+import com.sttp.skripsi.model.ProjectSummary;
+import com.sttp.skripsi.model.Talent;
+import com.sttp.skripsi.model.Task;
+import com.sttp.skripsi.repository.DailyProgressArchiveRepository;
+import com.sttp.skripsi.repository.DailyProgressRepository;
+import com.sttp.skripsi.repository.ProjectRepository;
+import com.sttp.skripsi.repository.TaskLatestStatusFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static com.sttp.skripsi.repository.ProjectFixture.persistProject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import({ProjectLifecycleService.class, ProjectProgressService.class, ProjectStatusIndex.class})
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ProjectLifecycleServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProjectLifecycleService projectLifecycleService;
+
+    @Autowired
+    private ProjectStatusIndex projectStatusIndex;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private DailyProgressRepository dailyProgressRepository;
+
+    @Autowired
+    private DailyProgressArchiveRepository dailyProgressArchiveRepository;
+
+    private Project closing;
+
+    @BeforeEach
+    void setUp() {
+        Talent talent = entityManager.persist(Talent.builder().name("Ani").build());
+        closing = createProject("Alpha", talent, 3);
+        createProject("Beta", talent, 2);
+        TaskLatestStatusFixture.refresh(entityManager.getEntityManager());
+        entityManager.flush();
+        entityManager.clear();
+        projectStatusIndex.invalidate();
+    }
+
+    @Test
+    void closeProject_FreezesMetricsAndArchivesProgress() {
+        ProjectSummary summary = projectLifecycleService.closeProject(closing.getId());
+
+        assertThat(summary.getArchivedProgressRows()).isEqualTo(3);
+        assertThat(summary.getTotalTasks()).isEqualTo(1);
+        assertThat(summary.getTasksDone()).isEqualTo(1);
+        assertThat(summary.getDueDate()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(dailyProgressRepository.count()).isEqualTo(2);
+        assertThat(projectRepository.findByStatus(ProjectStatus.ACTIVE))
+                .extracting(Project::getName).containsExactly("Beta");
+
+        assertThat(projectStatusIndex.getAllProjectsSummary().getTotalProjects()).isEqualTo(1);
+        assertThat(projectStatusIndex.getAllProjectsSummary(true).getProjectDetails())
+                .extracting(detail -> detail.getProjectName() + ":" + detail.getLifecycleStatus())
+                .containsExactly("Beta:ACTIVE", "Alpha:CLOSED");
+    }
+
+    @Test
+    void reopenProject_RestoresProgress() {
+        projectLifecycleService.closeProject(closing.getId());
+
+        projectLifecycleService.reopenProject(closing.getId());
+
+        assertThat(dailyProgressRepository.count()).isEqualTo(5);
+        assertThat(projectLifecycleService.getClosedProjects()).isEmpty();
+        assertThat(projectRepository.findByStatus(ProjectStatus.ACTIVE)).hasSize(2);
+    }
+
+    @Test
+    void reopenProject_KeepsLiveProgressWrittenWhileClosed() {
+        Talent talent = entityManager.getEntityManager()
+                .createQuery("SELECT t FROM Talent t", Talent.class)
+                .getSingleResult();
+        Task task = entityManager.getEntityManager()
+                .createQuery("SELECT t FROM Task t WHERE t.project.id = :projectId", Task.class)
+                .setParameter("projectId", closing.getId())
+                .getSingleResult();
+        // A compacted run of ten identical days
+        Task compactedTask = entityManager.persist(Task.builder().project(task.getProject())
+                .taskCode("Alpha-2").taskName("Test").build());
+        entityManager.persist(progress(talent, compactedTask, LocalDate.of(2024, 1, 1), 3)
+                .dateTo(LocalDate.of(2024, 1, 10))
+                .build());
+        entityManager.flush();
+        projectLifecycleService.closeProject(closing.getId());
+
+        // A sheet job that was already running writes a day of each task again
+        entityManager.persist(progress(talent, task, LocalDate.of(2024, 1, 2), 5).build());
+        entityManager.persist(progress(talent, compactedTask, LocalDate.of(2024, 1, 5), 5).build());
+        entityManager.flush();
+
+        projectLifecycleService.reopenProject(closing.getId());
+
+        assertThat(dailyProgressArchiveRepository.count()).isZero();
+        assertThat(dailyProgressRepository.findAll())
+                .filteredOn(dp -> dp.getTask().getId().equals(task.getId()))
+                .extracting(DailyProgress::getDate, DailyProgress::getAdditionalEffort)
+                .containsExactlyInAnyOrder(
+                        tuple(LocalDate.of(2024, 1, 1), 2),
+                        tuple(LocalDate.of(2024, 1, 2), 5),
+                        tuple(LocalDate.of(2024, 1, 3), 2));
+        // The run is restored around the live day
+        assertThat(dailyProgressRepository.findAll())
+                .filteredOn(dp -> dp.getTask().getId().equals(compactedTask.getId()))
+                .extracting(DailyProgress::getDate, DailyProgress::getDateTo, DailyProgress::getAdditionalEffort)
+                .containsExactlyInAnyOrder(
+                        tuple(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 4), 3),
+                        tuple(LocalDate.of(2024, 1, 5), null, 5),
+                        tuple(LocalDate.of(2024, 1, 6), LocalDate.of(2024, 1, 10), 3));
+    }
+
+    @Test
+    void closeProject_RejectsClosedProject() {
+        projectLifecycleService.closeProject(closing.getId());
+
+        assertThatThrownBy(() -> projectLifecycleService.closeProject(closing.getId()))
+                .isInstanceOf(AppException.class);
+    }
+
+    private Project createProject(String name, Talent talent, int days) {
+        Project project = persistProject(entityManager.getEntityManager(), name);
+
+        Task task = entityManager.persist(Task.builder().project(project).taskCode(name + "-1").taskName("Build").build());
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (int d = 0; d < days; d++) {
+            entityManager.persist(DailyProgress.builder()
+                    .talent(talent)
+                    .task(task)
+                    .date(start.plusDays(d))
+                    .additionalEffort(2)
+                    .totalEffortSpent(2 * (d + 1))
+                    .progress(d + 1 == days ? 100 : 50)
+                    .scheduleStatus("on_track")
+                    .build());
+        }
+        return project;
+    }
+
+    private static DailyProgress.DailyProgressBuilder progress(Talent talent, Task task, LocalDate date, int effort) {
+        return DailyProgress.builder()
+                .talent(talent)
+                .task(task)
+                .date(date)
+                .additionalEffort(effort)
+                .totalEffortSpent(effort)
+                .progress(80)
+                .scheduleStatus("on_track");
+    }
+}
@@ -0,0 +1,182 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.dto.ProjectSummaryDTO;
+import com.sttp.skripsi.event.SheetIngestionCompletedEvent;
+import com.sttp.skripsi.model.DailyProgress;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.Talent;
+import com.sttp.skripsi.model.Task;
+import com.sttp.skripsi.repository.DailyProgressArchiveRepository;
+import com.sttp.skripsi.repository.DailyProgressRepository;
+import com.sttp.skripsi.repository.ProjectRepository;
+import com.sttp.skripsi.repository.ProjectSummaryRepository;
+import com.sttp.skripsi.repository.TalentRepository;
+import com.sttp.skripsi.repository.TaskLatestStatusFixture;
+import com.sttp.skripsi.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.sttp.skripsi.repository.ProjectFixture.project;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ProjectStatusIndex.class, ProjectProgressService.class, ProjectLifecycleService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ProjectStatusIndexTest {
+
+    @Autowired
+    private ProjectStatusIndex projectStatusIndex;
+
+    @Autowired
+    private ProjectLifecycleService projectLifecycleService;
+
+    @Autowired
+    private ProjectProgressService projectProgressService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TalentRepository talentRepository;
+
+    @Autowired
+    private DailyProgressRepository dailyProgressRepository;
+
+    @Autowired
+    private DailyProgressArchiveRepository dailyProgressArchiveRepository;
+
+    @Autowired
+    private ProjectSummaryRepository projectSummaryRepository;
+
+    private Talent talent;
+    private Project alpha;
+    private Project beta;
+    private Task betaTask;
+
+    @BeforeEach
+    void setUp() {
+        talent = talentRepository.save(Talent.builder().name("Ani").build());
+        alpha = projectRepository.save(project("Alpha"));
+        beta = projectRepository.save(project("Beta"));
+        record(taskRepository.save(task(alpha)), LocalDate.of(2024, 1, 1), "delayed");
+        betaTask = taskRepository.save(task(beta));
+        record(betaTask, LocalDate.of(2024, 1, 1), "on_track");
+        projectStatusIndex.invalidate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TaskLatestStatusFixture.clear(entityManager);
+            dailyProgressRepository.deleteAllInBatch();
+            dailyProgressArchiveRepository.deleteAllArchived();
+            projectSummaryRepository.deleteAllInBatch();
+            taskRepository.deleteAllInBatch();
+            talentRepository.deleteAllInBatch();
+            projectRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void groupsProjectsByScheduleStatus() {
+        assertThat(names(projectStatusIndex.getDelayedProjects())).containsExactly("Alpha");
+        assertThat(names(projectStatusIndex.getOnScheduleProjects())).containsExactly("Beta");
+        assertThat(projectStatusIndex.getAheadProjects().getTotalProjects()).isZero();
+
+        ProjectSummaryDTO all = projectStatusIndex.getAllProjectsSummary();
+        assertThat(all.getTotalProjects()).isEqualTo(2);
+        assertThat(all.getDelayedProjects()).isEqualTo(1);
+        assertThat(all.getOnScheduleProjects()).isEqualTo(1);
+    }
+
+    @Test
+    void refreshesOnlyTheIngestedProject() {
+        projectStatusIndex.getAllProjectsSummary();
+
+        // Written behind the index's back, as the sheet processor does
+        record(betaTask, LocalDate.of(2024, 1, 2), "delayed");
+        assertThat(names(projectStatusIndex.getDelayedProjects())).containsExactly("Alpha");
+
+        eventPublisher.publishEvent(new SheetIngestionCompletedEvent("process-1", beta.getId()));
+
+        assertThat(names(projectStatusIndex.getDelayedProjects())).containsExactly("Alpha", "Beta");
+        assertThat(projectStatusIndex.getOnScheduleProjects().getTotalProjects()).isZero();
+    }
+
+    @Test
+    void rebuildsOnceOlderThanMaxAge() {
+        ProjectStatusIndex expiring = new ProjectStatusIndex(projectRepository, projectSummaryRepository,
+                projectProgressService, transactionManager, Duration.ZERO);
+        assertThat(names(expiring.getDelayedProjects())).containsExactly("Alpha");
+
+        // Written by another instance: no event reaches this one
+        record(betaTask, LocalDate.of(2024, 1, 2), "delayed");
+
+        assertThat(names(expiring.getDelayedProjects())).containsExactly("Alpha", "Beta");
+    }
+
+    @Test
+    void movesClosedProjectOutOfActiveList() {
+        projectStatusIndex.getAllProjectsSummary();
+
+        projectLifecycleService.closeProject(alpha.getId());
+
+        assertThat(projectStatusIndex.getDelayedProjects().getTotalProjects()).isZero();
+        assertThat(projectStatusIndex.getAllProjectsSummary(true).getProjectDetails())
+                .extracting(detail -> detail.getProjectName() + ":" + detail.getLifecycleStatus())
+                .containsExactly("Beta:ACTIVE", "Alpha:CLOSED");
+    }
+
+    private static List<String> names(ProjectSummaryDTO summary) {
+        return summary.getProjectDetails().stream().map(ProjectSummaryDTO.ProjectDetail::getProjectName).toList();
+    }
+
+    private static Task task(Project project) {
+        return Task.builder().project(project).taskCode(project.getName() + "-1").taskName("Build").build();
+    }
+
+    private void record(Task task, LocalDate date, String scheduleStatus) {
+        dailyProgressRepository.save(DailyProgress.builder()
+                .talent(talent)
+                .task(task)
+                .date(date)
+                .additionalEffort(2)
+                .totalEffortSpent(2)
+                .progress(50)
+                .scheduleStatus(scheduleStatus)
+                .build());
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> TaskLatestStatusFixture.refresh(entityManager));
+    }
+}
@@ -0,0 +1,117 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.dto.ProjectTimeSeriesDTO;
+import com.sttp.skripsi.exception.AppException;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.TalentProjectDay;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.sttp.skripsi.repository.ProjectFixture.persistProject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import(ProjectTimeSeriesService.class)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ProjectTimeSeriesServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProjectTimeSeriesService projectTimeSeriesService;
+
+    private Project alpha;
+    private Project beta;
+
+    @BeforeEach
+    void setUp() {
+        alpha = persistProject(entityManager.getEntityManager(), "Alpha");
+        beta = persistProject(entityManager.getEntityManager(), "Beta");
+
+        // Two talents on the first day, none with progress on the second
+        day(1L, alpha, 0, 3, 50, 1, 0);
+        day(2L, alpha, 0, 2, 30, 1, 1);
+        day(1L, alpha, 1, 4, 0, 0, 1);
+        day(1L, alpha, 2, 1, 90, 1, 0);
+        for (int d = 0; d < 10; d++) {
+            day(1L, beta, d, 1, 10 * (d + 1), 1, d % 2);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getProjectTimeSeries_BuildsCurvesPerProject() {
+        ProjectTimeSeriesDTO.ProjectSeries series = projectTimeSeriesService
+                .getProjectTimeSeries(List.of(alpha.getId()), 300).getProjects().get(0);
+
+        assertThat(series.getProjectName()).isEqualTo("Alpha");
+        assertThat(series.getTotalDays()).isEqualTo(3);
+        // The second day has no progress samples and has no average
+        assertThat(points(series.getAverageProgress()))
+                .containsExactly(tuple(START, 40.0), tuple(START.plusDays(2), 90.0));
+        assertThat(points(series.getCumulativeEffort()))
+                .containsExactly(tuple(START, 5.0), tuple(START.plusDays(1), 9.0), tuple(START.plusDays(2), 10.0));
+        assertThat(points(series.getDelayedTasks()))
+                .containsExactly(tuple(START, 1.0), tuple(START.plusDays(1), 1.0), tuple(START.plusDays(2), 0.0));
+    }
+
+    @Test
+    void getProjectTimeSeries_OrdersByProjectAndDownsamples() {
+        List<ProjectTimeSeriesDTO.ProjectSeries> projects = projectTimeSeriesService
+                .getProjectTimeSeries(List.of(beta.getId(), 999L, alpha.getId()), 4).getProjects();
+
+        assertThat(projects).extracting(ProjectTimeSeriesDTO.ProjectSeries::getProjectName)
+                .containsExactly("Alpha", "Beta");
+        ProjectTimeSeriesDTO.ProjectSeries betaSeries = projects.get(1);
+        assertThat(betaSeries.getTotalDays()).isEqualTo(10);
+        assertThat(betaSeries.getCumulativeEffort()).hasSize(4);
+        assertThat(betaSeries.getCumulativeEffort().get(0).getDate()).isEqualTo(START);
+        assertThat(betaSeries.getCumulativeEffort().get(3).getValue()).isEqualTo(10.0);
+        // Alpha has fewer days than points and is returned whole
+        assertThat(projects.get(0).getCumulativeEffort()).hasSize(3);
+    }
+
+    @Test
+    void getProjectTimeSeries_RejectsTooFewPoints() {
+        assertThatThrownBy(() -> projectTimeSeriesService.getProjectTimeSeries(List.of(alpha.getId()), 2))
+                .isInstanceOf(AppException.class);
+    }
+
+    private void day(Long talentId, Project project, int day, int additionalEffort, int progressSum,
+                     int progressCount, int delayedCount) {
+        entityManager.persist(TalentProjectDay.builder()
+                .talentId(talentId)
+                .projectId(project.getId())
+                .date(START.plusDays(day))
+                .rowCount(1)
+                .additionalEffort(additionalEffort)
+                .totalEffortSpent(additionalEffort)
+                .progressSum(progressSum)
+                .progressCount(progressCount)
+                .delayedCount(delayedCount)
+                .completedCount(0)
+                .build());
+    }
+
+    private static List<Tuple> points(List<ProjectTimeSeriesDTO.Point> points) {
+        return points.stream().map(point -> tuple(point.getDate(), point.getValue())).toList();
+    }
+}
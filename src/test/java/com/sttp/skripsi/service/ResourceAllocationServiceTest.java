@@ -0,0 +1,147 @@
+package com.sttp.skripsi.service;
+
+import com.sttp.skripsi.dto.ResourceAllocationDTO;
+import com.sttp.skripsi.model.Project;
+import com.sttp.skripsi.model.ProjectStatus;
+import com.sttp.skripsi.model.Talent;
+import com.sttp.skripsi.model.TalentProjectDay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static com.sttp.skripsi.repository.ProjectFixture.persistProject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Allocation built from talent_project_day rows. Ani works 8 hours a day on 2 tasks in
+ * Alpha (86% workload) and lightly on Beta; Budi works 8 hours a day on 3 tasks in Beta
+ * (100%); Citra has no progress.
+ */
+@DataJpaTest
+@Import(ResourceAllocationService.class)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ResourceAllocationServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ResourceAllocationService resourceAllocationService;
+
+    private Project alpha;
+    private Project beta;
+    private Long budiId;
+
+    @BeforeEach
+    void setUp() {
+        Talent ani = entityManager.persist(Talent.builder().name("Ani").build());
+        Talent budi = entityManager.persist(Talent.builder().name("Budi").build());
+        entityManager.persist(Talent.builder().name("Citra").build());
+        budiId = budi.getId();
+        alpha = persistProject(entityManager.getEntityManager(), "Alpha");
+        beta = persistProject(entityManager.getEntityManager(), "Beta");
+
+        day(ani, alpha, 0, 2, 8, 8, 1);
+        day(ani, alpha, 1, 2, 8, 10, 0);
+        day(ani, beta, 0, 1, 2, 2, 0);
+        day(budi, beta, 0, 3, 8, 8, 0);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getResourceAllocation_AllProjects() {
+        ResourceAllocationDTO allocation = resourceAllocationService.getResourceAllocation(null);
+
+        assertThat(allocation.getProjectWorkload()).isEqualTo(Map.of(
+                alpha.getId().toString(), 18,
+                beta.getId().toString(), 10));
+        assertThat(allocation.getTalentAllocations())
+                .extracting(ResourceAllocationDTO.TalentAllocation::getTalentName,
+                        ResourceAllocationDTO.TalentAllocation::getTotalProjects,
+                        ResourceAllocationDTO.TalentAllocation::getTotalTasks,
+                        ResourceAllocationDTO.TalentAllocation::getTotalEffortSpent,
+                        ResourceAllocationDTO.TalentAllocation::getAvailableCapacity)
+                .containsExactly(
+                        tuple("Ani", 2, 5, 20, -10),
+                        tuple("Budi", 1, 3, 8, 0),
+                        tuple("Citra", 0, 0, 0, 40));
+        assertThat(allocation.getWorkloadAlerts())
+                .extracting(ResourceAllocationDTO.WorkloadAlert::getTalentName,
+                        ResourceAllocationDTO.WorkloadAlert::getAlertType,
+                        ResourceAllocationDTO.WorkloadAlert::getCurrentWorkload)
+                .containsExactlyInAnyOrder(
+                        tuple("Ani", "WARNING", 86),
+                        tuple("Budi", "CRITICAL", 100));
+    }
+
+    @Test
+    void getResourceAllocation_SkipsRowsOfProjectsNoLongerListed() {
+        // Rollup rows of a project closed after the project list was read
+        Project closed = persistProject(entityManager.getEntityManager(), "Gamma");
+        closed.setStatus(ProjectStatus.CLOSED);
+        day(entityManager.find(Talent.class, budiId), closed, 0, 1, 4, 4, 0);
+        entityManager.flush();
+        entityManager.clear();
+
+        ResourceAllocationDTO allocation = resourceAllocationService.getResourceAllocation(null);
+
+        assertThat(allocation.getProjectWorkload()).doesNotContainKey(closed.getId().toString());
+        assertThat(allocation.getTalentAllocations())
+                .filteredOn(talent -> talent.getTalentName().equals("Budi"))
+                .extracting(ResourceAllocationDTO.TalentAllocation::getTotalProjects,
+                        ResourceAllocationDTO.TalentAllocation::getTotalEffortSpent,
+                        talent -> talent.getProjectWorkloads().size())
+                .containsExactly(tuple(1, 8, 1));
+    }
+
+    @Test
+    void getResourceAllocation_OneProject() {
+        ResourceAllocationDTO allocation = resourceAllocationService.getResourceAllocation(beta.getId());
+
+        assertThat(allocation.getProjectWorkload()).isEqualTo(Map.of(beta.getId().toString(), 10));
+        // Only talents with progress on the project, counted on that project alone
+        assertThat(allocation.getTalentAllocations())
+                .extracting(ResourceAllocationDTO.TalentAllocation::getTalentName,
+                        ResourceAllocationDTO.TalentAllocation::getTotalProjects,
+                        ResourceAllocationDTO.TalentAllocation::getTotalTasks,
+                        ResourceAllocationDTO.TalentAllocation::getTotalEffortSpent,
+                        ResourceAllocationDTO.TalentAllocation::getAvailableCapacity)
+                .containsExactly(
+                        tuple("Ani", 1, 1, 2, 30),
+                        tuple("Budi", 1, 3, 8, 0));
+        assertThat(allocation.getWorkloadAlerts())
+                .extracting(ResourceAllocationDTO.WorkloadAlert::getTalentName,
+                        ResourceAllocationDTO.WorkloadAlert::getAlertType)
+                .containsExactly(tuple("Budi", "CRITICAL"));
+    }
+
+    private void day(Talent talent, Project project, int day, int rowCount, int additionalEffort,
+                     int totalEffortSpent, int delayedCount) {
+        entityManager.persist(TalentProjectDay.builder()
+                .talentId(talent.getId())
+                .projectId(project.getId())
+                .date(START.plusDays(day))
+                .rowCount(rowCount)
+                .additionalEffort(additionalEffort)
+                .totalEffortSpent(totalEffortSpent)
+                .progressSum(50 * rowCount)
+                .progressCount(rowCount)
+                .delayedCount(delayedCount)
+                .completedCount(0)
+                .build());
+    }
+}
@@ -0,0 +1,46 @@
+package com.sttp.skripsi.service.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LttbTest {
+
+    @Test
+    void select_KeepsShortSeriesWhole() {
+        double[] x = {0, 1, 2, 3};
+        double[] y = {5, 1, 4, 2};
+
+        assertThat(Lttb.select(x, y, 4)).containsExactly(0, 1, 2, 3);
+        assertThat(Lttb.select(x, y, 10)).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    void select_KeepsEndpointsAndThresholdPoints() {
+        int length = 1000;
+        double[] x = new double[length];
+        double[] y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = i;
+            y[i] = Math.sin(i / 50.0);
+        }
+
+        int[] sampled = Lttb.select(x, y, 100);
+
+        assertThat(sampled).hasSize(100).startsWith(0).endsWith(length - 1);
+        assertThat(sampled).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void select_KeepsIsolatedSpike() {
+        int length = 500;
+        double[] x = new double[length];
+        double[] y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = i;
+        }
+        y[217] = 100;
+
+        assertThat(Lttb.select(x, y, 20)).contains(217);
+    }
+}